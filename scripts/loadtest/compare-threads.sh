@@ -0,0 +1,53 @@
+#!/bin/sh
+# Runs the k6 load test against platform threads and then virtual threads, with the same
+# connection pool size, and prints p99 latency and the peak number of in-flight requests.
+#
+#   scripts/loadtest/compare-threads.sh [rate] [pool-size]
+#
+# Needs k6, jq and curl on the PATH, and the MySQL database from application.yml already seeded.
+set -eu
+
+RATE=${1:-400}
+POOL=${2:-10}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:$PORT/api"
+OUT=build/loadtest
+mkdir -p "$OUT"
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+
+for mode in false true; do
+  echo "== spring.threads.virtual.enabled=$mode, pool size $POOL, $RATE req/s"
+  TASKER_VIRTUAL_THREADS=$mode TASKER_DB_POOL_SIZE=$POOL \
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PORT" \
+    > "$OUT/app-virtual-$mode.log" 2>&1 &
+  APP=$!
+  trap 'kill $APP 2>/dev/null || true' EXIT
+
+  until curl -sf "$BASE_URL/actuator/health" > /dev/null; do sleep 1; done
+
+  # Tomcat's busy-threads gauge only sees platform workers, so sample in-flight requests from
+  # the server side through http.server.requests.active instead.
+  (
+    while kill -0 $APP 2>/dev/null; do
+      curl -sf "$BASE_URL/actuator/metrics/http.server.requests.active" \
+        | jq -r '.measurements[] | select(.statistic == "ACTIVE_TASKS") | .value' || true
+      sleep 1
+    done
+  ) > "$OUT/active-virtual-$mode.txt" &
+  SAMPLER=$!
+
+  k6 run -q -e BASE_URL="$BASE_URL" -e RATE="$RATE" \
+    -e SUMMARY="$OUT/summary-virtual-$mode.json" scripts/loadtest/tasker.js || true
+
+  kill $SAMPLER $APP 2>/dev/null || true
+  wait $APP 2>/dev/null || true
+  trap - EXIT
+
+  p99=$(jq '.metrics.http_req_duration.values["p(99)"]' "$OUT/summary-virtual-$mode.json")
+  failed=$(jq '.metrics.http_req_failed.values.rate' "$OUT/summary-virtual-$mode.json")
+  peak=$(sort -n "$OUT/active-virtual-$mode.txt" | tail -n 1)
+  pinned=$(grep -c "onPinned\|<== monitors" "$OUT/app-virtual-$mode.log" || true)
+  echo "p99=${p99}ms failed=${failed} peak-in-flight=${peak:-n/a} pinned-traces=${pinned}"
+done
@@ -0,0 +1,57 @@
+// k6 load test for the read paths: paged list, task detail and search.
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api -e RATE=400 scripts/loadtest/tasker.js
+//
+// Arrival rate is fixed rather than the number of users, so a slower server shows up as higher
+// latency and more in-flight requests instead of as fewer requests sent.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const RATE = parseInt(__ENV.RATE || '400', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'ramping-arrival-rate',
+      startRate: Math.ceil(RATE / 10),
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { target: RATE, duration: '30s' },
+        { target: RATE, duration: DURATION },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const res = http.get(`${BASE_URL}/task/list?limit=200&fields=id`);
+  const ids = (res.json('data') || []).map((task) => task.id);
+  if (ids.length === 0) {
+    throw new Error('No tasks to read; seed the database first');
+  }
+  return { ids };
+}
+
+export default function (data) {
+  const roll = Math.random();
+  let res;
+  if (roll < 0.5) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    res = http.get(`${BASE_URL}/task/${id}`, { tags: { endpoint: 'detail' } });
+  } else if (roll < 0.8) {
+    res = http.get(`${BASE_URL}/task/list?limit=50`, { tags: { endpoint: 'list' } });
+  } else {
+    res = http.get(`${BASE_URL}/task/search?q=release`, { tags: { endpoint: 'search' } });
+  }
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  const out = __ENV.SUMMARY;
+  return out ? { [out]: JSON.stringify(data, null, 2) } : {};
+}
@@ -0,0 +1,159 @@
+package com.event.tasker.DAO.impl;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskField;
+import com.google.gson.Gson;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Detail reads of one task while the rest of {@code task_attachments} grows. With the attachment
+ * aggregate correlated to the task, the score should stay flat across {@code attachmentCount}.
+ *
+ * <p>Setup also runs {@code EXPLAIN} on the detail statement and refuses to measure if MySQL would
+ * read {@code task_attachments} or {@code task_tags} without an index, so a regression to a
+ * table-wide aggregate fails loudly instead of just scoring worse.
+ *
+ * <p>Runs against the database named by {@code -Dtasker.bench.url} (default {@code tasker_bench}
+ * on localhost), migrated with Flyway and seeded with {@code attachmentCount} attachments spread
+ * over tasks with {@link #ATTACHMENTS_PER_TASK} each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskDetailBenchmark {
+
+  private static final String DEFAULT_URL =
+      "jdbc:mysql://localhost:3306/tasker_bench"
+          + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true&useCursorFetch=true";
+
+  private static final int ATTACHMENTS_PER_TASK = 10;
+  private static final int SEED_BATCH = 1_000;
+  private static final String TARGET_ID = "detail-0000000";
+
+  @Param({"10000", "100000", "1000000"})
+  public int attachmentCount;
+
+  private SingleConnectionDataSource dataSource;
+  private TaskDaoImpl taskDao;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dataSource =
+        new SingleConnectionDataSource(
+            System.getProperty("tasker.bench.url", DEFAULT_URL),
+            System.getProperty("tasker.bench.user", "root"),
+            System.getProperty("tasker.bench.password", "admin"),
+            true);
+    Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+    NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    seed(jdbcTemplate.getJdbcOperations());
+    verifyPlan(jdbcTemplate);
+
+    taskDao =
+        new TaskDaoImpl(
+            jdbcTemplate,
+            new Gson(),
+            new TaskVersionStamps(new SimpleMeterRegistry()),
+            new TaskOutboxDaoImpl(jdbcTemplate));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.destroy();
+  }
+
+  @Benchmark
+  public Optional<TaskDetail> detail() {
+    return taskDao.getTaskDetail(TARGET_ID);
+  }
+
+  /** Fails the trial if the detail statement reads tags or attachments without an index. */
+  private static void verifyPlan(NamedParameterJdbcTemplate jdbcTemplate) {
+    String sql = TaskDaoImpl.taskDetailSql(TaskProjection.forDetail(TaskField.ALL));
+    List<String> problems = new ArrayList<>();
+    jdbcTemplate.query(
+        "EXPLAIN " + sql,
+        new MapSqlParameterSource("taskId", TARGET_ID),
+        (RowCallbackHandler)
+            rs -> {
+              String table = rs.getString("table");
+              String type = rs.getString("type");
+              boolean scoped = "ta".equals(table) || "tt".equals(table);
+              if (scoped && (rs.getString("key") == null || "ALL".equals(type))) {
+                problems.add(table + " read with type=" + type + ", key=" + rs.getString("key"));
+              }
+            });
+
+    if (!problems.isEmpty()) {
+      throw new IllegalStateException("Detail plan scans instead of seeking: " + problems);
+    }
+  }
+
+  /** Replaces the benchmark rows unless a previous trial already seeded the same count. */
+  private void seed(JdbcOperations jdbc) {
+    Integer seeded =
+        jdbc.queryForObject(
+            "SELECT COUNT(*) FROM task_attachments WHERE id LIKE 'detail-%'", Integer.class);
+    if (seeded != null && seeded == attachmentCount) {
+      return;
+    }
+
+    jdbc.update("DELETE FROM task_attachments WHERE id LIKE 'detail-%'");
+    jdbc.update("DELETE FROM tasks WHERE id LIKE 'detail-%'");
+
+    Timestamp createdAt = Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"));
+    int taskCount = attachmentCount / ATTACHMENTS_PER_TASK;
+    List<Object[]> tasks = new ArrayList<>(SEED_BATCH);
+    List<Object[]> attachments = new ArrayList<>(SEED_BATCH * ATTACHMENTS_PER_TASK);
+    for (int i = 0; i < taskCount; i++) {
+      String id = String.format("detail-%07d", i);
+      tasks.add(new Object[] {id, "Task " + i, 1 + i % 4, createdAt, createdAt});
+      for (int a = 0; a < ATTACHMENTS_PER_TASK; a++) {
+        String file = "file-" + a + ".pdf";
+        attachments.add(
+            new Object[] {
+              id + "-" + a, id, "https://files.example.com/" + id + "/" + file, file, "pdf"
+            });
+      }
+
+      if (tasks.size() == SEED_BATCH || i == taskCount - 1) {
+        jdbc.batchUpdate(
+            "INSERT INTO tasks (id, title, priority, due_date, created_at) VALUES (?, ?, ?, ?, ?)",
+            tasks);
+        jdbc.batchUpdate(
+            "INSERT INTO task_attachments (id, taskId, url, fileName, fileType)"
+                + " VALUES (?, ?, ?, ?, ?)",
+            attachments);
+        tasks.clear();
+        attachments.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package com.event.tasker.DAO.impl;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.service.TaskService;
+import com.google.gson.Gson;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the two ways the task list loads tags: {@code GROUP_CONCAT} over a join ({@code
+ * batchedTags=false}) and ungrouped rows followed by one batched tag query ({@code
+ * batchedTags=true}).
+ *
+ * <p>The grouping cost being measured is MySQL's, so this runs against a real server. The database
+ * named by {@code -Dtasker.bench.url} (default {@code tasker_bench} on localhost) is migrated with
+ * Flyway and seeded with {@code taskCount} tasks carrying three tags each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskListTagsBenchmark {
+
+  private static final String DEFAULT_URL =
+      "jdbc:mysql://localhost:3306/tasker_bench"
+          + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true&useCursorFetch=true";
+
+  private static final String[] TAGS = {"backend", "frontend", "api", "database", "testing", "ops"};
+  private static final int TAGS_PER_TASK = 3;
+  private static final int SEED_BATCH = 1_000;
+
+  @Param({"10000", "100000"})
+  public int taskCount;
+
+  @Param({"false", "true"})
+  public boolean batchedTags;
+
+  private SingleConnectionDataSource dataSource;
+  private TaskDaoImpl taskDao;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dataSource =
+        new SingleConnectionDataSource(
+            System.getProperty("tasker.bench.url", DEFAULT_URL),
+            System.getProperty("tasker.bench.user", "root"),
+            System.getProperty("tasker.bench.password", "admin"),
+            true);
+    Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+    NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    seed(jdbcTemplate.getJdbcOperations());
+
+    taskDao =
+        new TaskDaoImpl(
+            jdbcTemplate,
+            new Gson(),
+            new TaskVersionStamps(new SimpleMeterRegistry()),
+            new TaskOutboxDaoImpl(jdbcTemplate));
+    taskDao.batchedTags = batchedTags;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.destroy();
+  }
+
+  @Benchmark
+  public ArrayList<Task> fullList() {
+    return taskDao.getTasks();
+  }
+
+  @Benchmark
+  public ArrayList<Task> firstPage() {
+    return taskDao.getTasks(null, TaskField.ALL, null, TaskService.DEFAULT_PAGE_SIZE + 1);
+  }
+
+  /** Replaces the benchmark rows unless a previous trial already seeded the same count. */
+  private void seed(JdbcOperations jdbc) {
+    Integer seeded =
+        jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE id LIKE 'bench-%'", Integer.class);
+    if (seeded != null && seeded == taskCount) {
+      return;
+    }
+
+    jdbc.update("DELETE FROM task_tags WHERE task_id LIKE 'bench-%'");
+    jdbc.update("DELETE FROM tasks WHERE id LIKE 'bench-%'");
+    String assignee =
+        jdbc.query("SELECT user_id FROM users LIMIT 1", rs -> rs.next() ? rs.getString(1) : null);
+
+    Instant start = Instant.parse("2025-01-01T00:00:00Z");
+    List<Object[]> tasks = new ArrayList<>(SEED_BATCH);
+    List<Object[]> tags = new ArrayList<>(SEED_BATCH * TAGS_PER_TASK);
+    for (int i = 0; i < taskCount; i++) {
+      String id = String.format("bench-%07d", i);
+      Timestamp createdAt = Timestamp.from(start.plusSeconds(i));
+      tasks.add(
+          new Object[] {
+            id, "Task " + i, "Benchmark task " + i, i % 5 == 0, 1 + i % 4, createdAt, createdAt,
+            assignee
+          });
+      for (int t = 0; t < TAGS_PER_TASK; t++) {
+        tags.add(new Object[] {id, TAGS[(i + t) % TAGS.length]});
+      }
+
+      if (tasks.size() == SEED_BATCH || i == taskCount - 1) {
+        jdbc.batchUpdate(
+            "INSERT INTO tasks (id, title, description, completed, priority, due_date, created_at,"
+                + " assigned_to) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            tasks);
+        jdbc.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", tags);
+        tasks.clear();
+        tags.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.event.tasker.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Resolves priority codes as the row mappers do, cycling through every valid code. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriorityBenchmark {
+
+  private static final int CODES = Task.Priority.values().length;
+
+  private int code;
+
+  @Benchmark
+  public Task.Priority fromCode() {
+    code = (code + 1) % CODES;
+    return Task.Priority.fromCode(code);
+  }
+}
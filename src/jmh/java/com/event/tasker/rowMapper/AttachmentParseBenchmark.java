@@ -0,0 +1,70 @@
+package com.event.tasker.rowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.event.tasker.model.Attachment;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+
+/**
+ * Parsing the attachments column of a task detail row: the previous two-pass approach, which
+ * builds a {@code JsonArray} tree and binds each element again, against the single streaming pass
+ * in {@link TaskDetailRowMapper#parseAttachments}.
+ *
+ * <p>The input has the shape MySQL's {@code JSON_ARRAYAGG(JSON_OBJECT(...))} produces. Run with
+ * {@code -prof gc} to compare allocation as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AttachmentParseBenchmark {
+
+  @Param({"0", "5", "100"})
+  public int attachmentCount;
+
+  private final Gson gson = new Gson();
+  private String json;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<Attachment> attachments = new ArrayList<>(attachmentCount);
+    for (int i = 0; i < attachmentCount; i++) {
+      String file = "file-" + i + ".pdf";
+      attachments.add(
+          Attachment.builder()
+              .url("https://files.example.com/task-1/" + file)
+              .fileName(file)
+              .fileType("pdf")
+              .build());
+    }
+    json = gson.toJson(attachments);
+  }
+
+  @Benchmark
+  public List<Attachment> tree() {
+    List<Attachment> attachments = new ArrayList<>();
+    JsonArray array = gson.fromJson(json, JsonArray.class);
+    for (JsonElement element : array) {
+      attachments.add(gson.fromJson(element, Attachment.class));
+    }
+    return attachments;
+  }
+
+  @Benchmark
+  public List<Attachment> streaming() {
+    return TaskDetailRowMapper.parseAttachments(gson, json);
+  }
+}
@@ -0,0 +1,114 @@
+package com.event.tasker.rowMapper;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskDetail;
+import com.google.gson.Gson;
+
+/**
+ * Maps one list row and one detail row, with every field selected, from an in-memory {@link
+ * SimpleResultSet} positioned on a single row. The result set costs the same on every run, so
+ * changes in score and in {@code gc.alloc.rate.norm} come from the mappers and the helpers they
+ * call: {@code CSVToArrayConverter}, {@code Task.Priority.fromCode} and the attachments parse.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMapperBenchmark {
+
+  private static final Timestamp CREATED_AT =
+      Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"));
+  private static final Timestamp DUE_DATE = Timestamp.from(Instant.parse("2025-02-01T00:00:00Z"));
+  private static final String TAGS = "backend,api";
+  private static final long VERSION = 4;
+  private static final String ATTACHMENTS =
+      """
+      [{"url":"https://files.example.com/task-1/spec.pdf","fileName":"spec.pdf","fileType":"pdf"},\
+      {"url":"https://files.example.com/task-1/mock.png","fileName":"mock.png","fileType":"png"}]""";
+
+  private final TaskRowMapper taskRowMapper = new TaskRowMapper();
+  private final TaskDetailRowMapper taskDetailRowMapper = new TaskDetailRowMapper(new Gson());
+
+  private SimpleResultSet taskRow;
+  private SimpleResultSet detailRow;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    taskRow = new SimpleResultSet();
+    addCommonColumns(taskRow);
+    taskRow.addColumn("profilePicture", Types.VARCHAR, 255, 0);
+    taskRow.addColumn("createdAt", Types.TIMESTAMP, 26, 0);
+    taskRow.addRow(
+        "task-1",
+        "Write release notes",
+        "Summarise the changes since the last release",
+        false,
+        3,
+        "user-1",
+        "parent-1",
+        TAGS,
+        DUE_DATE,
+        VERSION,
+        "https://files.example.com/users/user-1.png",
+        CREATED_AT);
+    taskRow.next();
+
+    detailRow = new SimpleResultSet();
+    addCommonColumns(detailRow);
+    detailRow.addColumn("assignedToName", Types.VARCHAR, 255, 0);
+    detailRow.addColumn("attachments", Types.VARCHAR, 4096, 0);
+    detailRow.addRow(
+        "task-1",
+        "Write release notes",
+        "Summarise the changes since the last release",
+        false,
+        3,
+        "user-1",
+        "parent-1",
+        TAGS,
+        DUE_DATE,
+        VERSION,
+        "Ada Lovelace",
+        ATTACHMENTS);
+    detailRow.next();
+  }
+
+  @Benchmark
+  public Task taskRow() throws SQLException {
+    return taskRowMapper.mapRow(taskRow, 0);
+  }
+
+  @Benchmark
+  public TaskDetail taskDetailRow() throws SQLException {
+    return taskDetailRowMapper.mapRow(detailRow, 0);
+  }
+
+  // Columns both mappers read
+  private static void addCommonColumns(SimpleResultSet rs) {
+    rs.addColumn("id", Types.VARCHAR, 36, 0);
+    rs.addColumn("title", Types.VARCHAR, 255, 0);
+    rs.addColumn("description", Types.VARCHAR, 1024, 0);
+    rs.addColumn("completed", Types.BOOLEAN, 1, 0);
+    rs.addColumn("priority", Types.INTEGER, 10, 0);
+    rs.addColumn("assignedTo", Types.VARCHAR, 36, 0);
+    rs.addColumn("parentId", Types.VARCHAR, 36, 0);
+    rs.addColumn("tags", Types.VARCHAR, 1024, 0);
+    rs.addColumn("dueDate", Types.TIMESTAMP, 26, 0);
+    rs.addColumn("version", Types.BIGINT, 19, 0);
+  }
+}
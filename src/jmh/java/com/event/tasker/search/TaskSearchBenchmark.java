@@ -0,0 +1,166 @@
+package com.event.tasker.search;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.DAO.impl.TaskOutboxDaoImpl;
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.model.Task;
+import com.event.tasker.service.TaskService;
+import com.google.gson.Gson;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Search latency for one page of results with the MySQL {@code FULLTEXT} index ({@code
+ * engine=mysql}) and the in-process inverted index ({@code engine=memory}).
+ *
+ * <p>Runs against the database named by {@code -Dtasker.bench.url} (default {@code tasker_bench}
+ * on localhost), migrated with Flyway and seeded with {@code taskCount} tasks whose titles and
+ * descriptions are drawn from a fixed vocabulary with a skewed distribution, so {@code common}
+ * matches a large share of the tasks and {@code rare} only a few. The in-memory index is built
+ * during setup, outside the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSearchBenchmark {
+
+  private static final String DEFAULT_URL =
+      "jdbc:mysql://localhost:3306/tasker_bench"
+          + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true&useCursorFetch=true";
+
+  private static final String[] WORDS = {
+    "release", "deploy", "review", "backend", "frontend", "database", "migration", "invoice",
+    "customer", "report", "dashboard", "security", "audit", "onboarding", "payment", "latency",
+    "quarterly", "roadmap", "incident", "postmortem", "kubernetes", "terraform", "accessibility",
+    "localisation"
+  };
+  private static final int TITLE_WORDS = 4;
+  private static final int DESCRIPTION_WORDS = 20;
+  private static final int SEED_BATCH = 1_000;
+
+  @Param({"100000"})
+  public int taskCount;
+
+  @Param({"mysql", "memory"})
+  public String engine;
+
+  private SingleConnectionDataSource dataSource;
+  private TaskSearchIndex index;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dataSource =
+        new SingleConnectionDataSource(
+            System.getProperty("tasker.bench.url", DEFAULT_URL),
+            System.getProperty("tasker.bench.user", "root"),
+            System.getProperty("tasker.bench.password", "admin"),
+            true);
+    Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+    NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    seed(jdbcTemplate.getJdbcOperations());
+
+    TaskDaoImpl taskDao =
+        new TaskDaoImpl(
+            jdbcTemplate,
+            new Gson(),
+            new TaskVersionStamps(new SimpleMeterRegistry()),
+            new TaskOutboxDaoImpl(jdbcTemplate));
+    index =
+        "memory".equals(engine)
+            ? new InMemoryTaskSearchIndex(taskDao)
+            : new MySqlTaskSearchIndex(taskDao);
+    index.search(WORDS[0], 0, 1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.destroy();
+  }
+
+  @Benchmark
+  public ArrayList<Task> common() {
+    return index.search(WORDS[0], 0, TaskService.DEFAULT_PAGE_SIZE + 1);
+  }
+
+  @Benchmark
+  public ArrayList<Task> rare() {
+    return index.search(WORDS[WORDS.length - 1], 0, TaskService.DEFAULT_PAGE_SIZE + 1);
+  }
+
+  @Benchmark
+  public ArrayList<Task> deepPage() {
+    return index.search(
+        WORDS[0] + " " + WORDS[1],
+        20 * TaskService.DEFAULT_PAGE_SIZE,
+        TaskService.DEFAULT_PAGE_SIZE);
+  }
+
+  /** Replaces the benchmark rows unless a previous trial already seeded the same count. */
+  private void seed(JdbcOperations jdbc) {
+    Integer seeded =
+        jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE id LIKE 'search-%'", Integer.class);
+    if (seeded != null && seeded == taskCount) {
+      return;
+    }
+
+    jdbc.update("DELETE FROM tasks WHERE id LIKE 'search-%'");
+
+    // Fixed seed so every trial searches the same corpus
+    Random random = new Random(42);
+    Instant start = Instant.parse("2025-01-01T00:00:00Z");
+    List<Object[]> tasks = new ArrayList<>(SEED_BATCH);
+    for (int i = 0; i < taskCount; i++) {
+      Timestamp createdAt = Timestamp.from(start.plusSeconds(i));
+      tasks.add(
+          new Object[] {
+            String.format("search-%07d", i),
+            text(random, TITLE_WORDS),
+            text(random, DESCRIPTION_WORDS),
+            1 + i % 4,
+            createdAt,
+            createdAt
+          });
+
+      if (tasks.size() == SEED_BATCH || i == taskCount - 1) {
+        jdbc.batchUpdate(
+            "INSERT INTO tasks (id, title, description, priority, due_date, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?)",
+            tasks);
+        tasks.clear();
+      }
+    }
+  }
+
+  // The product of two uniform draws favours the first words of the vocabulary
+  private static String text(Random random, int words) {
+    StringBuilder text = new StringBuilder();
+    for (int w = 0; w < words; w++) {
+      double skewed = random.nextDouble() * random.nextDouble();
+      text.append(w == 0 ? "" : " ").append(WORDS[(int) (skewed * WORDS.length)]);
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,75 @@
+package com.event.tasker.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Splits tag strings the way the row mappers do. {@code stream} is the previous split, stream and
+ * collect implementation, kept here as the baseline; {@code identity} is the scanning splitter's
+ * fast path the mappers use and {@code trim} its general path with a per-value converter. {@code
+ * parse} converts a numeric list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CSVToArrayConverterBenchmark {
+
+  @Param({"backend", "backend,api", "backend, api , ui,,infra,release,q3,security,db,ops,docs"})
+  public String tags;
+
+  // Not final, so the JIT cannot fold the input into a constant
+  private String numbers = "1,2,3,4,5";
+
+  @Benchmark
+  public List<String> stream() {
+    return streamSplit(tags, String::trim);
+  }
+
+  @Benchmark
+  public List<String> identity() {
+    return CSVToArrayConverter.convertCommaSeparated(tags, Function.identity());
+  }
+
+  @Benchmark
+  public List<String> trim() {
+    return CSVToArrayConverter.convertCommaSeparated(tags, String::trim);
+  }
+
+  @Benchmark
+  public List<Integer> parse() {
+    return CSVToArrayConverter.convertCommaSeparated(numbers, Integer::valueOf);
+  }
+
+  private static <T> List<T> streamSplit(String dbString, Function<String, T> converter) {
+    if (dbString == null || dbString.trim().isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    return Arrays.stream(dbString.split(","))
+        .map(String::trim)
+        .filter(s -> !s.isEmpty())
+        .map(
+            str -> {
+              try {
+                return converter.apply(str);
+              } catch (Exception e) {
+                return null;
+              }
+            })
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+}
@@ -1,21 +1,55 @@
 package com.event.tasker.DAO;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskCursor;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskQuery;
 
 public interface TaskDao {
   ArrayList<Task> getTasks();
 
+  ArrayList<Task> getTasks(TaskQuery query, Set<TaskField> fields, TaskCursor after, int limit);
+
+  ArrayList<Task> searchTasks(String text, int offset, int limit);
+
+  TaskFacets getTaskFacets(TaskQuery query);
+
+  Optional<TaskNode> getTaskTree(String rootId, int maxDepth);
+
+  void streamTasks(TaskQuery query, Set<TaskField> fields, Consumer<Task> consumer);
+
   String createTask(Task task);
 
+  int createTasks(List<Task> tasks);
+
   Optional<Task> getTask(String taskId);
 
-  boolean softDeleteTaskById(String taskId);
+  boolean softDeleteTaskById(String taskId, Long expectedVersion);
+
+  Optional<Long> getTaskVersion(String taskId);
+
+  void lockTasks(Collection<String> taskIds);
+
+  void bumpVersions(Collection<String> taskIds);
 
   Optional<TaskDetail> getTaskDetail(String taskId);
 
+  Optional<TaskDetail> getTaskDetail(String taskId, Set<TaskField> fields);
+
+  Map<String, TaskDetail> getTaskDetails(Collection<String> taskIds, Set<TaskField> fields);
+
   boolean updateTask(Task task);
+
+  boolean patchTask(String taskId, Map<TaskField, Object> columns, Long expectedVersion);
 }
@@ -0,0 +1,7 @@
+package com.event.tasker.DAO;
+
+public interface TaskListVersionDao {
+  long getVersion();
+
+  void increment();
+}
@@ -0,0 +1,21 @@
+package com.event.tasker.DAO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.event.tasker.model.TaskOutboxEvent;
+
+public interface TaskOutboxDao {
+  void append(String taskId, TaskOutboxEvent.Type type);
+
+  void appendAll(Collection<String> taskIds, TaskOutboxEvent.Type type);
+
+  List<TaskOutboxEvent> lockBatch(int limit);
+
+  Map<String, Long> firstPendingIds(Collection<String> taskIds, Collection<Long> excludedIds);
+
+  int delete(Collection<Long> ids);
+
+  void recordFailure(long id);
+}
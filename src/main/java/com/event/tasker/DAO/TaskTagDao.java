@@ -1,6 +1,7 @@
 package com.event.tasker.DAO;
 
 import java.util.ArrayList;
+import java.util.Set;
 
 import com.event.tasker.model.TaskTag;
 
@@ -9,5 +10,7 @@ public interface TaskTagDao {
 
   int deleteTaskTags(ArrayList<TaskTag> tags, String taskId);
 
+  int updateTaskTags(String taskId, Set<String> added, Set<String> removed);
+
   ArrayList<String> getTaskTagsBy(String uuid);
 }
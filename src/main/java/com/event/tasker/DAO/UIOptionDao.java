@@ -1,9 +1,12 @@
 package com.event.tasker.DAO;
 
 import java.util.ArrayList;
+import java.util.Map;
 
 import com.event.tasker.model.UiOption;
 
 public interface UIOptionDao {
   ArrayList<UiOption> getPriorityLabels(String id);
+
+  Map<String, ArrayList<UiOption>> getAllPriorityLabels();
 }
@@ -2,6 +2,7 @@ package com.event.tasker.DAO.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +14,11 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import com.event.tasker.DAO.TaskAttachmentDao;
+import com.event.tasker.DAO.TaskDao;
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.cache.TaskVersionStamps;
 import com.event.tasker.model.Attachment;
+import com.event.tasker.model.TaskOutboxEvent;
 import com.event.tasker.rowMapper.AttachmentRowMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -25,6 +30,9 @@ import lombok.extern.slf4j.Slf4j;
 public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
 
   private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TaskVersionStamps versionStamps;
+  private final TaskOutboxDao outboxDao;
+  private final TaskDao taskDao;
 
   @Override
   public Optional<Attachment> getAttachment(String id) {
@@ -56,8 +64,11 @@ public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
 				""";
       SqlParameterSource parameterSource = new BeanPropertySqlParameterSource(attachment);
 
+      List<String> taskIds = List.of(attachment.getTaskId());
+      taskDao.lockTasks(taskIds);
       int rowsAffected = jdbcTemplate.update(sql, parameterSource);
       if (rowsAffected > 0) {
+        changed(taskIds);
         return attachment.getId();
       } else {
         log.error("Error creating attachment");
@@ -90,16 +101,26 @@ public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
 
     try {
       if (taskId != null) {
-        return jdbcTemplate.update(sqlDeleteByTaskId, new MapSqlParameterSource("taskId", taskId))
-                >= 1
-            ? taskId
-            : null;
+        List<String> taskIds = List.of(taskId);
+        taskDao.lockTasks(taskIds);
+        int deleted =
+            jdbcTemplate.update(sqlDeleteByTaskId, new MapSqlParameterSource("taskId", taskId));
+        if (deleted < 1) {
+          return null;
+        }
+        changed(taskIds);
+        return taskId;
       }
 
       if (id != null) {
-        return jdbcTemplate.update(sqlDeleteById, new MapSqlParameterSource("id", id)) >= 1
-            ? id
-            : null;
+        List<String> taskIds = taskIdsOf(List.of(id));
+        taskDao.lockTasks(taskIds);
+        int deleted = jdbcTemplate.update(sqlDeleteById, new MapSqlParameterSource("id", id));
+        if (deleted < 1) {
+          return null;
+        }
+        changed(taskIds);
+        return id;
       }
 
       return "";
@@ -127,7 +148,14 @@ public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
       parameterSource.addValue("fileType", attachment.getFileType());
       parameterSource.addValue("taskId", attachment.getTaskId());
 
-      return jdbcTemplate.update(sql, parameterSource) >= 1 ? attachment.getId() : null;
+      List<String> taskIds = List.of(attachment.getTaskId());
+      taskDao.lockTasks(taskIds);
+      int updated = jdbcTemplate.update(sql, parameterSource);
+      if (updated < 1) {
+        return null;
+      }
+      changed(taskIds);
+      return attachment.getId();
     } catch (DataAccessException e) {
       log.error("Error updating attachment", e);
       throw e;
@@ -144,7 +172,14 @@ public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
           """;
 
     try {
-      return jdbcTemplate.update(sql, new MapSqlParameterSource("id", id)) >= 1 ? id : null;
+      List<String> taskIds = taskIdsOf(List.of(id));
+      taskDao.lockTasks(taskIds);
+      int updated = jdbcTemplate.update(sql, new MapSqlParameterSource("id", id));
+      if (updated < 1) {
+        return null;
+      }
+      changed(taskIds);
+      return id;
     } catch (DataAccessException e) {
       log.error("Error softDeleting attachment", e);
       throw e;
@@ -203,8 +238,14 @@ public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
         ids.stream().map(id -> new MapSqlParameterSource("id", id)).toList();
 
     try {
+      List<String> taskIds = taskIdsOf(ids);
+      taskDao.lockTasks(taskIds);
       int[] result = jdbcTemplate.batchUpdate(sql, params.toArray(new SqlParameterSource[0]));
       int updatedCount = Arrays.stream(result).sum();
+      // A rewritten batch reports SUCCESS_NO_INFO instead of a row count, which may be a change
+      if (Arrays.stream(result).anyMatch(count -> count != 0)) {
+        changed(taskIds);
+      }
 
       log.info("Soft-deleted {} attachments", updatedCount);
       return "Soft-deleted " + updatedCount + " attachments";
@@ -213,4 +254,17 @@ public class TaskAttachmentDaoImpl implements TaskAttachmentDao {
       throw ex; // or return a failure message if preferred
     }
   }
+
+  // An attachment never moves to another task, so this needs no lock
+  private List<String> taskIdsOf(Collection<String> ids) {
+    String sql = "SELECT DISTINCT taskId FROM task_attachments WHERE id IN (:ids)";
+    return jdbcTemplate.queryForList(sql, new MapSqlParameterSource("ids", ids), String.class);
+  }
+
+  // Only for writes that changed a row, while the task rows are locked
+  private void changed(List<String> taskIds) {
+    taskDao.bumpVersions(taskIds);
+    taskIds.forEach(versionStamps::taskChanged);
+    outboxDao.appendAll(taskIds, TaskOutboxEvent.Type.ATTACHMENTS_CHANGED);
+  }
 }
@@ -1,18 +1,50 @@
 package com.event.tasker.DAO.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import com.event.tasker.DAO.TaskDao;
+import com.event.tasker.DAO.TaskListVersionDao;
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.model.Attachment;
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskCursor;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskOutboxEvent;
+import com.event.tasker.model.TaskPatch;
+import com.event.tasker.model.TaskQuery;
 import com.event.tasker.rowMapper.TaskDetailRowMapper;
 import com.event.tasker.rowMapper.TaskRowMapper;
 import com.google.gson.Gson;
@@ -27,52 +59,428 @@ public class TaskDaoImpl implements TaskDao {
 
   private final NamedParameterJdbcTemplate jdbcTemplate;
   private final Gson gson;
+  private final TaskVersionStamps versionStamps;
+  private final TaskOutboxDao outboxDao;
+  private final TaskListVersionDao listVersionDao;
 
-  private static final String TASK_BASE_SELECT =
+  private static final String TASK_COLUMNS =
       """
             SELECT t.id, t.title, t.description, t.completed, t.priority,
                    t.created_at AS createdAt, t.due_date AS dueDate,
-                   t.parent_id AS parentId,
+                   t.parent_id AS parentId, t.version,
                    CONCAT(u.first_name, ' ', u.last_name) AS assignedTo,
                    u.profile_picture_url AS profilePicture,
                    GROUP_CONCAT(tt.tag) AS tags
-            FROM tasks t
-            LEFT JOIN task_tags tt ON t.id = tt.task_id
+            """;
+
+  private static final String TASK_JOINS =
+      """
+            LEFT JOIN task_tags tt ON t.id = tt.task_id AND tt.isDeleted = 0
             LEFT JOIN users u ON u.user_id = t.assigned_to
             LEFT JOIN priority pr ON pr.id = t.priority
             """;
 
+  private static final String TASK_BASE_SELECT = TASK_COLUMNS + " FROM tasks t " + TASK_JOINS;
+
   private static final String TASK_GROUP_BY =
       "GROUP BY t.id, u.first_name, u.last_name, u.profile_picture_url";
 
+  // No trailing semicolon: the MySQL driver only rewrites batches of plain INSERT ... VALUES
+  private static final String INSERT_TASK =
+      """
+            INSERT INTO tasks
+            (id, title, description, completed, priority, due_date, assigned_to, parent_id)
+            VALUES (:id, :title, :description, :completed, :priority, :dueDate, :assignedTo,
+                    :parentId)
+            """;
+
+  private static final String TASK_KEYSET_ORDER = "ORDER BY t.created_at DESC, t.id DESC";
+
+  private static final int STREAM_FETCH_SIZE = 500;
+
+  private static final String TAGS_OF_TASKS =
+      "SELECT task_id, tag FROM task_tags WHERE task_id IN (:taskIds) AND isDeleted = 0";
+
+  private static final String ATTACHMENTS_OF_TASKS =
+      """
+            SELECT taskId, url, fileName, fileType
+            FROM task_attachments
+            WHERE taskId IN (:taskIds) AND isDeleted = 0
+            """;
+
+  private static final String TAGS_OF_LIVE_TASKS =
+      """
+            SELECT tt.task_id, tt.tag
+            FROM task_tags tt
+                     JOIN tasks t ON t.id = tt.task_id
+            WHERE t.isDeleted = 0 AND tt.isDeleted = 0
+            """;
+
+  private static final String SEARCH_MATCH =
+      "MATCH(p.title, p.description) AGAINST (:text IN NATURAL LANGUAGE MODE)";
+
+  // %1$s is the WHERE clause from TaskQuerySql over tasks aliased t. The ROLLUP row of the
+  // completed facet, with a NULL value, carries the total.
+  private static final String TASK_FACETS =
+      """
+            SELECT 'completed' AS facet, CAST(t.completed AS CHAR) AS value, COUNT(*) AS total
+            FROM tasks t WHERE %1$s GROUP BY t.completed WITH ROLLUP
+            UNION ALL
+            SELECT 'priority', CAST(t.priority AS CHAR), COUNT(*)
+            FROM tasks t WHERE %1$s GROUP BY t.priority
+            UNION ALL
+            SELECT 'assignedTo', t.assigned_to, COUNT(*)
+            FROM tasks t WHERE %1$s GROUP BY t.assigned_to
+            UNION ALL
+            SELECT 'tag', tt.tag, COUNT(DISTINCT tt.task_id)
+            FROM task_tags tt JOIN tasks t ON t.id = tt.task_id
+            WHERE tt.isDeleted = 0 AND %1$s GROUP BY tt.tag
+            ORDER BY facet, total DESC, value
+            """;
+
+  static final String UNASSIGNED = "unassigned";
+
+  // Each row carries the ids on its path from the root. A task already on the path is a cycle in
+  // parent_id and is not visited again; :maxDepth bounds the recursion either way.
+  private static final String SUBTREE =
+      """
+            WITH RECURSIVE subtree (id, depth, path) AS (
+                SELECT r.id, 0, CAST(CONCAT(',', r.id, ',') AS CHAR(%d))
+                FROM tasks r
+                WHERE r.id = :rootId AND r.isDeleted = 0
+                UNION ALL
+                SELECT c.id, s.depth + 1, CONCAT(s.path, c.id, ',')
+                FROM subtree s
+                         JOIN tasks c ON c.parent_id = s.id
+                WHERE s.depth < :maxDepth
+                  AND c.isDeleted = 0
+                  AND LOCATE(CONCAT(',', c.id, ','), s.path) = 0
+            )
+            """;
+
+  // Room for TaskService.MAX_TREE_DEPTH + 1 ids of up to 255 characters, each with its comma
+  private static final int SUBTREE_PATH_LENGTH = 13_057;
+
+  /**
+   * Selects how list reads load tags. When false, tags are aggregated per row with {@code
+   * GROUP_CONCAT} over a join, which makes MySQL group the whole result in a temporary table and
+   * cuts long tag lists at {@code group_concat_max_len}. When true, task rows are read ungrouped
+   * and the tags of all returned tasks are loaded with one extra query and attached in memory.
+   */
+  @Value("${tasker.task-list.batched-tags:false}")
+  boolean batchedTags;
+
   public ArrayList<Task> getTasks() {
+    if (batchedTags) {
+      TaskProjection projection = TaskProjection.forList(TaskField.ALL, false);
+      String sql =
+          projection.columns() + " FROM tasks t" + projection.joins() + " WHERE t.isDeleted = 0";
+      ArrayList<Task> tasks =
+          new ArrayList<>(jdbcTemplate.query(sql, new TaskRowMapper(projection.fields())));
+      attachTags(tasks, TAGS_OF_LIVE_TASKS, new MapSqlParameterSource());
+      return tasks;
+    }
+
     String sql = TASK_BASE_SELECT + " WHERE t.isDeleted = 0 " + TASK_GROUP_BY;
     return new ArrayList<>(jdbcTemplate.query(sql, new TaskRowMapper()));
   }
 
+  /**
+   * Returns one page of tasks matching {@code query}, newest first, starting strictly after the
+   * given cursor. Filters and the keyset seek are applied while resolving the page of ids, before
+   * any join or grouping runs, so only the rows that are returned pay for the joins and the cost of
+   * a page does not depend on how deep the client has paged.
+   *
+   * <p>Only the columns and joins needed for {@code fields} are part of the statement.
+   *
+   * @param query the filter criteria, or null for all tasks
+   * @param fields the fields to select; id and createdAt are always included
+   * @param after the last task of the previous page, or null for the first page
+   * @param limit the maximum number of tasks to return
+   * @return up to {@code limit} tasks ordered by {@code created_at DESC, id DESC}
+   */
+  @Override
+  public ArrayList<Task> getTasks(
+      TaskQuery query, Set<TaskField> fields, TaskCursor after, int limit) {
+    TaskProjection projection = TaskProjection.forList(fields, !batchedTags);
+    TaskQuerySql filter = TaskQuerySql.of(query, "p", new MapSqlParameterSource("limit", limit));
+    if (after != null) {
+      filter
+          .and("(p.created_at < :createdAt OR (p.created_at = :createdAt AND p.id < :cursorId))")
+          .params()
+          .addValue("createdAt", Timestamp.from(after.getCreatedAt()))
+          .addValue("cursorId", after.getId());
+    }
+
+    String sql =
+        projection.columns()
+            + " FROM (SELECT p.id FROM tasks p WHERE "
+            + filter.where()
+            + " ORDER BY p.created_at DESC, p.id DESC LIMIT :limit) page"
+            + " JOIN tasks t ON t.id = page.id"
+            + projection.joins()
+            + " "
+            + projection.groupBy()
+            + " "
+            + TASK_KEYSET_ORDER;
+
+    ArrayList<Task> tasks =
+        new ArrayList<>(
+            jdbcTemplate.query(sql, filter.params(), new TaskRowMapper(projection.fields())));
+
+    if (batchedTags && fields.contains(TaskField.TAGS) && !tasks.isEmpty()) {
+      List<String> taskIds = tasks.stream().map(Task::getId).toList();
+      attachTags(tasks, TAGS_OF_TASKS, new MapSqlParameterSource("taskIds", taskIds));
+    }
+    return tasks;
+  }
+
+  /**
+   * Full-text search over title and description using the {@code FULLTEXT} index added in {@code
+   * V11}. Matches are ranked by MySQL's natural-language relevance, ties broken by id, and the page
+   * is cut before the joins run. Words shorter than {@code innodb_ft_min_token_size} and stopwords
+   * never match.
+   *
+   * @param text the words to search for
+   * @param offset the number of ranked matches to skip
+   * @param limit the maximum number of tasks to return
+   * @return up to {@code limit} tasks, most relevant first, with tags loaded
+   */
+  @Override
+  public ArrayList<Task> searchTasks(String text, int offset, int limit) {
+    TaskProjection projection = TaskProjection.forList(TaskField.ALL, false);
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("text", text)
+            .addValue("offset", offset)
+            .addValue("limit", limit);
+
+    String sql =
+        projection.columns()
+            + " FROM (SELECT p.id, "
+            + SEARCH_MATCH
+            + " AS score FROM tasks p WHERE p.isDeleted = 0 AND "
+            + SEARCH_MATCH
+            + " ORDER BY score DESC, p.id LIMIT :limit OFFSET :offset) page"
+            + " JOIN tasks t ON t.id = page.id"
+            + projection.joins()
+            + " ORDER BY page.score DESC, t.id";
+
+    try {
+      ArrayList<Task> tasks =
+          new ArrayList<>(jdbcTemplate.query(sql, params, new TaskRowMapper(projection.fields())));
+      if (!tasks.isEmpty()) {
+        List<String> taskIds = tasks.stream().map(Task::getId).toList();
+        attachTags(tasks, TAGS_OF_TASKS, new MapSqlParameterSource("taskIds", taskIds));
+      }
+      return tasks;
+    } catch (DataAccessException e) {
+      log.error("Error searching tasks", e);
+      throw e;
+    }
+  }
+
+  /**
+   * Counts the tasks matching {@code query} by completion state, priority, assignee and tag in one
+   * round trip. Every count is a {@code GROUP BY} over an index (see {@code V12}); no task rows are
+   * mapped. Tasks without an assignee are counted under {@value #UNASSIGNED}.
+   *
+   * @param query the filter criteria, or null for all tasks
+   * @return the counts per facet
+   */
+  @Override
+  public TaskFacets getTaskFacets(TaskQuery query) {
+    TaskQuerySql filter = TaskQuerySql.of(query, "t", new MapSqlParameterSource());
+    TaskFacets facets = new TaskFacets();
+
+    try {
+      jdbcTemplate.query(
+          TASK_FACETS.formatted(filter.where()),
+          filter.params(),
+          (RowCallbackHandler)
+              rs -> {
+                String value = rs.getString("value");
+                long count = rs.getLong("total");
+                switch (rs.getString("facet")) {
+                  case "completed" -> {
+                    if (value == null) {
+                      facets.setTotal(count);
+                    } else {
+                      facets.getCompleted().put(Boolean.toString(!"0".equals(value)), count);
+                    }
+                  }
+                  case "priority" ->
+                      facets
+                          .getPriority()
+                          .put(Task.Priority.fromCode(Integer.parseInt(value)).name(), count);
+                  case "assignedTo" ->
+                      facets.getAssignedTo().put(value != null ? value : UNASSIGNED, count);
+                  case "tag" -> facets.getTags().put(value, count);
+                  default -> log.warn("Ignoring unknown facet {}", rs.getString("facet"));
+                }
+              });
+      return facets;
+    } catch (DataAccessException e) {
+      log.error("Error counting task facets", e);
+      throw e;
+    }
+  }
+
+  /**
+   * Loads {@code rootId} and its descendants down to {@code maxDepth} levels in one recursive
+   * query, then assembles them into a tree. Deleted tasks and everything below them are left out.
+   * Tags for the whole tree are loaded with one batched query.
+   *
+   * <p>Each child is found through the {@code parent_id} index. A cycle in {@code parent_id} ends
+   * the branch at the task that would repeat, so every task appears at most once.
+   *
+   * @param rootId the task at the top of the tree
+   * @param maxDepth the number of levels below the root to load, at most {@link
+   *     com.event.tasker.service.TaskService#MAX_TREE_DEPTH}
+   * @return the tree, or empty if the root does not exist or is deleted
+   */
+  @Override
+  public Optional<TaskNode> getTaskTree(String rootId, int maxDepth) {
+    TaskProjection projection = TaskProjection.forList(TaskField.ALL, false);
+    MapSqlParameterSource params =
+        new MapSqlParameterSource().addValue("rootId", rootId).addValue("maxDepth", maxDepth);
+    String sql =
+        SUBTREE.formatted(SUBTREE_PATH_LENGTH)
+            + projection.columns()
+            + ", s.depth AS depth FROM subtree s JOIN tasks t ON t.id = s.id"
+            + projection.joins()
+            + " ORDER BY s.depth, t.created_at, t.id";
+
+    TaskRowMapper rowMapper = new TaskRowMapper(projection.fields());
+    List<TaskNode> nodes = new ArrayList<>();
+    try {
+      jdbcTemplate.query(
+          sql,
+          params,
+          (RowCallbackHandler)
+              rs ->
+                  nodes.add(
+                      TaskNode.builder()
+                          .task(rowMapper.mapRow(rs, nodes.size()))
+                          .depth(rs.getInt("depth"))
+                          .build()));
+    } catch (DataAccessException e) {
+      log.error("Error loading task tree for {}", rootId, e);
+      throw e;
+    }
+
+    if (nodes.isEmpty()) {
+      return Optional.empty();
+    }
+
+    List<Task> tasks = nodes.stream().map(TaskNode::getTask).toList();
+    attachTags(
+        tasks,
+        TAGS_OF_TASKS,
+        new MapSqlParameterSource("taskIds", tasks.stream().map(Task::getId).toList()));
+
+    // Rows come ordered by depth, so every parent is registered before its children.
+    Map<String, TaskNode> byId = HashMap.newHashMap(nodes.size());
+    for (TaskNode node : nodes) {
+      byId.put(node.getTask().getId(), node);
+      if (node.getDepth() > 0) {
+        byId.get(node.getTask().getParentId()).getChildren().add(node);
+      }
+    }
+    return Optional.of(nodes.getFirst());
+  }
+
+  /**
+   * Runs {@code sql}, which must select {@code (task_id, tag)} pairs, and appends each tag to the
+   * matching task. Every task gets a mutable, possibly empty, tag list; tags of tasks that are not
+   * in {@code tasks} are ignored.
+   */
+  private void attachTags(List<Task> tasks, String sql, SqlParameterSource params) {
+    Map<String, Task> byId = HashMap.newHashMap(tasks.size());
+    for (Task task : tasks) {
+      task.setTags(new ArrayList<>());
+      byId.put(task.getId(), task);
+    }
+
+    jdbcTemplate.query(
+        sql,
+        params,
+        (RowCallbackHandler)
+            rs -> {
+              Task task = byId.get(rs.getString(1));
+              if (task != null) {
+                task.getTags().add(rs.getString(2));
+              }
+            });
+  }
+
+  /**
+   * Pushes every task matching {@code query} to {@code consumer} as soon as its row is mapped,
+   * without collecting the list. The statement is forward-only and read-only with a bounded fetch
+   * size, so with {@code useCursorFetch=true} MySQL hands rows over in chunks of {@link
+   * #STREAM_FETCH_SIZE} instead of buffering the whole result in the driver.
+   *
+   * @param query the filter criteria, or null for all tasks
+   * @param fields the fields to select; id and createdAt are always included
+   * @param consumer receives each task in result order; exceptions it throws abort the query
+   */
+  @Override
+  public void streamTasks(TaskQuery query, Set<TaskField> fields, Consumer<Task> consumer) {
+    TaskProjection projection = TaskProjection.forList(fields);
+    TaskQuerySql filter = TaskQuerySql.of(query, "t", new MapSqlParameterSource());
+    String sql =
+        projection.columns()
+            + " FROM tasks t"
+            + projection.joins()
+            + " WHERE "
+            + filter.where()
+            + " "
+            + projection.groupBy();
+    TaskRowMapper rowMapper = new TaskRowMapper(projection.fields());
+
+    jdbcTemplate
+        .getJdbcOperations()
+        .query(
+            streamingStatement(sql, filter.params()),
+            new RowCallbackHandler() {
+              private int rowNum = 0;
+
+              @Override
+              public void processRow(ResultSet rs) throws SQLException {
+                consumer.accept(rowMapper.mapRow(rs, rowNum++));
+              }
+            });
+  }
+
+  private PreparedStatementCreator streamingStatement(String sql, SqlParameterSource params) {
+    ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+    PreparedStatementCreatorFactory factory =
+        new PreparedStatementCreatorFactory(
+            NamedParameterUtils.substituteNamedParameters(parsedSql, params),
+            NamedParameterUtils.buildSqlParameterList(parsedSql, params));
+    factory.setResultSetType(ResultSet.TYPE_FORWARD_ONLY);
+    factory.setUpdatableResults(false);
+
+    PreparedStatementCreator creator =
+        factory.newPreparedStatementCreator(
+            NamedParameterUtils.buildValueArray(parsedSql, params, null));
+
+    return connection -> {
+      PreparedStatement statement = creator.createPreparedStatement(connection);
+      statement.setFetchSize(STREAM_FETCH_SIZE);
+      return statement;
+    };
+  }
+
   @Override
   public String createTask(Task task) {
     try {
-      String sql =
-          """
-                    INSERT INTO tasks
-                    (id, title, description, completed, priority, due_date, assigned_to, parent_id)
-                    VALUES (:id, :title, :description, :completed, :priority, :dueDate, :assignedTo,
-                    		  :parentId);
-                    """;
-
-      MapSqlParameterSource parameterSource =
-          new MapSqlParameterSource()
-              .addValue("id", task.getId())
-              .addValue("title", task.getTitle())
-              .addValue("description", task.getDescription())
-              .addValue("completed", task.isCompleted())
-              .addValue("priority", task.getPriority().ordinal())
-              .addValue("dueDate", task.getDueDate())
-              .addValue("assignedTo", task.getAssignedTo())
-              .addValue("parentId", task.getParentId());
-
-      int rowsAffected = jdbcTemplate.update(sql, parameterSource);
+      int rowsAffected = jdbcTemplate.update(INSERT_TASK, insertParameters(task));
+      if (rowsAffected > 0) {
+        listVersionDao.increment();
+        versionStamps.taskChanged(task.getId());
+        outboxDao.append(task.getId(), TaskOutboxEvent.Type.CREATED);
+      }
 
       return rowsAffected > 0 ? task.getId() : null;
     } catch (DataAccessException e) {
@@ -84,6 +492,50 @@ public class TaskDaoImpl implements TaskDao {
     }
   }
 
+  /**
+   * Inserts {@code tasks} as one JDBC batch. With {@code rewriteBatchedStatements} on the MySQL URL
+   * the driver sends the batch as multi-row INSERTs rather than one round trip per task.
+   *
+   * @param tasks the tasks to insert, with their ids set
+   * @return the number of tasks inserted
+   */
+  @Override
+  public int createTasks(List<Task> tasks) {
+    if (tasks.isEmpty()) {
+      return 0;
+    }
+
+    SqlParameterSource[] batch =
+        tasks.stream().map(TaskDaoImpl::insertParameters).toArray(SqlParameterSource[]::new);
+
+    try {
+      int[] result = jdbcTemplate.batchUpdate(INSERT_TASK, batch);
+      listVersionDao.increment();
+      tasks.forEach(task -> versionStamps.taskChanged(task.getId()));
+      outboxDao.appendAll(tasks.stream().map(Task::getId).toList(), TaskOutboxEvent.Type.CREATED);
+
+      // A rewritten batch reports SUCCESS_NO_INFO instead of a row count for each task
+      return Arrays.stream(result)
+          .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+          .sum();
+    } catch (DataAccessException e) {
+      log.error("Error creating {} tasks", tasks.size(), e);
+      throw e;
+    }
+  }
+
+  private static MapSqlParameterSource insertParameters(Task task) {
+    return new MapSqlParameterSource()
+        .addValue("id", task.getId())
+        .addValue("title", task.getTitle())
+        .addValue("description", task.getDescription())
+        .addValue("completed", Boolean.TRUE.equals(task.getCompleted()))
+        .addValue("priority", task.getPriority().ordinal())
+        .addValue("dueDate", task.getDueDate())
+        .addValue("assignedTo", task.getAssignedTo())
+        .addValue("parentId", task.getParentId());
+  }
+
   @Override
   public Optional<Task> getTask(String taskId) {
     final String sql =
@@ -108,19 +560,29 @@ public class TaskDaoImpl implements TaskDao {
    * remains in the database but is treated as inactive.
    *
    * @param taskId The ID of the task to delete.
-   * @return true if the task was successfully deleted.
+   * @param expectedVersion the version the caller last read, or null to delete whatever the
+   *     current version is
+   * @return true if the task was successfully deleted; false if it does not exist or is no longer
+   *     at {@code expectedVersion}.
    */
   @Override
-  public boolean softDeleteTaskById(String taskId) {
+  public boolean softDeleteTaskById(String taskId, Long expectedVersion) {
     final String sql =
         """
-                 UPDATE tasks SET deletedAt = NOW(), isDeleted = 1
+                 UPDATE tasks SET deletedAt = NOW(), isDeleted = 1, version = version + 1
                  WHERE id = :taskId AND deletedAt IS NULL
-                """;
-    MapSqlParameterSource params = new MapSqlParameterSource("taskId", taskId);
+                """
+            + versionCondition(expectedVersion);
+    MapSqlParameterSource params =
+        new MapSqlParameterSource("taskId", taskId).addValue("version", expectedVersion);
 
     try {
       int rowsAffected = jdbcTemplate.update(sql, params);
+      if (rowsAffected > 0) {
+        listVersionDao.increment();
+        versionStamps.taskChanged(taskId);
+        outboxDao.append(taskId, TaskOutboxEvent.Type.DELETED);
+      }
       return rowsAffected > 0;
     } catch (DataAccessException e) {
       log.error("Error during soft delete for task id: {}", taskId, e);
@@ -128,53 +590,196 @@ public class TaskDaoImpl implements TaskDao {
     }
   }
 
+  /**
+   * Locks the rows of {@code taskIds} until the transaction ends, without changing them. The child
+   * DAOs call it before they write, so writes to one task's rows take its lock first, the same
+   * order as task writes, and commit one after another.
+   *
+   * @param taskIds the tasks whose child rows are about to change
+   */
+  @Override
+  public void lockTasks(Collection<String> taskIds) {
+    if (taskIds.isEmpty()) {
+      return;
+    }
+
+    final String sql = "SELECT id FROM tasks WHERE id IN (:taskIds) FOR UPDATE";
+
+    try {
+      jdbcTemplate.queryForList(sql, new MapSqlParameterSource("taskIds", taskIds), String.class);
+    } catch (DataAccessException e) {
+      log.error("Error locking tasks {}", taskIds, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Increments the version of {@code taskIds} for a change to their tags or attachments, so their
+   * ETags change with them. The child DAOs call it, after {@link #lockTasks}, once their write has
+   * changed a row. It increments the list version as well when any of the tasks exists.
+   *
+   * @param taskIds the tasks whose child rows changed
+   */
+  @Override
+  public void bumpVersions(Collection<String> taskIds) {
+    if (taskIds.isEmpty()) {
+      return;
+    }
+
+    final String sql = "UPDATE tasks SET version = version + 1 WHERE id IN (:taskIds)";
+
+    try {
+      if (jdbcTemplate.update(sql, new MapSqlParameterSource("taskIds", taskIds)) > 0) {
+        listVersionDao.increment();
+      }
+    } catch (DataAccessException e) {
+      log.error("Error bumping the versions of tasks {}", taskIds, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the current version of a live task, which is how a write that matched no row tells a
+   * version conflict apart from a missing task.
+   *
+   * @param taskId the task to look up
+   * @return the version, or empty if no live task has {@code taskId}
+   */
+  @Override
+  public Optional<Long> getTaskVersion(String taskId) {
+    final String sql = "SELECT version FROM tasks WHERE id = :taskId AND isDeleted = 0";
+
+    try {
+      return jdbcTemplate
+          .queryForList(sql, new MapSqlParameterSource("taskId", taskId), Long.class)
+          .stream()
+          .findFirst();
+    } catch (DataAccessException e) {
+      log.error("Error reading the version of task {}", taskId, e);
+      throw e;
+    }
+  }
+
   @Override
   public Optional<TaskDetail> getTaskDetail(String taskId) {
-    String sql =
-        """
-                  SELECT t.id                                                     AS id,
-                         t.title                                                  as title,
-                         t.description                                            as description,
-                         t.completed                                              as completed,
-                         t.priority                                               as priority,
-                         u.user_id                                                AS assignedTo,
-                         t.created_at                                             AS createdAt,
-                         t.due_date                                               AS dueDate,
-                         u.profile_picture_url                                    AS profilePicture,
-                         CONCAT(u.first_name, ' ', u.last_name)                   AS assignedToName,
-                         parent_id                                                AS parentID,
-                         GROUP_CONCAT(tt.tag)                                     AS tags,
-                         MAX(COALESCE(attachments_agg.attachments, JSON_ARRAY())) AS attachments
-                  FROM tasks t
-                           LEFT JOIN task_tags tt ON t.id = tt.task_id
-                           LEFT JOIN users u ON u.user_id = t.assigned_to
-                           LEFT JOIN  priority pr ON pr.id = t.priority
-                           LEFT JOIN
-                       (SELECT ta.taskId,
-                               JSON_ARRAYAGG(
-                                       JSON_OBJECT(
-                                               'url', ta.url,
-                                               'fileName', ta.fileName,
-                                               'fileType', ta.fileType
-                                       )
-                               ) AS attachments
-                        FROM task_attachments ta
-                        GROUP BY ta.taskId) AS attachments_agg ON t.id = attachments_agg.taskId
-                  WHERE t.id = :taskId AND t.isDeleted = 0
-                  GROUP BY t.id, u.first_name, u.last_name
-                """;
+    return getTaskDetail(taskId, TaskField.ALL);
+  }
 
+  /**
+   * Loads a single task with only the columns and joins needed for {@code fields}; the attachments
+   * and tag subqueries and the users join are skipped when their fields are not requested. Both
+   * subqueries read only this task's rows, so the cost does not grow with the size of {@code
+   * task_attachments} or {@code task_tags}.
+   *
+   * @param taskId the task to load
+   * @param fields the fields to select; the id is always included
+   * @return the task, or empty if it does not exist or could not be read
+   */
+  @Override
+  public Optional<TaskDetail> getTaskDetail(String taskId, Set<TaskField> fields) {
+    TaskProjection projection = TaskProjection.forDetail(fields);
     MapSqlParameterSource parameters = new MapSqlParameterSource("taskId", taskId);
 
     try {
       return Optional.ofNullable(
-          jdbcTemplate.queryForObject(sql, parameters, new TaskDetailRowMapper(gson)));
+          jdbcTemplate.queryForObject(
+              taskDetailSql(projection),
+              parameters,
+              new TaskDetailRowMapper(gson, projection.fields())));
     } catch (Exception e) {
       log.error("Error getting task detail", e);
       return Optional.empty();
     }
   }
 
+  /**
+   * Loads the details of several tasks with at most three statements, whatever the number of ids:
+   * one for the task rows, one for their tags and one for their attachments, each with an {@code
+   * IN} list. Tags and attachments are only queried when requested and are attached in memory.
+   *
+   * @param taskIds the tasks to load
+   * @param fields the fields to load; the id is always included
+   * @return the details of the tasks that exist and are not deleted, by id
+   */
+  @Override
+  public Map<String, TaskDetail> getTaskDetails(Collection<String> taskIds, Set<TaskField> fields) {
+    Map<String, TaskDetail> details = new LinkedHashMap<>();
+    if (taskIds.isEmpty()) {
+      return details;
+    }
+
+    Set<TaskField> rowFields = EnumSet.noneOf(TaskField.class);
+    rowFields.addAll(fields);
+    rowFields.removeAll(EnumSet.of(TaskField.TAGS, TaskField.ATTACHMENTS));
+    TaskProjection projection = TaskProjection.forDetail(rowFields);
+    String sql =
+        projection.columns()
+            + " FROM tasks t"
+            + projection.joins()
+            + " WHERE t.id IN (:taskIds) AND t.isDeleted = 0";
+
+    try {
+      for (TaskDetail detail :
+          jdbcTemplate.query(
+              sql,
+              new MapSqlParameterSource("taskIds", taskIds),
+              new TaskDetailRowMapper(gson, projection.fields()))) {
+        details.put(detail.getId(), detail);
+      }
+      if (details.isEmpty()) {
+        return details;
+      }
+
+      MapSqlParameterSource found =
+          new MapSqlParameterSource("taskIds", new ArrayList<>(details.keySet()));
+      if (fields.contains(TaskField.TAGS)) {
+        details.values().forEach(detail -> detail.setTags(new ArrayList<>()));
+        jdbcTemplate.query(
+            TAGS_OF_TASKS,
+            found,
+            (RowCallbackHandler)
+                rs -> details.get(rs.getString(1)).getTags().add(rs.getString(2)));
+      }
+      if (fields.contains(TaskField.ATTACHMENTS)) {
+        details.values().forEach(detail -> detail.setAttachments(new ArrayList<>()));
+        jdbcTemplate.query(
+            ATTACHMENTS_OF_TASKS,
+            found,
+            (RowCallbackHandler)
+                rs ->
+                    details
+                        .get(rs.getString("taskId"))
+                        .getAttachments()
+                        .add(
+                            Attachment.builder()
+                                .url(rs.getString("url"))
+                                .fileName(rs.getString("fileName"))
+                                .fileType(rs.getString("fileType"))
+                                .build()));
+      }
+      return details;
+    } catch (DataAccessException e) {
+      log.error("Error getting task details for {} tasks", taskIds.size(), e);
+      throw e;
+    }
+  }
+
+  /** The single-task detail statement for {@code projection}, bound to {@code :taskId}. */
+  static String taskDetailSql(TaskProjection projection) {
+    return projection.columns()
+        + " FROM tasks t"
+        + projection.joins()
+        + " WHERE t.id = :taskId AND t.isDeleted = 0 "
+        + projection.groupBy();
+  }
+
+  /**
+   * Replaces the columns of a task and increments its version. When the task carries a version,
+   * the update only applies while that version is still current.
+   *
+   * @param task the new state; {@code version} is the version the caller last read, or null
+   * @return false if no task has the id, or it is no longer at the given version
+   */
   @Override
   public boolean updateTask(Task task) {
     final String sql =
@@ -186,25 +791,97 @@ public class TaskDaoImpl implements TaskDao {
                 assigned_to = :assignedTo,
                 title       = :title,
                 due_date    = :due_date,
-                parent_id   = :parent_id
-            WHERE id = :id
-            """;
+                parent_id   = :parent_id,
+                version     = version + 1
+            WHERE id = :id AND isDeleted = 0
+            """
+            + versionCondition(task.getVersion());
 
     try {
       MapSqlParameterSource parameters = new MapSqlParameterSource();
       parameters.addValue("priority", task.getPriority().ordinal());
-      parameters.addValue("completed", task.isCompleted());
+      parameters.addValue("completed", Boolean.TRUE.equals(task.getCompleted()));
       parameters.addValue("description", task.getDescription());
       parameters.addValue("title", task.getTitle());
       parameters.addValue("due_date", task.getDueDate());
       parameters.addValue("assignedTo", task.getAssignedTo());
       parameters.addValue("parent_id", task.getParentId());
       parameters.addValue("id", task.getId());
+      parameters.addValue("version", task.getVersion());
 
-      return jdbcTemplate.update(sql, parameters) >= 1;
+      boolean updated = jdbcTemplate.update(sql, parameters) >= 1;
+      if (updated) {
+        listVersionDao.increment();
+        versionStamps.taskChanged(task.getId());
+        outboxDao.append(task.getId(), TaskOutboxEvent.Type.UPDATED);
+      }
+      return updated;
     } catch (DataAccessException e) {
       log.error("Error creating task", e);
       throw e;
     }
   }
+
+  /**
+   * Sets only the given columns of a live task with one UPDATE; unchanged columns, such as a long
+   * description when only {@code completed} flips, are not rewritten. The task is not read first.
+   * The version is always incremented, so a patch that only changes tags still moves it.
+   *
+   * @param taskId the task to change
+   * @param columns the new values by field, as parsed into a {@link TaskPatch}; may be empty
+   * @param expectedVersion the version the caller last read, or null to patch unconditionally
+   * @return false if no live task has {@code taskId}, or it is no longer at {@code
+   *     expectedVersion}
+   */
+  @Override
+  public boolean patchTask(String taskId, Map<TaskField, Object> columns, Long expectedVersion) {
+    StringJoiner assignments = new StringJoiner(", ");
+    MapSqlParameterSource parameters =
+        new MapSqlParameterSource("id", taskId).addValue("version", expectedVersion);
+    columns.forEach(
+        (field, value) -> {
+          String column = patchColumn(field);
+          assignments.add(column + " = :" + column);
+          parameters.addValue(
+              column, value instanceof Task.Priority priority ? priority.ordinal() : value);
+        });
+    assignments.add("version = version + 1");
+
+    String sql =
+        "UPDATE tasks SET "
+            + assignments
+            + " WHERE id = :id AND isDeleted = 0"
+            + versionCondition(expectedVersion);
+
+    try {
+      boolean updated = jdbcTemplate.update(sql, parameters) >= 1;
+      if (updated) {
+        listVersionDao.increment();
+        versionStamps.taskChanged(taskId);
+        outboxDao.append(taskId, TaskOutboxEvent.Type.UPDATED);
+      }
+      return updated;
+    } catch (DataAccessException e) {
+      log.error("Error patching task {}", taskId, e);
+      throw e;
+    }
+  }
+
+  /** The compare-and-set condition for a write, bound to {@code :version}; empty when null. */
+  private static String versionCondition(Long expectedVersion) {
+    return expectedVersion == null ? "" : " AND version = :version";
+  }
+
+  private static String patchColumn(TaskField field) {
+    return switch (field) {
+      case TITLE -> "title";
+      case DESCRIPTION -> "description";
+      case COMPLETED -> "completed";
+      case PRIORITY -> "priority";
+      case DUE_DATE -> "due_date";
+      case ASSIGNED_TO -> "assigned_to";
+      case PARENT_ID -> "parent_id";
+      default -> throw new IllegalArgumentException(field.getParam() + " is not a task column");
+    };
+  }
 }
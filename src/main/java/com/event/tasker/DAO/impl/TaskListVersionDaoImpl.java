@@ -0,0 +1,53 @@
+package com.event.tasker.DAO.impl;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.event.tasker.DAO.TaskListVersionDao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads and increments {@code task_list_version}, the stored version behind the list ETags. Every
+ * task write increments it in its own transaction, after its own statements, so the version
+ * changes exactly when a committed write may have changed a list, and reading it is one
+ * primary-key lookup on any instance.
+ *
+ * <p>The increment holds the row's lock until the writer commits, so concurrent task writes
+ * commit one at a time past this row.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TaskListVersionDaoImpl implements TaskListVersionDao {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public long getVersion() {
+    final String sql = "SELECT version FROM task_list_version WHERE id = 1";
+
+    try {
+      Long version = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
+      return version == null ? 0 : version;
+    } catch (DataAccessException e) {
+      log.error("Error reading the task list version", e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void increment() {
+    final String sql = "UPDATE task_list_version SET version = version + 1 WHERE id = 1";
+
+    try {
+      jdbcTemplate.update(sql, new MapSqlParameterSource());
+    } catch (DataAccessException e) {
+      log.error("Error incrementing the task list version", e);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package com.event.tasker.DAO.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.model.TaskOutboxEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads and writes {@code task_outbox}. Appends join the caller's transaction, so an event is
+ * recorded exactly when the change it describes commits.
+ *
+ * <p>Callers append only while their transaction holds the lock on the task's row: task writes
+ * insert or update it, and tag and attachment writes lock it before they write. A second writer of
+ * the same task therefore appends only after the first has committed, so one task's events get
+ * increasing ids in commit order. Writes outside a transaction have no such guarantee.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TaskOutboxDaoImpl implements TaskOutboxDao {
+
+  // No trailing semicolon: the MySQL driver only rewrites batches of plain INSERT ... VALUES
+  private static final String INSERT_EVENT =
+      "INSERT INTO task_outbox (task_id, type) VALUES (:taskId, :type)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public void append(String taskId, TaskOutboxEvent.Type type) {
+    try {
+      jdbcTemplate.update(INSERT_EVENT, eventParameters(taskId, type));
+    } catch (DataAccessException e) {
+      log.error("Error recording {} event for task {}", type, taskId, e);
+      throw e;
+    }
+  }
+
+  /** Records one event per task with a single batch, for writes that change many tasks at once. */
+  @Override
+  public void appendAll(Collection<String> taskIds, TaskOutboxEvent.Type type) {
+    if (taskIds.isEmpty()) {
+      return;
+    }
+
+    SqlParameterSource[] batch =
+        taskIds.stream()
+            .map(taskId -> eventParameters(taskId, type))
+            .toArray(SqlParameterSource[]::new);
+    try {
+      jdbcTemplate.batchUpdate(INSERT_EVENT, batch);
+    } catch (DataAccessException e) {
+      log.error("Error recording {} events for {} tasks", type, taskIds.size(), e);
+      throw e;
+    }
+  }
+
+  /**
+   * Locks the oldest events no other transaction has locked, in id order. The rows stay locked
+   * until the caller's transaction ends, so concurrent relays take disjoint batches.
+   *
+   * @param limit the most events to lock
+   * @return the locked events, oldest first
+   */
+  @Override
+  public List<TaskOutboxEvent> lockBatch(int limit) {
+    final String sql =
+        """
+            SELECT id, task_id, type, attempts, created_at
+            FROM task_outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    try {
+      return jdbcTemplate.query(
+          sql,
+          new MapSqlParameterSource("limit", limit),
+          (rs, rowNum) ->
+              TaskOutboxEvent.builder()
+                  .id(rs.getLong("id"))
+                  .taskId(rs.getString("task_id"))
+                  .type(TaskOutboxEvent.Type.valueOf(rs.getString("type")))
+                  .attempts(rs.getInt("attempts"))
+                  .createdAt(rs.getTimestamp("created_at").toInstant())
+                  .build());
+    } catch (DataAccessException e) {
+      log.error("Error locking a batch of outbox events", e);
+      throw e;
+    }
+  }
+
+  /**
+   * Finds, for each of {@code taskIds}, the oldest pending event other than {@code excludedIds}.
+   * This is a plain read, so it also sees events another relay has locked but not yet deleted.
+   *
+   * @param taskIds the tasks to look up
+   * @param excludedIds events to ignore, usually the caller's own batch
+   * @return the oldest other pending event id by task; tasks without one are left out
+   */
+  @Override
+  public Map<String, Long> firstPendingIds(
+      Collection<String> taskIds, Collection<Long> excludedIds) {
+    Map<String, Long> firstIds = new HashMap<>();
+    if (taskIds.isEmpty()) {
+      return firstIds;
+    }
+
+    final String sql =
+        """
+            SELECT task_id, MIN(id)
+            FROM task_outbox
+            WHERE task_id IN (:taskIds) AND id NOT IN (:excludedIds)
+            GROUP BY task_id
+            """;
+    MapSqlParameterSource parameters =
+        new MapSqlParameterSource("taskIds", taskIds)
+            .addValue("excludedIds", excludedIds.isEmpty() ? List.of(-1L) : excludedIds);
+
+    try {
+      jdbcTemplate.query(
+          sql, parameters, (RowCallbackHandler) rs -> firstIds.put(rs.getString(1), rs.getLong(2)));
+      return firstIds;
+    } catch (DataAccessException e) {
+      log.error("Error reading pending outbox events for {} tasks", taskIds.size(), e);
+      throw e;
+    }
+  }
+
+  @Override
+  public int delete(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    try {
+      return jdbcTemplate.update(
+          "DELETE FROM task_outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    } catch (DataAccessException e) {
+      log.error("Error deleting {} outbox events", ids.size(), e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void recordFailure(long id) {
+    try {
+      jdbcTemplate.update(
+          "UPDATE task_outbox SET attempts = attempts + 1 WHERE id = :id",
+          new MapSqlParameterSource("id", id));
+    } catch (DataAccessException e) {
+      log.error("Error recording a failed delivery of outbox event {}", id, e);
+      throw e;
+    }
+  }
+
+  private static MapSqlParameterSource eventParameters(String taskId, TaskOutboxEvent.Type type) {
+    return new MapSqlParameterSource("taskId", taskId).addValue("type", type.name());
+  }
+}
@@ -0,0 +1,181 @@
+package com.event.tasker.DAO.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.event.tasker.model.TaskField;
+
+/**
+ * Select list, joins and grouping for a set of requested {@link TaskField}s. Columns that were not
+ * asked for are left out of the statement, and so are the {@code users} join, the {@code
+ * task_tags} join and the {@code GROUP BY} when nothing needs them.
+ *
+ * <p>The table being projected must be aliased {@code t}.
+ */
+final class TaskProjection {
+
+  // Correlated on t.id, so only the task's own rows are read through the taskId index
+  private static final String ATTACHMENTS_COLUMN =
+      """
+        (SELECT COALESCE(
+                        JSON_ARRAYAGG(
+                                JSON_OBJECT(
+                                        'url', ta.url,
+                                        'fileName', ta.fileName,
+                                        'fileType', ta.fileType
+                                )
+                        ),
+                        JSON_ARRAY())
+         FROM task_attachments ta
+         WHERE ta.taskId = t.id AND ta.isDeleted = 0) AS attachments""";
+
+  private static final String DETAIL_TAGS_COLUMN =
+      "(SELECT GROUP_CONCAT(tt.tag) FROM task_tags tt"
+          + " WHERE tt.task_id = t.id AND tt.isDeleted = 0) AS tags";
+
+  private final Set<TaskField> fields;
+  private final String columns;
+  private final String joins;
+  private final String groupBy;
+
+  private TaskProjection(Set<TaskField> fields, String columns, String joins, String groupBy) {
+    this.fields = Collections.unmodifiableSet(fields);
+    this.columns = columns;
+    this.joins = joins;
+    this.groupBy = groupBy;
+  }
+
+  /**
+   * Projection for {@link com.event.tasker.model.Task} rows. {@code createdAt} is always selected
+   * because the list is ordered and paged on it.
+   */
+  static TaskProjection forList(Set<TaskField> requested) {
+    return forList(requested, true);
+  }
+
+  /**
+   * Projection for {@link com.event.tasker.model.Task} rows.
+   *
+   * @param requested the fields asked for
+   * @param aggregateTags whether tags are aggregated into the row with {@code GROUP_CONCAT}; when
+   *     false, {@code TAGS} is left out of the projection and the caller loads tags separately
+   */
+  static TaskProjection forList(Set<TaskField> requested, boolean aggregateTags) {
+    EnumSet<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.CREATED_AT);
+    List<String> columns = new ArrayList<>(List.of("t.id", "t.created_at AS createdAt"));
+    boolean users = false;
+    boolean tags = false;
+
+    for (TaskField field : requested) {
+      switch (field) {
+        case TITLE -> columns.add("t.title");
+        case DESCRIPTION -> columns.add("t.description");
+        case COMPLETED -> columns.add("t.completed");
+        case PRIORITY -> columns.add("t.priority");
+        case DUE_DATE -> columns.add("t.due_date AS dueDate");
+        case PARENT_ID -> columns.add("t.parent_id AS parentId");
+        case VERSION -> columns.add("t.version");
+        case ASSIGNED_TO -> {
+          columns.add("CONCAT(u.first_name, ' ', u.last_name) AS assignedTo");
+          users = true;
+        }
+        case PROFILE_PICTURE -> {
+          columns.add("u.profile_picture_url AS profilePicture");
+          users = true;
+        }
+        case TAGS -> {
+          if (!aggregateTags) {
+            continue;
+          }
+          columns.add("GROUP_CONCAT(tt.tag) AS tags");
+          tags = true;
+        }
+        default -> {
+          // id and createdAt are always selected; detail-only fields do not apply
+          continue;
+        }
+      }
+      fields.add(field);
+    }
+
+    StringBuilder joins = new StringBuilder();
+    if (tags) {
+      joins.append(" LEFT JOIN task_tags tt ON t.id = tt.task_id AND tt.isDeleted = 0");
+    }
+    if (users) {
+      joins.append(" LEFT JOIN users u ON u.user_id = t.assigned_to");
+    }
+
+    String groupBy = "";
+    if (tags) {
+      groupBy =
+          users
+              ? "GROUP BY t.id, u.first_name, u.last_name, u.profile_picture_url"
+              : "GROUP BY t.id";
+    }
+
+    return new TaskProjection(
+        fields, "SELECT " + String.join(", ", columns), joins.toString(), groupBy);
+  }
+
+  /**
+   * Projection for {@link com.event.tasker.model.TaskDetail} rows. Tags and attachments are
+   * aggregated in correlated subqueries, so each reads only the requested task's rows and the
+   * statement needs no {@code GROUP BY}. The row version is always selected, since it is the
+   * detail's {@code ETag}.
+   */
+  static TaskProjection forDetail(Set<TaskField> requested) {
+    EnumSet<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.VERSION);
+    List<String> columns = new ArrayList<>();
+    columns.add("t.id AS id");
+    columns.add("t.version AS version");
+    boolean users = false;
+
+    for (TaskField field : requested) {
+      switch (field) {
+        case TITLE -> columns.add("t.title AS title");
+        case DESCRIPTION -> columns.add("t.description AS description");
+        case COMPLETED -> columns.add("t.completed AS completed");
+        case PRIORITY -> columns.add("t.priority AS priority");
+        case ASSIGNED_TO -> columns.add("t.assigned_to AS assignedTo");
+        case DUE_DATE -> columns.add("t.due_date AS dueDate");
+        case PARENT_ID -> columns.add("t.parent_id AS parentId");
+        case ASSIGNED_TO_NAME -> {
+          columns.add("CONCAT(u.first_name, ' ', u.last_name) AS assignedToName");
+          users = true;
+        }
+        case TAGS -> columns.add(DETAIL_TAGS_COLUMN);
+        case ATTACHMENTS -> columns.add(ATTACHMENTS_COLUMN);
+        default -> {
+          // id and version are always selected; list-only fields do not apply
+          continue;
+        }
+      }
+      fields.add(field);
+    }
+
+    String joins = users ? " LEFT JOIN users u ON u.user_id = t.assigned_to" : "";
+
+    return new TaskProjection(fields, "SELECT " + String.join(", ", columns), joins, "");
+  }
+
+  /** The fields present in the result set, which is what the row mapper should read. */
+  Set<TaskField> fields() {
+    return fields;
+  }
+
+  String columns() {
+    return columns;
+  }
+
+  String joins() {
+    return joins;
+  }
+
+  String groupBy() {
+    return groupBy;
+  }
+}
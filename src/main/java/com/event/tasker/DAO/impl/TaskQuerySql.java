@@ -0,0 +1,82 @@
+package com.event.tasker.DAO.impl;
+
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import com.event.tasker.model.TaskQuery;
+
+/**
+ * Translates a {@link TaskQuery} into a WHERE clause over the {@code tasks} table. Only fixed
+ * column names are concatenated into the SQL; every value is bound as a named parameter.
+ *
+ * <p>The predicates line up with the indexes added in {@code V10}: {@code (assigned_to, isDeleted,
+ * due_date)} for assignee and due range, {@code (priority)}, and {@code task_tags(tag)} for the tag
+ * semi-join.
+ */
+final class TaskQuerySql {
+
+  private final StringBuilder where;
+  private final MapSqlParameterSource params;
+
+  private TaskQuerySql(StringBuilder where, MapSqlParameterSource params) {
+    this.where = where;
+    this.params = params;
+  }
+
+  /**
+   * Builds the predicates for {@code query} against the table aliased as {@code alias}.
+   *
+   * @param query the criteria, may be null for "no filters"
+   * @param alias the alias of the {@code tasks} table in the surrounding statement
+   * @param params the parameter source to bind values into
+   */
+  static TaskQuerySql of(TaskQuery query, String alias, MapSqlParameterSource params) {
+    StringBuilder where = new StringBuilder(alias).append(".isDeleted = 0");
+
+    if (query != null) {
+      if (query.getAssignedTo() != null) {
+        where.append(" AND ").append(alias).append(".assigned_to = :assignedTo");
+        params.addValue("assignedTo", query.getAssignedTo());
+      }
+      if (query.getPriority() != null) {
+        where.append(" AND ").append(alias).append(".priority = :priority");
+        params.addValue("priority", query.getPriority().getCode());
+      }
+      if (query.getCompleted() != null) {
+        where.append(" AND ").append(alias).append(".completed = :completed");
+        params.addValue("completed", query.getCompleted());
+      }
+      if (query.getDueFrom() != null) {
+        where.append(" AND ").append(alias).append(".due_date >= :dueFrom");
+        params.addValue("dueFrom", Timestamp.from(query.getDueFrom()));
+      }
+      if (query.getDueTo() != null) {
+        where.append(" AND ").append(alias).append(".due_date < :dueTo");
+        params.addValue("dueTo", Timestamp.from(query.getDueTo()));
+      }
+      if (query.getTag() != null) {
+        where
+            .append(" AND EXISTS (SELECT 1 FROM task_tags ft WHERE ft.task_id = ")
+            .append(alias)
+            .append(".id AND ft.tag = :tag AND ft.isDeleted = 0)");
+        params.addValue("tag", query.getTag());
+      }
+    }
+
+    return new TaskQuerySql(where, params);
+  }
+
+  TaskQuerySql and(String predicate) {
+    where.append(" AND ").append(predicate);
+    return this;
+  }
+
+  String where() {
+    return where.toString();
+  }
+
+  MapSqlParameterSource params() {
+    return params;
+  }
+}
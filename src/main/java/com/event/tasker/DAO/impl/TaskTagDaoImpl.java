@@ -1,7 +1,10 @@
 package com.event.tasker.DAO.impl;
 
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.dao.DataAccessException;
@@ -11,7 +14,11 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.stereotype.Repository;
 
+import com.event.tasker.DAO.TaskDao;
+import com.event.tasker.DAO.TaskOutboxDao;
 import com.event.tasker.DAO.TaskTagDao;
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.model.TaskOutboxEvent;
 import com.event.tasker.model.TaskTag;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
@@ -27,6 +34,9 @@ public class TaskTagDaoImpl implements TaskTagDao {
 
   private final NamedParameterJdbcTemplate jdbcTemplate;
   private final Gson gson;
+  private final TaskVersionStamps versionStamps;
+  private final TaskOutboxDao outboxDao;
+  private final TaskDao taskDao;
 
   @Override
   public int createTaskTags(ArrayList<TaskTag> tags) {
@@ -37,15 +47,23 @@ public class TaskTagDaoImpl implements TaskTagDao {
 
     String sql = """
 				INSERT INTO task_tags (task_id, tag)
-				VALUES (:taskId, :name);
+				VALUES (:taskId, :name)
 				""";
 
     SqlParameterSource[] batchParams = SqlParameterSourceUtils.createBatch(tags.toArray());
 
     try {
+      List<String> taskIds = tags.stream().map(TaskTag::getTaskId).distinct().toList();
+      taskDao.lockTasks(taskIds);
       int[] result = jdbcTemplate.batchUpdate(sql, batchParams);
 
-      return Arrays.stream(result).sum();
+      // A rewritten batch reports SUCCESS_NO_INFO instead of a row count for each tag
+      int created =
+          Arrays.stream(result).map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count).sum();
+      if (created > 0) {
+        tagsChanged(taskIds);
+      }
+      return created;
     } catch (DataAccessException e) {
       log.error("Error creating task tags", e);
       throw e;
@@ -74,13 +92,84 @@ public class TaskTagDaoImpl implements TaskTagDao {
       params.addValue("taskId", taskId);
       params.addValue("tags", tags.stream().map(TaskTag::getName).collect(Collectors.toList()));
 
-      return jdbcTemplate.update(sql, params);
+      taskDao.lockTasks(List.of(taskId));
+      int deleted = jdbcTemplate.update(sql, params);
+      if (deleted > 0) {
+        tagsChanged(List.of(taskId));
+      }
+      return deleted;
     } catch (DataAccessException e) {
       log.error("Error deleting task tags", e);
       throw e;
     }
   }
 
+  /**
+   * Applies a tag diff to {@code taskId} with at most two statements: one soft delete for {@code
+   * removed}, then one batch for {@code added} that revives soft-deleted rows instead of colliding
+   * with their primary key. The delete runs first because MySQL compares tags case-insensitively:
+   * a tag re-added with different case matches the row being removed and must stay live.
+   *
+   * @param taskId the task whose tags change
+   * @param added tags to add or revive
+   * @param removed tags to soft-delete
+   * @return the number of tags added plus the number of live tags removed
+   */
+  @Override
+  public int updateTaskTags(String taskId, Set<String> added, Set<String> removed) {
+    if (added.isEmpty() && removed.isEmpty()) {
+      return 0;
+    }
+
+    String deleteSql =
+        """
+            UPDATE task_tags
+            SET isDeleted = 1
+            WHERE task_id = :taskId
+              AND isDeleted = 0
+              AND tag IN (:tags)
+          """;
+
+    String upsertSql =
+        """
+            INSERT INTO task_tags (task_id, tag)
+            VALUES (:taskId, :tag)
+            ON DUPLICATE KEY UPDATE isDeleted = 0
+          """;
+
+    try {
+      taskDao.lockTasks(List.of(taskId));
+      int changed = 0;
+      if (!removed.isEmpty()) {
+        changed +=
+            jdbcTemplate.update(
+                deleteSql,
+                new MapSqlParameterSource().addValue("taskId", taskId).addValue("tags", removed));
+      }
+      if (!added.isEmpty()) {
+        SqlParameterSource[] batch =
+            added.stream()
+                .map(
+                    tag ->
+                        new MapSqlParameterSource().addValue("taskId", taskId).addValue("tag", tag))
+                .toArray(SqlParameterSource[]::new);
+        // An upsert that changed nothing reports 0; a rewritten batch reports SUCCESS_NO_INFO
+        changed +=
+            (int) Arrays.stream(jdbcTemplate.batchUpdate(upsertSql, batch))
+                .filter(count -> count != 0)
+                .count();
+      }
+
+      if (changed > 0) {
+        tagsChanged(List.of(taskId));
+      }
+      return changed;
+    } catch (DataAccessException e) {
+      log.error("Error updating tags of task {}", taskId, e);
+      throw e;
+    }
+  }
+
   @Override
   public ArrayList<String> getTaskTagsBy(String uuid) {
     String sql =
@@ -113,4 +202,11 @@ public class TaskTagDaoImpl implements TaskTagDao {
       throw e;
     }
   }
+
+  // Only for writes that changed a row, while the task rows are locked
+  private void tagsChanged(List<String> taskIds) {
+    taskDao.bumpVersions(taskIds);
+    taskIds.forEach(versionStamps::taskChanged);
+    outboxDao.appendAll(taskIds, TaskOutboxEvent.Type.TAGS_CHANGED);
+  }
 }
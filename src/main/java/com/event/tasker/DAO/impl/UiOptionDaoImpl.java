@@ -1,6 +1,8 @@
 package com.event.tasker.DAO.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -50,4 +52,42 @@ public class UiOptionDaoImpl implements UIOptionDao {
       throw new RuntimeException("Error retrieving priority labels");
     }
   }
+
+  /**
+   * Reads the priority labels of every team at once, in the order {@link #getPriorityLabels}
+   * returns them. Labels without a team are skipped, as no team lookup can match them.
+   *
+   * @return each team's labels, by team id
+   */
+  @Override
+  public Map<String, ArrayList<UiOption>> getAllPriorityLabels() {
+    String sql =
+        """
+            SELECT teamId, label, value
+            FROM priority
+            WHERE teamId IS NOT NULL
+            ORDER BY teamId, id
+          """;
+
+    try {
+      return jdbcTemplate.query(
+          sql,
+          rs -> {
+            Map<String, ArrayList<UiOption>> labels = new LinkedHashMap<>();
+            while (rs.next()) {
+              labels
+                  .computeIfAbsent(rs.getString("teamId"), teamId -> new ArrayList<>())
+                  .add(
+                      UiOption.builder()
+                          .label(rs.getString("label"))
+                          .value(rs.getString("value"))
+                          .build());
+            }
+            return labels;
+          });
+    } catch (DataAccessException e) {
+      log.error("Error retrieving all priority labels", e);
+      throw e;
+    }
+  }
 }
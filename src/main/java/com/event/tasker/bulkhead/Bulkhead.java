@@ -0,0 +1,57 @@
+package com.event.tasker.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method behind the {@link Bulkheads} partition for its endpoint class. Handlers
+ * without it, such as the in-memory lookups, are never queued or rejected.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+  Type value();
+
+  /**
+   * Whether the handler answers {@code If-None-Match} with one primary-key read before it reads any
+   * data. Such requests are admitted by the small {@link Type#REVALIDATE} partition and only take a
+   * permit of {@link #value}, through {@link BulkheadInterceptor#admitDeferred}, once the ETag no
+   * longer matches, so polling clients revalidating cheaply are not queued or rejected behind full
+   * reads.
+   */
+  boolean revalidates() default false;
+
+  enum Type {
+    /** Paged, filtered, searched and streamed task lists, and task trees. */
+    LIST(2),
+    /** Single and batched task details. */
+    DETAIL(3),
+    /** Creates, updates and deletes without file uploads. */
+    WRITE(2),
+    /** Writes that store files; multipart requests without files count as {@link #WRITE}. */
+    UPLOAD(1),
+    /** ETag checks of conditional requests to {@link Bulkhead#revalidates()} handlers. */
+    REVALIDATE(1);
+
+    private final int defaultLimit;
+
+    Type(int defaultLimit) {
+      this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * Concurrency limit when none is configured. Together they take 9 of Hikari's default pool of
+     * 10, leaving a connection for scheduled jobs.
+     */
+    int defaultLimit() {
+      return defaultLimit;
+    }
+
+    String tag() {
+      return name().toLowerCase();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.event.tasker.bulkhead;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admits requests to handlers annotated with {@link Bulkhead} before they run, and holds the
+ * permit until the request completes. For asynchronous responses such as {@code /task/list/stream}
+ * that is after the body has been written, since the body is what reads the database.
+ *
+ * <p>A rejected request never reaches the handler; its {@code BulkheadFullException} is answered
+ * with 503 by the exception handler.
+ *
+ * <p>Conditional requests to handlers marked {@link Bulkhead#revalidates()} reach the handler with
+ * a permit of the {@link Bulkhead.Type#REVALIDATE} partition only. A 304 never takes another;
+ * otherwise the handler calls {@link #admitDeferred} after its ETag check, which swaps it for a
+ * permit of the handler's own partition, queued or rejected there before it reads any data.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+  static final String ADMITTED = BulkheadInterceptor.class.getName() + ".ADMITTED";
+  static final String DEFERRED = BulkheadInterceptor.class.getName() + ".DEFERRED";
+
+  private final Bulkheads bulkheads;
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // Async dispatches of an admitted request already hold its permit
+    if (!(handler instanceof HandlerMethod method) || request.getAttribute(ADMITTED) != null) {
+      return true;
+    }
+
+    Bulkhead bulkhead = method.getMethodAnnotation(Bulkhead.class);
+    if (bulkhead == null) {
+      return true;
+    }
+
+    Bulkhead.Type type = bulkhead.value();
+    if (type == Bulkhead.Type.UPLOAD && !hasFiles(request)) {
+      type = Bulkhead.Type.WRITE;
+    }
+    if (bulkhead.revalidates() && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      bulkheads.acquire(Bulkhead.Type.REVALIDATE);
+      request.setAttribute(ADMITTED, Bulkhead.Type.REVALIDATE);
+      Bulkhead.Type deferredType = type;
+      Runnable admit =
+          () -> {
+            // The ETag check has returned its connection; do not hold its permit while queued
+            request.removeAttribute(ADMITTED);
+            bulkheads.release(Bulkhead.Type.REVALIDATE);
+            bulkheads.acquire(deferredType);
+            request.setAttribute(ADMITTED, deferredType);
+          };
+      request.setAttribute(DEFERRED, admit);
+    } else {
+      bulkheads.acquire(type);
+      request.setAttribute(ADMITTED, type);
+    }
+    return true;
+  }
+
+  /**
+   * Takes the permit deferred for a conditional request to a {@link Bulkhead#revalidates()}
+   * handler, once its ETag did not match, in place of its revalidation permit. Does nothing for
+   * requests already admitted.
+   *
+   * @throws com.event.tasker.exception.BulkheadFullException if the partition is full
+   */
+  public static void admitDeferred(WebRequest request) {
+    if (request.getAttribute(DEFERRED, RequestAttributes.SCOPE_REQUEST) instanceof Runnable admit) {
+      request.removeAttribute(DEFERRED, RequestAttributes.SCOPE_REQUEST);
+      admit.run();
+    }
+  }
+
+  // Not called after a handler that started async processing; the async dispatch that completes
+  // the request is.
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(ADMITTED) instanceof Bulkhead.Type type) {
+      request.removeAttribute(ADMITTED);
+      bulkheads.release(type);
+    }
+  }
+
+  private static boolean hasFiles(HttpServletRequest request) {
+    MultipartHttpServletRequest multipart =
+        WebUtils.getNativeRequest(request, MultipartHttpServletRequest.class);
+    return multipart != null
+        && multipart.getMultiFileMap().values().stream()
+            .flatMap(List::stream)
+            .anyMatch(file -> !file.isEmpty());
+  }
+}
@@ -0,0 +1,178 @@
+package com.event.tasker.bulkhead;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.event.tasker.exception.BulkheadFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One bounded partition per {@link Bulkhead.Type}, so a slow database stalls only the requests
+ * that need it, and only up to a limit. Without them every request waits up to Hikari's {@code
+ * connectionTimeout} for a connection, and once all request threads are waiting even endpoints
+ * that never touch the database stop answering.
+ *
+ * <p>Each partition admits {@code tasker.bulkhead.<type>.max-concurrent} requests at a time. Up to
+ * {@code max-queued} more wait at most {@code max-wait} for a permit; anything beyond that, or
+ * still waiting after {@code max-wait}, is rejected at once with {@link BulkheadFullException} and
+ * {@code tasker.bulkhead.retry-after} as the client's back-off. The {@code max-concurrent} limits
+ * must add up to at most {@code spring.datasource.hikari.maximum-pool-size}, or startup fails: a
+ * bulkhead admitting more requests than there are connections leaves them waiting on the pool.
+ *
+ * <p>Metrics, tagged {@code bulkhead=list|detail|write|upload|revalidate}: {@code
+ * tasker.bulkhead.admitted}, {@code tasker.bulkhead.rejected} by {@code
+ * reason=queue-full|timeout}, {@code tasker.bulkhead.queue.time} for the time spent waiting for a
+ * permit (zero when admitted at once), and the {@code tasker.bulkhead.active} and {@code
+ * tasker.bulkhead.queued} gauges.
+ */
+@Component
+@Slf4j
+public class Bulkheads {
+
+  private static final String PREFIX = "tasker.bulkhead.";
+  private static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+  // Hikari's own default
+  private static final int DEFAULT_POOL_SIZE = 10;
+
+  private final Map<Bulkhead.Type, Partition> partitions = new EnumMap<>(Bulkhead.Type.class);
+  private final Duration retryAfter;
+
+  public Bulkheads(Environment environment, MeterRegistry meterRegistry) {
+    this.retryAfter = duration(environment, PREFIX + "retry-after", "1s");
+    for (Bulkhead.Type type : Bulkhead.Type.values()) {
+      partitions.put(type, new Partition(type, environment, meterRegistry));
+    }
+
+    int poolSize = environment.getProperty(POOL_SIZE, Integer.class, DEFAULT_POOL_SIZE);
+    int admitted = partitions.values().stream().mapToInt(p -> p.maxConcurrent).sum();
+    if (admitted > poolSize) {
+      throw new IllegalStateException(
+          "tasker.bulkhead.*.max-concurrent add up to "
+              + admitted
+              + ", more than the "
+              + poolSize
+              + " connections of "
+              + POOL_SIZE);
+    }
+  }
+
+  /**
+   * Takes a permit of {@code type}'s partition, waiting at most its {@code max-wait}. Every
+   * successful call must be paired with {@link #release}.
+   *
+   * @throws BulkheadFullException if the partition and its queue are full, or the wait timed out
+   */
+  public void acquire(Bulkhead.Type type) {
+    partitions.get(type).acquire();
+  }
+
+  public void release(Bulkhead.Type type) {
+    partitions.get(type).permits.release();
+  }
+
+  private final class Partition {
+    private final Bulkhead.Type type;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter admitted;
+    private final Counter queueFull;
+    private final Counter timedOut;
+    private final Timer queueTime;
+
+    Partition(Bulkhead.Type type, Environment environment, MeterRegistry meterRegistry) {
+      String prefix = PREFIX + type.tag() + ".";
+      this.type = type;
+      this.maxConcurrent =
+          environment.getProperty(prefix + "max-concurrent", Integer.class, type.defaultLimit());
+      this.maxQueued =
+          environment.getProperty(prefix + "max-queued", Integer.class, 2 * maxConcurrent);
+      this.maxWaitNanos = duration(environment, prefix + "max-wait", "500ms").toNanos();
+      // Fair, so queued requests are admitted in arrival order
+      this.permits = new Semaphore(maxConcurrent, true);
+
+      String tag = type.tag();
+      this.admitted =
+          Counter.builder("tasker.bulkhead.admitted").tag("bulkhead", tag).register(meterRegistry);
+      this.queueFull =
+          Counter.builder("tasker.bulkhead.rejected")
+              .tag("bulkhead", tag)
+              .tag("reason", "queue-full")
+              .register(meterRegistry);
+      this.timedOut =
+          Counter.builder("tasker.bulkhead.rejected")
+              .tag("bulkhead", tag)
+              .tag("reason", "timeout")
+              .register(meterRegistry);
+      this.queueTime =
+          Timer.builder("tasker.bulkhead.queue.time")
+              .tag("bulkhead", tag)
+              .publishPercentiles(0.5, 0.99)
+              .register(meterRegistry);
+      Gauge.builder("tasker.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+          .tag("bulkhead", tag)
+          .register(meterRegistry);
+      Gauge.builder("tasker.bulkhead.queued", queued, AtomicInteger::get)
+          .tag("bulkhead", tag)
+          .register(meterRegistry);
+    }
+
+    void acquire() {
+      if (permits.tryAcquire()) {
+        queueTime.record(0, TimeUnit.NANOSECONDS);
+        admitted.increment();
+        return;
+      }
+
+      if (queued.incrementAndGet() > maxQueued) {
+        queued.decrementAndGet();
+        queueFull.increment();
+        throw rejected("is full");
+      }
+
+      long start = System.nanoTime();
+      boolean acquired = false;
+      try {
+        acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        queued.decrementAndGet();
+        queueTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+
+      if (!acquired) {
+        timedOut.increment();
+        throw rejected("timed out");
+      }
+      admitted.increment();
+    }
+
+    private BulkheadFullException rejected(String reason) {
+      // Counted in the metrics; logging each one would flood the log exactly when it matters
+      log.debug("Rejected {} request: bulkhead {}", type.tag(), reason);
+      return new BulkheadFullException(
+          "Too many " + type.tag() + " requests. Please retry later.", retryAfter);
+    }
+  }
+
+  private static Duration duration(Environment environment, String key, String defaultValue) {
+    return DurationStyle.detectAndParse(environment.getProperty(key, defaultValue));
+  }
+}
@@ -0,0 +1,123 @@
+package com.event.tasker.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.event.tasker.DAO.impl.UiOptionDaoImpl;
+import com.event.tasker.model.UiOption;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Every team's priority labels, held in memory. The {@code priority} table is a handful of rows
+ * per team that the application never writes, so the whole table is read when the scheduler
+ * starts and again every {@code tasker.priority-labels.refresh-interval}, and lookups never touch
+ * the database.
+ *
+ * <p>Each refresh replaces the map in one step. If a refresh fails, the previous labels stay in
+ * use; only when no refresh has succeeded yet does a lookup load the table itself. After such a
+ * load fails, lookups fail fast for {@code tasker.priority-labels.retry-backoff} instead of each
+ * sending another query to a database that is down; the scheduled refresh keeps retrying.
+ *
+ * <p>Returned options are shared with the registry and must not be modified.
+ */
+@Component
+@Slf4j
+public class PriorityLabelRegistry {
+
+  private final UiOptionDaoImpl uiOptionDao;
+  private final long retryBackoffMillis;
+  private final Clock clock;
+
+  // Serializes loads without a monitor, which would pin a virtual thread for the query
+  private final ReentrantLock loadLock = new ReentrantLock();
+
+  private volatile Map<String, List<UiOption>> labels;
+
+  // The last failed load and when it happened; cleared by a successful load
+  private volatile DataAccessException lastFailure;
+  private volatile long lastFailureMillis;
+
+  @Autowired
+  public PriorityLabelRegistry(
+      UiOptionDaoImpl uiOptionDao,
+      @Value("${tasker.priority-labels.retry-backoff:PT30S}") Duration retryBackoff) {
+    this(uiOptionDao, retryBackoff, Clock.systemUTC());
+  }
+
+  PriorityLabelRegistry(UiOptionDaoImpl uiOptionDao, Duration retryBackoff, Clock clock) {
+    this.uiOptionDao = uiOptionDao;
+    this.retryBackoffMillis = retryBackoff.toMillis();
+    this.clock = clock;
+  }
+
+  /** Returns the labels of {@code teamId}, or an empty list for an unknown team. */
+  public ArrayList<UiOption> getPriorityLabels(String teamId) {
+    Map<String, List<UiOption>> current = labels;
+    if (current == null) {
+      current = loadForLookup();
+    }
+    return new ArrayList<>(current.getOrDefault(teamId, List.of()));
+  }
+
+  /** Re-reads the table, keeping the previous labels if that fails. */
+  @Scheduled(fixedDelayString = "${tasker.priority-labels.refresh-interval:PT5M}")
+  public void refresh() {
+    try {
+      load();
+    } catch (DataAccessException e) {
+      log.warn("Could not refresh priority labels, keeping the previous ones", e);
+    }
+  }
+
+  /** Loads the table for a lookup, unless another lookup just did or a load failed recently. */
+  private Map<String, List<UiOption>> loadForLookup() {
+    loadLock.lock();
+    try {
+      Map<String, List<UiOption>> current = labels;
+      if (current != null) {
+        return current;
+      }
+      DataAccessException failure = lastFailure;
+      if (failure != null && clock.millis() - lastFailureMillis < retryBackoffMillis) {
+        throw new DataAccessResourceFailureException("Priority labels are not loaded yet", failure);
+      }
+      return load();
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  private Map<String, List<UiOption>> load() {
+    loadLock.lock();
+    try {
+      Map<String, List<UiOption>> loaded =
+          uiOptionDao.getAllPriorityLabels().entrySet().stream()
+              .collect(
+                  Collectors.toUnmodifiableMap(
+                      Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+      labels = loaded;
+      lastFailure = null;
+      log.debug("Loaded priority labels for {} teams", loaded.size());
+      return loaded;
+    } catch (DataAccessException e) {
+      lastFailureMillis = clock.millis();
+      lastFailure = e;
+      throw e;
+    } finally {
+      loadLock.unlock();
+    }
+  }
+}
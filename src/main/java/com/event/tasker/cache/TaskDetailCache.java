@@ -0,0 +1,130 @@
+package com.event.tasker.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.datasource.DataSourceRouting;
+import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskField;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Full task details by task id, in front of {@link TaskDaoImpl#getTaskDetail}. Projected reads are
+ * not cached; only details with {@link TaskField#ALL} are.
+ *
+ * <p>The cache is bounded by {@code tasker.task-detail.cache.maximum-size} entries, evicted by
+ * Caffeine's W-TinyLFU policy, and by {@code tasker.task-detail.cache.expire-after-write}.
+ * Concurrent misses for the same task wait for one load instead of each querying. Loads run on
+ * the thread that missed, outside the cache's locks, so a virtual thread never pins on a query.
+ *
+ * <p>Entries are dropped through {@link TaskVersionStamps}, which every DAO write path already
+ * reports to, once the write's transaction has completed. Dropping before the commit would let a
+ * concurrent miss cache the pre-commit row again; dropping after it also discards a load that was
+ * still running against the old row. Missing tasks are not cached.
+ *
+ * <p>Returned details are shared with the cache and must not be modified.
+ *
+ * <p>Metrics: Micrometer's Caffeine binder, tagged {@code cache=taskDetails}: {@code cache.gets}
+ * by {@code result=hit|miss}, {@code cache.evictions}, {@code cache.size} and load statistics.
+ */
+@Component
+@Slf4j
+public class TaskDetailCache implements TaskVersionStamps.Listener {
+
+  private final TaskDaoImpl taskDao;
+  private final AsyncCache<String, TaskDetail> cache;
+
+  public TaskDetailCache(
+      TaskDaoImpl taskDao,
+      TaskVersionStamps versionStamps,
+      MeterRegistry meterRegistry,
+      @Value("${tasker.task-detail.cache.maximum-size:10000}") long maximumSize,
+      @Value("${tasker.task-detail.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+    this.taskDao = taskDao;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "taskDetails");
+    versionStamps.addListener(this);
+  }
+
+  /** Returns the full detail of {@code taskId}, loading it on a miss. */
+  public Optional<TaskDetail> get(String taskId) {
+    return Optional.ofNullable(getAll(List.of(taskId)).get(taskId));
+  }
+
+  /** Returns the cached full detail of {@code taskId}, without loading it on a miss. */
+  public Optional<TaskDetail> getIfPresent(String taskId) {
+    return Optional.ofNullable(cache.synchronous().getIfPresent(taskId));
+  }
+
+  /**
+   * Returns the full details of the tasks that exist among {@code taskIds}, by id. The misses are
+   * loaded together: one statement for a single task, the DAO's batched read for several.
+   */
+  public Map<String, TaskDetail> getAll(Collection<String> taskIds) {
+    try {
+      return cache.getAll(taskIds, (missing, executor) -> load(missing)).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  // Caffeine calls the bulk loader on the caller's thread, after claiming the misses with
+  // putIfAbsent and outside any lock of its map, so a virtual thread never pins on the query.
+  // get(key, loader) would run it inside ConcurrentHashMap.compute instead. Going through the
+  // loader keeps Caffeine's load statistics; tasks missing from the result are not cached.
+  private CompletableFuture<Map<String, TaskDetail>> load(Set<? extends String> taskIds) {
+    try {
+      // From the primary: a lagging replica's row would stay cached after the lag is gone
+      return CompletableFuture.completedFuture(
+          DataSourceRouting.onPrimary(() -> query(List.copyOf(taskIds))));
+    } catch (RuntimeException e) {
+      // Caffeine drops entries whose future fails; waiters on other threads see the same error
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private Map<String, TaskDetail> query(Collection<String> taskIds) {
+    if (taskIds.size() == 1) {
+      String taskId = taskIds.iterator().next();
+      return taskDao
+          .getTaskDetail(taskId, TaskField.ALL)
+          .map(detail -> Map.of(taskId, detail))
+          .orElseGet(Map::of);
+    }
+    return taskDao.getTaskDetails(taskIds, TaskField.ALL);
+  }
+
+  @Override
+  public void taskChanged(String taskId) {
+    cache.synchronous().invalidate(taskId);
+  }
+
+  @Override
+  public void unknownTaskChanged() {
+    log.debug("Dropping all cached task details");
+    cache.synchronous().invalidateAll();
+  }
+}
@@ -0,0 +1,185 @@
+package com.event.tasker.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.event.tasker.DAO.TaskListVersionDao;
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.datasource.DataSourceRouting;
+import com.event.tasker.event.TaskChangedEvent;
+import com.event.tasker.event.TasksImportedEvent;
+import com.event.tasker.model.Task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the full task list. The list is loaded from the database on the first read
+ * and after that only patched one task at a time from {@link TaskChangedEvent}s, so the list query
+ * is not run again while the snapshot is valid.
+ *
+ * <p>The snapshot records the stored list version it reflects, and every read compares it with the
+ * current version first. Writes this instance did not see, such as those on other instances, make
+ * the versions differ and the read loads the list again. A delta only moves the snapshot to the
+ * new version when its write is the only one since; otherwise it drops the snapshot.
+ *
+ * <p>The snapshot is an unmodifiable map that is replaced, never changed, so readers take the
+ * current reference without locking. Writers copy the map, apply their change and swap the
+ * reference under a lock that readers never touch.
+ *
+ * <p>Metrics: {@code tasker.task.list.snapshot} counts reads tagged {@code result=hit|miss}, and
+ * {@code tasker.task.list.snapshot.rebuilds}, {@code .deltas} and {@code .size} track loads,
+ * applied changes and the number of cached tasks.
+ */
+@Component
+@Slf4j
+public class TaskListSnapshot {
+
+  private final TaskDaoImpl taskDao;
+  private final TaskListVersionDao listVersionDao;
+
+  private final AtomicReference<Snapshot> current = new AtomicReference<>();
+  private final AtomicLong writes = new AtomicLong();
+  // Not a monitor: onTaskChanged reads the task back while holding it, and a virtual thread
+  // blocked on JDBC inside synchronized would pin its carrier.
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter rebuilds;
+  private final Counter deltas;
+
+  public TaskListSnapshot(
+      TaskDaoImpl taskDao, TaskListVersionDao listVersionDao, MeterRegistry meterRegistry) {
+    this.taskDao = taskDao;
+    this.listVersionDao = listVersionDao;
+    this.hits =
+        Counter.builder("tasker.task.list.snapshot").tag("result", "hit").register(meterRegistry);
+    this.misses =
+        Counter.builder("tasker.task.list.snapshot").tag("result", "miss").register(meterRegistry);
+    this.rebuilds = meterRegistry.counter("tasker.task.list.snapshot.rebuilds");
+    this.deltas = meterRegistry.counter("tasker.task.list.snapshot.deltas");
+    Gauge.builder("tasker.task.list.snapshot.size", current, ref -> size(ref.get()))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns every task that is not deleted. The list is a fresh copy the caller may change, but the
+   * tasks in it are shared with the snapshot and must not be modified.
+   */
+  public ArrayList<Task> getTasks() {
+    long version = currentVersion();
+    Snapshot snapshot = current.get();
+    if (snapshot != null && snapshot.version() == version) {
+      hits.increment();
+      return new ArrayList<>(snapshot.tasks().values());
+    }
+
+    misses.increment();
+    return new ArrayList<>(rebuild(version).values());
+  }
+
+  /**
+   * Patches the snapshot for a single task once the change is committed. Created and updated tasks
+   * are read back by id; deleted tasks are dropped.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTaskChanged(TaskChangedEvent event) {
+    writeLock.lock();
+    try {
+      writes.incrementAndGet();
+      Snapshot snapshot = current.get();
+      if (snapshot == null) {
+        // Nothing cached yet; the next read loads the current state.
+        return;
+      }
+
+      try {
+        // Read before the task, so a write racing the read-back leaves the version behind
+        long version = currentVersion();
+        if (version != snapshot.version() + 1) {
+          // Other writes committed too, or this one touched tags or attachments as well
+          current.set(null);
+          return;
+        }
+        Optional<Task> task =
+            event.getType() == TaskChangedEvent.Type.DELETED
+                ? Optional.empty()
+                : DataSourceRouting.onPrimary(() -> taskDao.getTask(event.getTaskId()));
+
+        Map<String, Task> next = new LinkedHashMap<>(snapshot.tasks());
+        task.ifPresentOrElse(
+            changed -> next.put(changed.getId(), changed), () -> next.remove(event.getTaskId()));
+        current.set(new Snapshot(version, Collections.unmodifiableMap(next)));
+        deltas.increment();
+      } catch (RuntimeException e) {
+        log.warn("Dropping the task list snapshot, could not apply {}", event, e);
+        current.set(null);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** Drops the snapshot after a bulk import; the next read loads the list with one query. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTasksImported(TasksImportedEvent event) {
+    writeLock.lock();
+    try {
+      writes.incrementAndGet();
+      current.set(null);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Loads the list as of {@code version}, which the caller read first: writes committed after it
+   * may already show in the list, and the next read's version check reloads it.
+   */
+  private Map<String, Task> rebuild(long version) {
+    long seen = writes.get();
+    Map<String, Task> loaded = new LinkedHashMap<>();
+    // From the primary: a lagging replica's list would stay cached after the lag is gone
+    for (Task task : DataSourceRouting.onPrimary(taskDao::getTasks)) {
+      loaded.put(task.getId(), task);
+    }
+    Map<String, Task> tasks = Collections.unmodifiableMap(loaded);
+
+    writeLock.lock();
+    try {
+      // A change applied while the list was loading may be missing from it. Serve the result but
+      // do not cache it; the next read loads again.
+      if (writes.get() == seen) {
+        current.set(new Snapshot(version, tasks));
+        rebuilds.increment();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+    return tasks;
+  }
+
+  // From the primary, like the list, so the version and the tasks stored with it agree
+  private long currentVersion() {
+    return DataSourceRouting.onPrimary(() -> listVersionDao.getVersion());
+  }
+
+  private static int size(Snapshot snapshot) {
+    return snapshot == null ? 0 : snapshot.tasks().size();
+  }
+
+  /** The cached tasks and the list version they reflect. */
+  private record Snapshot(long version, Map<String, Task> tasks) {}
+}
@@ -0,0 +1,87 @@
+package com.event.tasker.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tells this instance's derived task state, such as caches, about task writes once their
+ * transaction completes. Every write path in the task DAOs reports the task it touched.
+ *
+ * <p>ETags are not derived from these notifications: they only see this instance's writes. Task
+ * ETags are the stored row {@code version} and list ETags are computed from the stored versions of
+ * the matching tasks, so every instance agrees on them and they survive restarts.
+ *
+ * <p>Metrics: {@code tasker.task.etag} counts requests that carried {@code If-None-Match}, tagged
+ * {@code result=hit} when they were answered with 304 and {@code result=miss} otherwise.
+ */
+@Component
+public class TaskVersionStamps {
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  private final Counter hits;
+  private final Counter misses;
+
+  public TaskVersionStamps(MeterRegistry meterRegistry) {
+    this.hits = Counter.builder("tasker.task.etag").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("tasker.task.etag").tag("result", "miss").register(meterRegistry);
+  }
+
+  /** Records a write to {@code taskId}, effective when the current transaction completes. */
+  public void taskChanged(String taskId) {
+    afterCompletion(() -> listeners.forEach(listener -> listener.taskChanged(taskId)));
+  }
+
+  /**
+   * Records a write whose task is not known to the caller, such as deleting attachments by their
+   * own id. Listeners must assume any task changed.
+   */
+  public void unknownTaskChanged() {
+    afterCompletion(() -> listeners.forEach(Listener::unknownTaskChanged));
+  }
+
+  /**
+   * Registers {@code listener} to be told about every recorded write once its transaction has
+   * completed.
+   */
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  /** Counts a conditional request and whether it was answered with 304. */
+  public void recordRevalidation(boolean notModified) {
+    (notModified ? hits : misses).increment();
+  }
+
+  // Runs on rollback too: an extra notification only costs one cache miss.
+  private static void afterCompletion(Runnable notification) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      notification.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            notification.run();
+          }
+        });
+  }
+
+  /** Derived task state, such as a cache, that must follow the writes recorded here. */
+  public interface Listener {
+    /** {@code taskId}, its tags or its attachments were written. */
+    void taskChanged(String taskId);
+
+    /** A task was written whose id the writer did not know. */
+    void unknownTaskChanged();
+  }
+}
@@ -0,0 +1,74 @@
+package com.event.tasker.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskerResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes projected task JSON. Responses to requests with a {@code fields} parameter leave out the
+ * task fields that were not loaded, which are null, instead of sending them as nulls. Every other
+ * response keeps its null fields, so a full task always carries the same properties.
+ */
+@ControllerAdvice
+public class ProjectedJson implements ResponseBodyAdvice<Object> {
+
+  private static final String FIELDS_PARAM = "fields";
+
+  private final ObjectMapper projectedMapper;
+
+  public ProjectedJson(ObjectMapper objectMapper) {
+    this.projectedMapper =
+        objectMapper
+            .copy()
+            .addMixIn(Task.class, OmitNulls.class)
+            .addMixIn(TaskDetail.class, OmitNulls.class);
+  }
+
+  /** Returns a writer for {@code type} that leaves out null task fields. */
+  public ObjectWriter writerFor(Class<?> type) {
+    return projectedMapper.writerFor(type);
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (body instanceof TaskerResponse<?>
+        && request instanceof ServletServerHttpRequest servletRequest
+        && isProjected(servletRequest.getServletRequest().getParameter(FIELDS_PARAM))) {
+      return projectedMapper.valueToTree(body);
+    }
+    return body;
+  }
+
+  /** Whether a {@code fields} value selects a projection rather than every field. */
+  public static boolean isProjected(String fields) {
+    return fields != null && !fields.isBlank();
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private abstract static class OmitNulls {}
+}
@@ -0,0 +1,93 @@
+package com.event.tasker.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.datasource.ReadYourWrites;
+import com.event.tasker.datasource.ReplicaLagMonitor;
+import com.event.tasker.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Splits reads between the primary and a read replica when {@code tasker.datasource.replica.url}
+ * is set; otherwise Spring Boot's single data source is used unchanged.
+ *
+ * <p>The primary pool is configured as before under {@code spring.datasource}, the replica pool
+ * under {@code tasker.datasource.replica}. Flyway migrates the primary only. The data source the
+ * rest of the application sees routes each connection as described in {@link
+ * ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tasker.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource primary =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    primary.setPoolName("primary");
+    return primary;
+  }
+
+  @Bean
+  @ConfigurationProperties("tasker.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(
+      @Value("${tasker.datasource.replica.url}") String url,
+      @Value("${tasker.datasource.replica.username:${spring.datasource.username:}}")
+          String username,
+      @Value("${tasker.datasource.replica.password:${spring.datasource.password:}}")
+          String password) {
+    HikariDataSource replica = new HikariDataSource();
+    replica.setPoolName("replica");
+    replica.setJdbcUrl(url);
+    replica.setUsername(username);
+    replica.setPassword(password);
+    // A write that reaches the replica fails instead of diverging it from the primary
+    replica.setReadOnly(true);
+    return replica;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      @Value("${tasker.datasource.replica.max-lag:5s}") Duration maxLag,
+      MeterRegistry meterRegistry) {
+    return new ReplicaLagMonitor(primary, replica, maxLag, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReplicaLagMonitor replicaLagMonitor,
+      MeterRegistry meterRegistry) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+  }
+
+  @Bean
+  public ReadYourWrites readYourWrites(
+      TaskVersionStamps versionStamps,
+      @Value("${tasker.datasource.replica.sticky-window:10s}") Duration window) {
+    return new ReadYourWrites(versionStamps, window);
+  }
+}
@@ -1,22 +1,40 @@
 package com.event.tasker.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.event.tasker.bulkhead.BulkheadInterceptor;
+import com.event.tasker.datasource.ReadYourWrites;
+
+import lombok.RequiredArgsConstructor;
+
 /**
  * Web configuration class for the application. Configures CORS to allow requests only from
- * localhost:4200.
+ * localhost:4200, and puts handlers annotated with {@code @Bulkhead} behind their bulkhead. With a
+ * read replica configured, it also keeps clients that just wrote on the primary.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+  private final BulkheadInterceptor bulkheadInterceptor;
+  private final ObjectProvider<ReadYourWrites> readYourWrites;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    readYourWrites.ifAvailable(registry::addInterceptor);
+    registry.addInterceptor(bulkheadInterceptor);
+  }
+
   @Override
   public void addCorsMappings(CorsRegistry registry) {
     registry
         .addMapping("/**")
         .allowedOrigins("http://localhost:4200")
-        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         .allowedHeaders("*")
         .exposedHeaders("Access-Control-Allow-Headers")
         .allowCredentials(true)
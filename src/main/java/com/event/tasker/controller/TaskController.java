@@ -1,23 +1,66 @@
 package com.event.tasker.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.event.tasker.bulkhead.Bulkhead;
+import com.event.tasker.bulkhead.BulkheadInterceptor;
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.config.ProjectedJson;
+import com.event.tasker.model.BulkTaskResult;
 import com.event.tasker.model.Task;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskPage;
+import com.event.tasker.model.TaskPatch;
+import com.event.tasker.model.TaskQuery;
 import com.event.tasker.model.TaskerResponse;
 import com.event.tasker.service.TaskService;
+import com.event.tasker.util.ErrorCodes;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +71,54 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TaskController {
 
+  private static final int STREAM_FLUSH_INTERVAL = 100;
+  private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+  private static final Pattern TASK_ETAG = Pattern.compile("\"\\d{1,18}\"");
+
   private final TaskService taskService;
+  private final ObjectMapper objectMapper;
+  private final ProjectedJson projectedJson;
+  private final TaskVersionStamps versionStamps;
 
+  /**
+   * Lists tasks. Filters ({@code assignedTo}, {@code priority}, {@code completed}, {@code dueFrom},
+   * {@code dueTo}, {@code tag}), {@code cursor} or {@code limit} switch to a filtered keyset page:
+   * the response carries at most {@code limit} tasks and a {@code nextCursor} for the following
+   * page. {@code fields} (e.g. {@code fields=title,priority}) limits the page to the listed fields
+   * plus {@code id} and {@code createdAt}. Without any parameter the full list is returned.
+   *
+   * <p>Responses carry the list ETag, the stored version every task write increments; a request
+   * whose {@code If-None-Match} still matches is answered with 304 after one primary-key read,
+   * without loading any task.
+   */
   @GetMapping("/list")
-  public ResponseEntity<TaskerResponse<ArrayList<Task>>> getTasks() {
+  @Bulkhead(value = Bulkhead.Type.LIST, revalidates = true)
+  public ResponseEntity<TaskerResponse<ArrayList<Task>>> getTasks(
+      TaskQuery query,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String fields,
+      WebRequest request) {
+    if (notModified(request, listETag())) {
+      return null;
+    }
+
     try {
+      if (!query.isEmpty() || cursor != null || limit != null || fields != null) {
+        TaskPage page =
+            taskService.getTaskPage(
+                query,
+                TaskField.parse(fields),
+                cursor,
+                limit != null ? limit : TaskService.DEFAULT_PAGE_SIZE);
+
+        return ResponseEntity.ok(
+            TaskerResponse.<ArrayList<Task>>builder()
+                .data(page.getTasks())
+                .nextCursor(page.getNextCursor())
+                .build());
+      }
+
       ArrayList<Task> tasks = taskService.getTasks();
       if (tasks == null) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -42,37 +128,486 @@ public class TaskController {
           TaskerResponse.<ArrayList<Task>>builder().data(tasks).build();
 
       return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task list request: {}", e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
     } catch (Exception e) {
       log.error("Error retrieving tasks", e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
   }
 
+  /**
+   * Counts the tasks matching the list filters by priority, assignee, completion state and tag.
+   * Shares the list ETag, so dashboards polling it get 304 until a task changes.
+   */
+  @GetMapping("/facets")
+  @Bulkhead(value = Bulkhead.Type.LIST, revalidates = true)
+  public ResponseEntity<TaskerResponse<TaskFacets>> getTaskFacets(
+      TaskQuery query, WebRequest request) {
+    if (notModified(request, listETag())) {
+      return null;
+    }
+
+    try {
+      return ResponseEntity.ok(
+          TaskerResponse.<TaskFacets>builder().data(taskService.getTaskFacets(query)).build());
+    } catch (Exception e) {
+      log.error("Error counting task facets", e);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
+  /**
+   * Searches task titles and descriptions for the words in {@code q}, most relevant first. Pages
+   * like the filtered list: at most {@code limit} tasks and a {@code nextCursor} while more matches
+   * follow.
+   */
+  @GetMapping("/search")
+  @Bulkhead(Bulkhead.Type.LIST)
+  public ResponseEntity<TaskerResponse<ArrayList<Task>>> searchTasks(
+      @RequestParam String q,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    try {
+      TaskPage page =
+          taskService.searchTasks(q, cursor, limit != null ? limit : TaskService.DEFAULT_PAGE_SIZE);
+
+      return ResponseEntity.ok(
+          TaskerResponse.<ArrayList<Task>>builder()
+              .data(page.getTasks())
+              .nextCursor(page.getNextCursor())
+              .build());
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task search request: {}", e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+    } catch (Exception e) {
+      log.error("Error searching tasks", e);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
+  /**
+   * Streams the tasks matching {@code query} as newline-delimited JSON, one task per line, writing
+   * each task as soon as its row is read. Neither the server nor the client has to hold the whole
+   * list in memory. {@code fields} limits each line to the listed fields.
+   */
+  @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Bulkhead(Bulkhead.Type.LIST)
+  public ResponseEntity<StreamingResponseBody> streamTasks(
+      TaskQuery query, @RequestParam(required = false) String fields) {
+    Set<TaskField> taskFields;
+    try {
+      taskFields = TaskField.parse(fields);
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task stream request: {}", e.getMessage());
+      return ResponseEntity.badRequest().build();
+    }
+
+    ObjectWriter writer =
+        (ProjectedJson.isProjected(fields)
+                ? projectedJson.writerFor(Task.class)
+                : objectMapper.writerFor(Task.class))
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    StreamingResponseBody body =
+        outputStream ->
+            taskService.streamTasks(
+                query,
+                taskFields,
+                new Consumer<>() {
+                  private int written = 0;
+
+                  @Override
+                  public void accept(Task task) {
+                    try {
+                      writer.writeValue(outputStream, task);
+                      outputStream.write('\n');
+                      // Push the first row out immediately, then in batches.
+                      if (written++ % STREAM_FLUSH_INTERVAL == 0) {
+                        outputStream.flush();
+                      }
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    }
+                  }
+                });
+
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
   @PostMapping(consumes = {"multipart/form-data"})
+  @Bulkhead(Bulkhead.Type.UPLOAD)
   public ResponseEntity<TaskerResponse<String>> createTask(
       @RequestPart TaskDetail task,
       @RequestPart(value = "files", required = false) List<MultipartFile> files) {
     return ResponseEntity.ok(taskService.addTask(task, files));
   }
 
+  /**
+   * Imports the posted tasks, sent as a JSON array or as NDJSON with one task per line, and reports
+   * the outcome of each by its position in the request. Both are read one task at a time while
+   * earlier chunks are written, and an array element or line that is not a valid task fails on its
+   * own. Tasks are written in batched chunks of {@value TaskService#BULK_CHUNK_SIZE}; see {@link
+   * TaskService#addTasks}.
+   */
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @Bulkhead(Bulkhead.Type.WRITE)
+  public ResponseEntity<TaskerResponse<List<BulkTaskResult>>> createTaskArray(InputStream body)
+      throws IOException {
+    try (JsonParser parser = objectMapper.createParser(body)) {
+      JsonArrayTasks tasks;
+      try {
+        tasks = new JsonArrayTasks(parser, objectMapper.readerFor(TaskDetail.class));
+      } catch (IllegalArgumentException e) {
+        log.warn("Rejected bulk import: {}", e.getMessage());
+        return ResponseEntity.badRequest()
+            .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+      }
+      return ResponseEntity.ok(taskService.addTasks(tasks));
+    }
+  }
+
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @Bulkhead(Bulkhead.Type.WRITE)
+  public ResponseEntity<TaskerResponse<List<BulkTaskResult>>> createTasks(InputStream body)
+      throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      return ResponseEntity.ok(
+          taskService.addTasks(new NdjsonTasks(reader, objectMapper.readerFor(TaskDetail.class))));
+    }
+  }
+
+  /**
+   * Deletes a task. With {@code If-Match} set to the task's ETag, the delete only applies if the
+   * task has not changed since; otherwise it is answered with 409 and the current version.
+   */
   @DeleteMapping("/{id}")
-  public ResponseEntity<TaskerResponse<String>> deleteTask(@PathVariable String id) {
-    return ResponseEntity.ok(taskService.deleteTask(id));
+  @Bulkhead(Bulkhead.Type.WRITE)
+  public ResponseEntity<TaskerResponse<String>> deleteTask(
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion;
+    try {
+      expectedVersion = expectedVersion(ifMatch);
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task delete for {}: {}", id, e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+    }
+    return ResponseEntity.ok(taskService.deleteTask(id, expectedVersion));
   }
 
+  /**
+   * Returns a task with its tags and attachments. {@code fields} (e.g. {@code fields=title,tags})
+   * loads only the listed fields plus {@code id}. The ETag is the task's row version, which every
+   * write to the task, its tags or its attachments increments, and which is what {@code If-Match}
+   * on a write is compared with; a matching {@code If-None-Match} is answered with 304.
+   */
   @GetMapping("/{id}")
-  public ResponseEntity<TaskerResponse<TaskDetail>> getTaskDetail(@PathVariable String id) {
-    return ResponseEntity.ok(taskService.getTaskBy(id));
+  @Bulkhead(Bulkhead.Type.DETAIL)
+  public ResponseEntity<TaskerResponse<TaskDetail>> getTaskDetail(
+      @PathVariable String id, @RequestParam(required = false) String fields, WebRequest request) {
+    Set<TaskField> taskFields;
+    try {
+      taskFields = TaskField.parse(fields);
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task detail request: {}", e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+    }
+
+    // Full details come from the detail cache, so a revalidation rarely reaches the database
+    TaskerResponse<TaskDetail> response = taskService.getTaskBy(id, taskFields);
+    TaskDetail detail = response == null ? null : response.getData();
+    if (detail != null
+        && detail.getVersion() != null
+        && notModified(request, versionETag(detail.getVersion()))) {
+      return null;
+    }
+    return ResponseEntity.ok(response);
+  }
+
+  /**
+   * Returns the details of the tasks whose ids are posted as a JSON array, in request order. Ids
+   * that do not exist are left out. {@code fields} works as for a single task.
+   */
+  @PostMapping(value = "/details", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @Bulkhead(Bulkhead.Type.DETAIL)
+  public ResponseEntity<TaskerResponse<List<TaskDetail>>> getTaskDetails(
+      @RequestBody List<String> ids, @RequestParam(required = false) String fields) {
+    try {
+      return ResponseEntity.ok(
+          TaskerResponse.<List<TaskDetail>>builder()
+              .data(taskService.getTaskDetails(ids, TaskField.parse(fields)))
+              .build());
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task details request: {}", e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+    }
+  }
+
+  /**
+   * Returns the task with its subtasks nested below it, {@code depth} levels deep (default {@value
+   * TaskService#DEFAULT_TREE_DEPTH}, at most {@value TaskService#MAX_TREE_DEPTH}), loaded with one
+   * query. The ETag covers only the tasks in the tree, so changes elsewhere do not invalidate it.
+   */
+  @GetMapping("/{id}/tree")
+  @Bulkhead(Bulkhead.Type.LIST)
+  public ResponseEntity<TaskerResponse<TaskNode>> getTaskTree(
+      @PathVariable String id,
+      @RequestParam(defaultValue = "" + TaskService.DEFAULT_TREE_DEPTH) int depth,
+      WebRequest request) {
+    TaskNode tree = taskService.getTaskTree(id, depth);
+    if (notModified(request, treeETag(tree))) {
+      return null;
+    }
+    return ResponseEntity.ok(TaskerResponse.<TaskNode>builder().data(tree).build());
   }
 
+  /**
+   * Replaces a task. The version to update from is taken from {@code If-Match}, or else from the
+   * task's {@code version}; a task changed since that version is answered with 409. Without
+   * either, the update is unconditional.
+   */
   @PostMapping(
       consumes = {"multipart/form-data"},
       path = "/{id}")
+  @Bulkhead(Bulkhead.Type.UPLOAD)
   public ResponseEntity<TaskerResponse<String>> updateTask(
       @PathVariable String id,
       @RequestPart TaskDetail task,
-      @RequestPart(value = "files", required = false) List<MultipartFile> files) {
+      @RequestPart(value = "files", required = false) List<MultipartFile> files,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    try {
+      Long expectedVersion = expectedVersion(ifMatch);
+      if (expectedVersion != null) {
+        task.setVersion(expectedVersion);
+      }
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task update for {}: {}", id, e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+    }
     task.setId(id);
     return ResponseEntity.ok(taskService.updateTask(task, files));
   }
+
+  /**
+   * Applies a JSON merge patch to a task: only the fields in the body are written and {@code null}
+   * clears a field. Scalar fields such as {@code completed} or {@code priority} are changed with
+   * one UPDATE of just their columns, without reading the task. {@code tags} replaces the tags.
+   * With {@code If-Match}, a task changed since that version is answered with 409.
+   */
+  @PatchMapping(
+      path = "/{id}",
+      consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  @Bulkhead(Bulkhead.Type.WRITE)
+  public ResponseEntity<TaskerResponse<String>> patchTask(
+      @PathVariable String id,
+      @RequestBody JsonNode patch,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    TaskPatch taskPatch;
+    Long expectedVersion;
+    try {
+      taskPatch = TaskPatch.parse(patch, objectMapper);
+      expectedVersion = expectedVersion(ifMatch);
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected task patch for {}: {}", id, e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(TaskerResponse.failure(e.getMessage(), ErrorCodes.VALIDATION_FAILED));
+    }
+    return ResponseEntity.ok(taskService.patchTask(id, taskPatch, expectedVersion));
+  }
+
+  /** Reads one task per non-blank line, parsing each line only when it is asked for. */
+  private static class NdjsonTasks implements Iterator<TaskDetail> {
+    private final BufferedReader reader;
+    private final ObjectReader taskReader;
+    private String line;
+    private int lineNumber;
+
+    NdjsonTasks(BufferedReader reader, ObjectReader taskReader) {
+      this.reader = reader;
+      this.taskReader = taskReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        while (line == null) {
+          String read = reader.readLine();
+          if (read == null) {
+            return false;
+          }
+          lineNumber++;
+          if (!read.isBlank()) {
+            line = read;
+          }
+        }
+        return true;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public TaskDetail next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String current = line;
+      line = null;
+      try {
+        return taskReader.readValue(current);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException(
+            "Line " + lineNumber + " is not a valid task: " + e.getOriginalMessage());
+      }
+    }
+  }
+
+  /**
+   * Reads the elements of a JSON array one at a time. An element that is well-formed JSON but not a
+   * valid task fails on its own; malformed JSON fails the element it occurs in and ends the array,
+   * since nothing after it can be read reliably.
+   */
+  private static class JsonArrayTasks implements Iterator<TaskDetail> {
+    private final JsonParser parser;
+    private final ObjectReader taskReader;
+    private int index = -1;
+    private boolean peeked;
+    private boolean done;
+    private String malformed;
+
+    JsonArrayTasks(JsonParser parser, ObjectReader taskReader) throws IOException {
+      this.parser = parser;
+      this.taskReader = taskReader;
+      JsonToken first;
+      try {
+        first = parser.nextToken();
+      } catch (JsonProcessingException e) {
+        first = null;
+      }
+      if (first != JsonToken.START_ARRAY) {
+        throw new IllegalArgumentException("The request body must be a JSON array of tasks");
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!peeked && !done) {
+        try {
+          JsonToken token = parser.nextToken();
+          done = token == null || token == JsonToken.END_ARRAY;
+        } catch (JsonProcessingException e) {
+          malformed = e.getOriginalMessage();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        peeked = true;
+      }
+      return !done;
+    }
+
+    @Override
+    public TaskDetail next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      peeked = false;
+      index++;
+      if (malformed == null) {
+        try {
+          return read(parser.readValueAsTree());
+        } catch (JsonProcessingException e) {
+          malformed = e.getOriginalMessage();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      done = true;
+      throw new IllegalArgumentException("Element " + index + " is not valid JSON: " + malformed);
+    }
+
+    private TaskDetail read(JsonNode element) {
+      try {
+        return taskReader.treeToValue(element, TaskDetail.class);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException(
+            "Element " + index + " is not a valid task: " + e.getOriginalMessage());
+      }
+    }
+  }
+
+  /** The ETag of a single task: its row version, quoted. */
+  private static String versionETag(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Reads the version a write is conditional on from {@code If-Match}, which must be a single
+   * task ETag such as {@code "3"}.
+   *
+   * @return the version, or null when the header is absent or {@code *}
+   * @throws IllegalArgumentException if the header is not a task ETag
+   */
+  private static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String etag = ifMatch.trim();
+    if (!TASK_ETAG.matcher(etag).matches()) {
+      throw new IllegalArgumentException("If-Match must be a task ETag such as \"3\"");
+    }
+    return Long.parseLong(etag.substring(1, etag.length() - 1));
+  }
+
+  /**
+   * ETag for the task lists: the stored list version, so every instance issues the same tag and it
+   * survives restarts.
+   */
+  private String listETag() {
+    return "\"list-" + taskService.getListVersion() + "\"";
+  }
+
+  /**
+   * ETag for a task tree, derived from the ids and row versions of its tasks in tree order. Tag and
+   * attachment writes bump the row version too, so any change to a task in the tree changes it.
+   */
+  private static String treeETag(TaskNode tree) {
+    CRC32 crc = new CRC32();
+    int count = 0;
+    Deque<TaskNode> pending = new ArrayDeque<>(List.of(tree));
+    while (!pending.isEmpty()) {
+      TaskNode node = pending.pop();
+      Task task = node.getTask();
+      crc.update((task.getId() + ":" + task.getVersion() + ";").getBytes(StandardCharsets.UTF_8));
+      count++;
+      node.getChildren().reversed().forEach(pending::push);
+    }
+    return "\"tree-" + count + "-" + Long.toHexString(crc.getValue()) + "\"";
+  }
+
+  /**
+   * Sets {@code etag} on the response and checks it against {@code If-None-Match}. When this
+   * returns true the 304 has been prepared and the handler must return null; otherwise a bulkhead
+   * permit deferred for the revalidation has been taken.
+   */
+  private boolean notModified(WebRequest request, String etag) {
+    boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    boolean notModified = request.checkNotModified(etag);
+    if (conditional) {
+      versionStamps.recordRevalidation(notModified);
+    }
+    if (!notModified) {
+      BulkheadInterceptor.admitDeferred(request);
+    }
+    return notModified;
+  }
 }
@@ -0,0 +1,73 @@
+package com.event.tasker.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work on the current thread that may or must not read from a read replica. Outside a
+ * transaction only reads run through {@link #onReplica} use the replica; everything else goes to
+ * the primary, so a statement nobody marked never reaches the read-only replica pool.
+ *
+ * <p>{@link #onPrimary} wins over {@link #onReplica}: it covers reads that follow a write by the
+ * same client, and loads that fill long-lived caches, which would otherwise keep a lagging
+ * replica's rows after the lag is gone. Without a replica neither has any effect.
+ */
+public final class DataSourceRouting {
+
+  private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+  private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+  private DataSourceRouting() {}
+
+  /** Runs {@code action} with every connection it opens taken from the primary. */
+  public static <T> T onPrimary(Supplier<T> action) {
+    return with(PRIMARY_REQUIRED, action);
+  }
+
+  /**
+   * Runs {@code action}, which must only read, with the connections it opens outside a transaction
+   * taken from the replica while one is usable.
+   */
+  public static <T> T onReplica(Supplier<T> action) {
+    return with(REPLICA_ALLOWED, action);
+  }
+
+  public static void onReplica(Runnable action) {
+    with(
+        REPLICA_ALLOWED,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  public static boolean isPrimaryRequired() {
+    return PRIMARY_REQUIRED.get() != null;
+  }
+
+  public static boolean isReplicaAllowed() {
+    return REPLICA_ALLOWED.get() != null;
+  }
+
+  /** Routes the rest of the current request to the primary; undone by {@link #clear()}. */
+  static void requirePrimary() {
+    PRIMARY_REQUIRED.set(Boolean.TRUE);
+  }
+
+  static void clear() {
+    PRIMARY_REQUIRED.remove();
+  }
+
+  private static <T> T with(ThreadLocal<Boolean> flag, Supplier<T> action) {
+    Boolean previous = flag.get();
+    flag.set(Boolean.TRUE);
+    try {
+      return action.get();
+    } finally {
+      if (previous == null) {
+        flag.remove();
+      } else {
+        flag.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.event.tasker.datasource;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import com.event.tasker.cache.TaskVersionStamps;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a client on the primary for {@code window} after it wrote, so it reads its own writes even
+ * while the replica lags. A write, as reported to {@link TaskVersionStamps}, routes the rest of the
+ * request to the primary and sets a cookie holding the time until which the client's following
+ * requests do the same. The cookie carries the state, so any instance honours it.
+ *
+ * <p>The window should be longer than the replica lag the {@link ReplicaLagMonitor} tolerates.
+ */
+public class ReadYourWrites implements AsyncHandlerInterceptor, TaskVersionStamps.Listener {
+
+  static final String COOKIE = "tasker-primary-until";
+
+  private final Duration window;
+
+  public ReadYourWrites(TaskVersionStamps versionStamps, Duration window) {
+    this.window = window;
+    versionStamps.addListener(this);
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    Cookie cookie = WebUtils.getCookie(request, COOKIE);
+    if (cookie != null && primaryUntil(cookie.getValue()) > System.currentTimeMillis()) {
+      DataSourceRouting.requirePrimary();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    DataSourceRouting.clear();
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    DataSourceRouting.clear();
+  }
+
+  @Override
+  public void taskChanged(String taskId) {
+    written();
+  }
+
+  @Override
+  public void unknownTaskChanged() {
+    written();
+  }
+
+  // Runs when the write's transaction completes, on the request's thread and before the handler
+  // returns, so the response is not committed yet. Writes outside a request are left alone.
+  private void written() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes current)
+        || current.getResponse() == null) {
+      return;
+    }
+
+    DataSourceRouting.requirePrimary();
+    HttpServletRequest request = current.getRequest();
+    if (request.getAttribute(COOKIE) != null || current.getResponse().isCommitted()) {
+      return;
+    }
+    request.setAttribute(COOKIE, Boolean.TRUE);
+    String path = request.getContextPath();
+    ResponseCookie cookie =
+        ResponseCookie.from(COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()))
+            .path(StringUtils.hasLength(path) ? path : "/")
+            .maxAge(window)
+            .httpOnly(true)
+            .sameSite("Lax")
+            .build();
+    current.getResponse().addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+  }
+
+  private static long primaryUntil(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.event.tasker.datasource;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether the replica may serve reads. Every check writes the current time to the
+ * primary's {@code replica_heartbeat} row and reads the row back from the replica; the difference
+ * to the newest heartbeat the replica has applied is its lag, accurate to one check interval. This
+ * works with any replication setup that copies the table, without replication privileges.
+ *
+ * <p>The replica is used only while the last check succeeded with a lag of at most {@code
+ * maxLag}. Until the first check, after a failed check and after a failed replica connection,
+ * reads go to the primary.
+ *
+ * <p>Metrics: {@code tasker.datasource.replica.lag} and {@code tasker.datasource.replica.usable}
+ * (1 or 0).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+  private final JdbcTemplate primary;
+  private final JdbcTemplate replica;
+  private final long maxLagMillis;
+  private final Clock clock;
+
+  private volatile boolean usable;
+  private volatile long lagMillis;
+
+  public ReplicaLagMonitor(
+      DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+    this(primary, replica, maxLag, meterRegistry, Clock.systemUTC());
+  }
+
+  ReplicaLagMonitor(
+      DataSource primary,
+      DataSource replica,
+      Duration maxLag,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    this.primary = new JdbcTemplate(primary);
+    this.replica = new JdbcTemplate(replica);
+    this.maxLagMillis = maxLag.toMillis();
+    this.clock = clock;
+    TimeGauge.builder(
+            "tasker.datasource.replica.lag", this, TimeUnit.MILLISECONDS, m -> m.lagMillis)
+        .register(meterRegistry);
+    Gauge.builder("tasker.datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+        .register(meterRegistry);
+  }
+
+  public boolean isReplicaUsable() {
+    return usable;
+  }
+
+  /** Stops reads from the replica until the next successful check. */
+  void replicaFailed() {
+    setUsable(false, "a connection failed");
+  }
+
+  @Scheduled(fixedDelayString = "${tasker.datasource.replica.lag-check-interval:1s}")
+  public void check() {
+    long now = clock.millis();
+    try {
+      primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", new Timestamp(now));
+      Timestamp applied =
+          replica.queryForObject(
+              "SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class);
+
+      // Other instances write heartbeats too, and their clocks may be ahead of ours
+      lagMillis = applied == null ? Long.MAX_VALUE : Math.max(0, now - applied.getTime());
+      setUsable(lagMillis <= maxLagMillis, "lag is " + lagMillis + " ms");
+    } catch (DataAccessException e) {
+      log.debug("Replica lag check failed", e);
+      setUsable(false, "the lag check failed: " + e.getMostSpecificCause().getMessage());
+    }
+  }
+
+  private void setUsable(boolean usable, String reason) {
+    if (this.usable != usable) {
+      if (usable) {
+        log.info("Reading from the replica, {}", reason);
+      } else {
+        log.warn("Reading from the primary, {}", reason);
+      }
+    }
+    this.usable = usable;
+  }
+}
@@ -0,0 +1,106 @@
+package com.event.tasker.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out replica connections for read-only transactions and for reads marked with {@link
+ * DataSourceRouting#onReplica} outside a transaction, and primary connections for everything else.
+ * A statement is only sent to the replica when it was declared a read, so a write that runs
+ * outside a transaction still reaches the primary.
+ *
+ * <p>The primary is also used while {@link DataSourceRouting} requires it, while the {@link
+ * ReplicaLagMonitor} considers the replica too far behind or unreachable, and whenever opening a
+ * replica connection fails.
+ *
+ * <p>The decision is taken when the connection is opened, so this must sit behind a {@code
+ * LazyConnectionDataSourceProxy}: transaction managers open their connection before the
+ * transaction's read-only flag is visible.
+ *
+ * <p>Metrics: {@code tasker.datasource.connections} counts connections by {@code
+ * target=primary|replica}, and {@code tasker.datasource.replica.fallbacks} the replica connections
+ * that failed and were replaced by primary ones.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final ReplicaLagMonitor lagMonitor;
+
+  private final Counter primaryConnections;
+  private final Counter replicaConnections;
+  private final Counter fallbacks;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      DataSource replica,
+      ReplicaLagMonitor lagMonitor,
+      MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replica = replica;
+    this.lagMonitor = lagMonitor;
+    this.primaryConnections =
+        Counter.builder("tasker.datasource.connections")
+            .tag("target", "primary")
+            .register(meterRegistry);
+    this.replicaConnections =
+        Counter.builder("tasker.datasource.connections")
+            .tag("target", "replica")
+            .register(meterRegistry);
+    this.fallbacks = meterRegistry.counter("tasker.datasource.replica.fallbacks");
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return getConnection(DataSource::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return getConnection(target -> target.getConnection(username, password));
+  }
+
+  private Connection getConnection(Connector connector) throws SQLException {
+    if (useReplica()) {
+      try {
+        Connection connection = connector.connect(replica);
+        replicaConnections.increment();
+        return connection;
+      } catch (SQLException e) {
+        log.warn("Could not connect to the replica, reading from the primary", e);
+        lagMonitor.replicaFailed();
+        fallbacks.increment();
+      }
+    }
+
+    Connection connection = connector.connect(primary);
+    primaryConnections.increment();
+    return connection;
+  }
+
+  private boolean useReplica() {
+    if (DataSourceRouting.isPrimaryRequired()) {
+      return false;
+    }
+    boolean read =
+        TransactionSynchronizationManager.isActualTransactionActive()
+            ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            : DataSourceRouting.isReplicaAllowed();
+    return read && lagMonitor.isReplicaUsable();
+  }
+
+  @FunctionalInterface
+  private interface Connector {
+    Connection connect(DataSource target) throws SQLException;
+  }
+}
@@ -0,0 +1,23 @@
+package com.event.tasker.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by the task service after a task was created, updated or deleted. Listeners that keep
+ * derived state, such as cached task lists, use it to patch that state for the one task.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TaskChangedEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private final String taskId;
+  private final Type type;
+}
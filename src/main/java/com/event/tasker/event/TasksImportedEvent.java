@@ -0,0 +1,18 @@
+package com.event.tasker.event;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by the task service after a bulk import committed a batch of new tasks. Too many tasks
+ * change at once to patch derived state one task at a time, so listeners rebuild it instead.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TasksImportedEvent {
+  private final List<String> taskIds;
+}
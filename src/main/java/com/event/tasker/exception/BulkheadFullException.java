@@ -0,0 +1,16 @@
+package com.event.tasker.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/** Thrown when a request cannot be admitted to its bulkhead; answered with 503. */
+@Getter
+public class BulkheadFullException extends RuntimeException {
+  private final Duration retryAfter;
+
+  public BulkheadFullException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
@@ -2,6 +2,7 @@ package com.event.tasker.exception;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -25,6 +26,27 @@ public class GlobalException {
         TaskerResponse.builder().message(ex.getMessage()).build(), HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(BulkheadFullException.class)
+  public ResponseEntity<TaskerResponse<Object>> handleBulkheadFull(BulkheadFullException ex) {
+    long retryAfter = Math.max(1, ex.getRetryAfter().toSeconds());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter))
+        .body(TaskerResponse.failure(ex.getMessage(), ErrorCodes.SERVICE_BUSY));
+  }
+
+  @ExceptionHandler(VersionConflictException.class)
+  public ResponseEntity<TaskerResponse<Long>> handleVersionConflict(VersionConflictException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .eTag(Long.toString(ex.getCurrentVersion()))
+        .body(
+            TaskerResponse.<Long>builder()
+                .data(ex.getCurrentVersion())
+                .error(ex.getMessage())
+                .errorCode(ErrorCodes.VERSION_CONFLICT)
+                .status("ERROR")
+                .build());
+  }
+
   @ExceptionHandler(DataAccessException.class)
   public ResponseEntity<TaskerResponse<Object>> handleDatabaseError(DataAccessException ex) {
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
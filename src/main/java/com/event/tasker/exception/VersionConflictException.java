@@ -0,0 +1,17 @@
+package com.event.tasker.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a conditional write names a task version that is no longer current; answered with
+ * 409 and the current version.
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+  private final long currentVersion;
+
+  public VersionConflictException(String message, long currentVersion) {
+    super(message);
+    this.currentVersion = currentVersion;
+  }
+}
@@ -0,0 +1,23 @@
+package com.event.tasker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** The outcome of one task in a bulk import, identified by its position in the request. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkTaskResult {
+  public enum Status {
+    CREATED,
+    FAILED
+  }
+
+  private int index;
+  private String id;
+  private Status status;
+  private String error;
+}
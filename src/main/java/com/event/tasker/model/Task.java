@@ -17,7 +17,7 @@ public class Task {
   private String id; // UUID or string
   private String title;
   private String description;
-  private boolean completed;
+  private Boolean completed; // null when not requested; writes treat it as false
 
   @Getter
   public enum Priority {
@@ -27,6 +27,20 @@ public class Task {
     HIGH(3),
     URGENT(4);
 
+    // Indexed by code, so mapping a row is an array read instead of a scan over values()
+    private static final Priority[] BY_CODE;
+
+    static {
+      int maxCode = 0;
+      for (Priority p : values()) {
+        maxCode = Math.max(maxCode, p.code);
+      }
+      BY_CODE = new Priority[maxCode + 1];
+      for (Priority p : values()) {
+        BY_CODE[p.code] = p;
+      }
+    }
+
     private final int code;
 
     Priority(int code) {
@@ -34,10 +48,11 @@ public class Task {
     }
 
     public static Priority fromCode(int code) {
-      for (Priority p : values()) {
-        if (p.code == code) return p;
+      Priority p = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+      if (p == null) {
+        throw new IllegalArgumentException("Unknown priority code: " + code);
       }
-      throw new IllegalArgumentException("Unknown priority code: " + code);
+      return p;
     }
   }
 
@@ -49,4 +64,5 @@ public class Task {
   private String parentId; // null if top-level
   private List<String> tags; // optional categorization
   private String profilePicture;
+  private Long version; // row version for conditional updates
 }
@@ -0,0 +1,65 @@
+package com.event.tasker.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position in the task list, keyed on {@code (created_at, id)}. Clients only ever see the encoded
+ * form, an opaque URL-safe token they hand back unchanged to fetch the next page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCursor {
+  private static final char SEPARATOR = '|';
+
+  private Instant createdAt;
+  private String id;
+
+  public static TaskCursor from(Task task) {
+    return TaskCursor.builder().createdAt(task.getCreatedAt()).id(task.getId()).build();
+  }
+
+  public String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token the opaque cursor sent by the client, may be null or blank for the first page
+   * @return the decoded cursor, or null when no token was given
+   * @throws IllegalArgumentException if the token was not produced by this class
+   */
+  public static TaskCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator <= 0 || separator == raw.length() - 1) {
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+      }
+
+      return TaskCursor.builder()
+          .createdAt(Instant.parse(raw.substring(0, separator)))
+          .id(raw.substring(separator + 1))
+          .build();
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token, e);
+    }
+  }
+}
@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
 public class TaskDetail {
   private String id, title, description, assignedTo, parentId;
 
-  @Builder.Default private boolean completed = false;
+  @Builder.Default private Boolean completed = false;
 
   @Builder.Default private Task.Priority priority = Task.Priority.LOW;
 
@@ -26,4 +26,5 @@ public class TaskDetail {
 
   @Builder.Default private List<Attachment> attachments = new ArrayList<>();
   private List<String> teamMembers;
+  private Long version;
 }
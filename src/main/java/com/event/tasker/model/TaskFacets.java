@@ -0,0 +1,22 @@
+package com.event.tasker.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Task counts for dashboards. Each map is ordered by count, largest first. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFacets {
+  private long total;
+  @Builder.Default private Map<String, Long> priority = new LinkedHashMap<>(); // by priority name
+  @Builder.Default private Map<String, Long> assignedTo = new LinkedHashMap<>(); // by user ID
+  @Builder.Default private Map<String, Long> completed = new LinkedHashMap<>(); // "true"/"false"
+  @Builder.Default private Map<String, Long> tags = new LinkedHashMap<>();
+}
@@ -0,0 +1,67 @@
+package com.event.tasker.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.event.tasker.util.CSVToArrayConverter;
+
+import lombok.Getter;
+
+/**
+ * Fields a client can ask for with {@code ?fields=}. Names match the JSON property names of {@link
+ * Task} and {@link TaskDetail}; fields that only exist on one of them are ignored by the other.
+ */
+@Getter
+public enum TaskField {
+  ID("id"),
+  TITLE("title"),
+  DESCRIPTION("description"),
+  COMPLETED("completed"),
+  PRIORITY("priority"),
+  CREATED_AT("createdAt"),
+  DUE_DATE("dueDate"),
+  PARENT_ID("parentId"),
+  ASSIGNED_TO("assignedTo"),
+  ASSIGNED_TO_NAME("assignedToName"),
+  PROFILE_PICTURE("profilePicture"),
+  TAGS("tags"),
+  ATTACHMENTS("attachments"),
+  VERSION("version");
+
+  public static final Set<TaskField> ALL =
+      Collections.unmodifiableSet(EnumSet.allOf(TaskField.class));
+
+  private final String param;
+
+  TaskField(String param) {
+    this.param = param;
+  }
+
+  public static TaskField fromParam(String param) {
+    for (TaskField field : values()) {
+      if (field.param.equals(param)) return field;
+    }
+    throw new IllegalArgumentException("Unknown field: " + param);
+  }
+
+  /**
+   * Parses a {@code ?fields=} value such as {@code "title,priority"}. The id is always included.
+   *
+   * @param csv comma separated field names, or null/blank for every field
+   * @return the requested fields
+   * @throws IllegalArgumentException if a name is not a known field
+   */
+  public static Set<TaskField> parse(String csv) {
+    if (csv == null || csv.isBlank()) {
+      return ALL;
+    }
+
+    EnumSet<TaskField> fields = EnumSet.of(ID);
+    for (String name : CSVToArrayConverter.convertCommaSeparated(csv, Function.identity())) {
+      fields.add(fromParam(name));
+    }
+    return fields;
+  }
+}
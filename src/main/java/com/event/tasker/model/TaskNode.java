@@ -0,0 +1,20 @@
+package com.event.tasker.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A task and its subtasks, as returned by {@code GET /task/{id}/tree}. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskNode {
+  private Task task;
+  private int depth; // 0 for the requested task
+  @Builder.Default private List<TaskNode> children = new ArrayList<>();
+}
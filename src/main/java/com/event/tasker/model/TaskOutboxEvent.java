@@ -0,0 +1,32 @@
+package com.event.tasker.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A committed change to a task, as recorded in {@code task_outbox}. Events carry no task state;
+ * consumers that need it read the task.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOutboxEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED,
+    TAGS_CHANGED,
+    ATTACHMENTS_CHANGED
+  }
+
+  private long id; // increases in commit order for one task's events; see TaskOutboxDaoImpl
+  private String taskId;
+  private Type type;
+  private int attempts; // failed deliveries so far
+  private Instant createdAt;
+}
@@ -0,0 +1,17 @@
+package com.event.tasker.model;
+
+import java.util.ArrayList;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPage {
+  @Builder.Default private ArrayList<Task> tasks = new ArrayList<>();
+  private String nextCursor; // null on the last page
+}
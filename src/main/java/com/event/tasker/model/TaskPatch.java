@@ -0,0 +1,112 @@
+package com.event.tasker.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+
+/**
+ * A JSON merge patch (RFC 7396) for a task. Only the fields present in the patch change, and
+ * {@code null} clears a field. Values are checked and converted when the patch is parsed, so the
+ * DAO writes them as they are.
+ */
+public final class TaskPatch {
+
+  /** Task columns to set, in {@link TaskField} order; {@code null} values clear the column. */
+  @Getter private final Map<TaskField, Object> columns;
+
+  /** The new tag list, empty to remove every tag, or null when the patch leaves tags alone. */
+  @Getter private final List<String> tags;
+
+  private TaskPatch(Map<TaskField, Object> columns, List<String> tags) {
+    this.columns = Collections.unmodifiableMap(columns);
+    this.tags = tags;
+  }
+
+  public boolean isEmpty() {
+    return columns.isEmpty() && tags == null;
+  }
+
+  /**
+   * Reads a merge patch document. Values are converted with {@code objectMapper}, so dates and
+   * priorities take the same forms as in a full task.
+   *
+   * @param patch the patch document, which must be a JSON object
+   * @param objectMapper the mapper used for task JSON
+   * @return the patch
+   * @throws IllegalArgumentException if the document is not an object, names a field that cannot
+   *     be patched, or has a value of the wrong type
+   */
+  public static TaskPatch parse(JsonNode patch, ObjectMapper objectMapper) {
+    if (patch == null || !patch.isObject()) {
+      throw new IllegalArgumentException("A merge patch must be a JSON object");
+    }
+
+    Map<TaskField, Object> columns = new EnumMap<>(TaskField.class);
+    List<String> tags = null;
+    for (Map.Entry<String, JsonNode> entry : patch.properties()) {
+      TaskField field = TaskField.fromParam(entry.getKey());
+      JsonNode value = entry.getValue();
+      switch (field) {
+        case TITLE -> {
+          if (!value.isTextual() || value.asText().isBlank()) {
+            throw new IllegalArgumentException("title must be a non-blank string");
+          }
+          columns.put(field, value.asText());
+        }
+        case DESCRIPTION, ASSIGNED_TO, PARENT_ID -> {
+          if (!value.isNull() && !value.isTextual()) {
+            throw new IllegalArgumentException(field.getParam() + " must be a string or null");
+          }
+          columns.put(field, value.isNull() ? null : value.asText());
+        }
+        case COMPLETED -> {
+          if (!value.isBoolean()) {
+            throw new IllegalArgumentException("completed must be true or false");
+          }
+          columns.put(field, value.booleanValue());
+        }
+        case PRIORITY ->
+            columns.put(field, required(field, value, Task.Priority.class, objectMapper));
+        case DUE_DATE -> columns.put(field, required(field, value, Instant.class, objectMapper));
+        case TAGS -> tags = tags(value);
+        default ->
+            throw new IllegalArgumentException(field.getParam() + " cannot be changed by a patch");
+      }
+    }
+    return new TaskPatch(columns, tags);
+  }
+
+  private static <T> T required(
+      TaskField field, JsonNode value, Class<T> type, ObjectMapper objectMapper) {
+    if (value.isNull()) {
+      throw new IllegalArgumentException(field.getParam() + " must not be null");
+    }
+    return objectMapper.convertValue(value, type);
+  }
+
+  private static List<String> tags(JsonNode value) {
+    if (value.isNull()) {
+      return List.of();
+    }
+    if (!value.isArray()) {
+      throw new IllegalArgumentException("tags must be an array of strings or null");
+    }
+
+    List<String> tags = new ArrayList<>(value.size());
+    for (JsonNode tag : value) {
+      if (!tag.isTextual()) {
+        throw new IllegalArgumentException("tags must be an array of strings or null");
+      }
+      tags.add(tag.asText());
+    }
+    return tags;
+  }
+}
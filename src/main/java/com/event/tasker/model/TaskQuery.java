@@ -0,0 +1,31 @@
+package com.event.tasker.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Optional criteria for the task list. A null field means "do not filter on it". */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskQuery {
+  private String assignedTo; // user ID
+  private Task.Priority priority;
+  private Boolean completed;
+  private Instant dueFrom; // inclusive
+  private Instant dueTo; // exclusive
+  private String tag;
+
+  public boolean isEmpty() {
+    return assignedTo == null
+        && priority == null
+        && completed == null
+        && dueFrom == null
+        && dueTo == null
+        && tag == null;
+  }
+}
@@ -15,6 +15,7 @@ public class TaskerResponse<T> {
   private String error;
   private String status;
   private String errorCode;
+  private String nextCursor;
 
   public static <T> TaskerResponse<T> success(T data, String message) {
     return TaskerResponse.<T>builder().data(data).message(message).status("SUCCESS").build();
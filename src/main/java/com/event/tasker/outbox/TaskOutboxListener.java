@@ -0,0 +1,15 @@
+package com.event.tasker.outbox;
+
+import com.event.tasker.model.TaskOutboxEvent;
+
+/**
+ * Receives committed task changes from the {@link TaskOutboxRelay}. Any bean implementing this is
+ * registered; the application itself ships none. Events of one task arrive in the order their
+ * transactions committed; events of different tasks may interleave.
+ *
+ * <p>Delivery is at least once: if any listener throws, the event is delivered to every listener
+ * again on a later poll, so listeners must tolerate repeats.
+ */
+public interface TaskOutboxListener {
+  void onTaskEvent(TaskOutboxEvent event);
+}
@@ -0,0 +1,159 @@
+package com.event.tasker.outbox;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.model.TaskOutboxEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains {@code task_outbox} to the {@link TaskOutboxListener}s on the scheduler thread, so request
+ * threads only pay for one INSERT in their own transaction.
+ *
+ * <p>Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, delivered, and deleted in one
+ * transaction. Polls keep taking batches until one comes back short. Several instances can relay
+ * at once: they lock disjoint batches, and an event is only delivered while no older event of its
+ * task is pending in another instance's batch. That event is left for a later poll, which keeps
+ * the order of each task's events.
+ *
+ * <p>An event that a listener fails on is kept and retried, and the task's later events wait for
+ * it. After {@code tasker.outbox.relay.max-attempts} failures it is logged and dropped.
+ *
+ * <p>Without a {@link TaskOutboxListener} bean, as in the application as shipped, the relay is a
+ * sink: every event counts as delivered and is deleted, which keeps the table from growing until a
+ * consumer is added.
+ *
+ * <p>Metrics: {@code tasker.outbox.published} and {@code tasker.outbox.failed}.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "tasker.outbox.relay",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@Slf4j
+public class TaskOutboxRelay {
+
+  private final TaskOutboxDao outboxDao;
+  private final TransactionTemplate transactionTemplate;
+  private final List<TaskOutboxListener> listeners;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Counter published;
+  private final Counter failed;
+
+  public TaskOutboxRelay(
+      TaskOutboxDao outboxDao,
+      TransactionTemplate transactionTemplate,
+      ObjectProvider<TaskOutboxListener> listeners,
+      MeterRegistry meterRegistry,
+      @Value("${tasker.outbox.relay.batch-size:500}") int batchSize,
+      @Value("${tasker.outbox.relay.max-attempts:10}") int maxAttempts) {
+    this.outboxDao = outboxDao;
+    this.transactionTemplate = transactionTemplate;
+    this.listeners = listeners.orderedStream().toList();
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.published = meterRegistry.counter("tasker.outbox.published");
+    this.failed = meterRegistry.counter("tasker.outbox.failed");
+    if (this.listeners.isEmpty()) {
+      log.info("No task outbox listeners registered; relayed events are discarded");
+    }
+  }
+
+  /** Relays batches until the outbox is drained or an event has to wait. */
+  @Scheduled(fixedDelayString = "${tasker.outbox.relay.poll-interval:200ms}")
+  public void poll() {
+    try {
+      while (Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()))) {
+        // A full batch was delivered; there may be more
+      }
+    } catch (DataAccessException e) {
+      log.warn("Task outbox relay failed, retrying on the next poll", e);
+    }
+  }
+
+  /**
+   * Locks, delivers and deletes one batch. Must run in a transaction, which holds the row locks.
+   *
+   * @return true if a full batch was delivered, so another one may be waiting
+   */
+  boolean relayBatch() {
+    List<TaskOutboxEvent> batch = outboxDao.lockBatch(batchSize);
+    if (batch.isEmpty()) {
+      return false;
+    }
+
+    Set<String> taskIds = new HashSet<>();
+    List<Long> batchIds = new ArrayList<>(batch.size());
+    for (TaskOutboxEvent event : batch) {
+      if (event.getTaskId() != null) {
+        taskIds.add(event.getTaskId());
+      }
+      batchIds.add(event.getId());
+    }
+    Map<String, Long> pendingElsewhere = outboxDao.firstPendingIds(taskIds, batchIds);
+
+    // Tasks whose remaining events must wait, so they are not delivered out of order
+    Set<String> held = new HashSet<>();
+    List<Long> done = new ArrayList<>(batch.size());
+    for (TaskOutboxEvent event : batch) {
+      String taskId = event.getTaskId();
+      if (taskId != null) {
+        Long older = pendingElsewhere.get(taskId);
+        if (held.contains(taskId) || (older != null && older < event.getId())) {
+          held.add(taskId);
+          continue;
+        }
+      }
+
+      if (deliver(event)) {
+        done.add(event.getId());
+      } else if (event.getAttempts() + 1 >= maxAttempts) {
+        log.error("Dropping outbox event {} after {} failed deliveries", event, maxAttempts);
+        done.add(event.getId());
+      } else {
+        outboxDao.recordFailure(event.getId());
+        if (taskId != null) {
+          held.add(taskId);
+        }
+      }
+    }
+
+    outboxDao.delete(done);
+    return done.size() == batchSize;
+  }
+
+  private boolean deliver(TaskOutboxEvent event) {
+    boolean delivered = true;
+    for (TaskOutboxListener listener : listeners) {
+      try {
+        listener.onTaskEvent(event);
+      } catch (RuntimeException e) {
+        log.warn("Outbox listener {} failed on {}", listener.getClass().getSimpleName(), event, e);
+        delivered = false;
+      }
+    }
+    if (delivered) {
+      published.increment();
+    } else {
+      failed.increment();
+    }
+    return delivered;
+  }
+}
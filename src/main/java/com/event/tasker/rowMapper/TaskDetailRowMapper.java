@@ -5,44 +5,63 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.jdbc.core.RowMapper;
 
 import com.event.tasker.model.Attachment;
 import com.event.tasker.model.Task;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskField;
 import com.event.tasker.util.CSVToArrayConverter;
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Maps task detail rows. Only the columns for {@code fields} are read, so the mapper can be used
+ * with a projected select list; fields that were not selected are left null.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class TaskDetailRowMapper implements RowMapper<TaskDetail> {
+  private static final TypeToken<ArrayList<Attachment>> ATTACHMENTS =
+      new TypeToken<ArrayList<Attachment>>() {};
+
   private final Gson gson;
+  private final Set<TaskField> fields;
+
+  public TaskDetailRowMapper(Gson gson) {
+    this(gson, TaskField.ALL);
+  }
+
+  public TaskDetailRowMapper(Gson gson, Set<TaskField> fields) {
+    this.gson = gson;
+    this.fields = fields;
+  }
 
   @Override
   public TaskDetail mapRow(ResultSet rs, int rowNum) throws SQLException {
 
-    String tagsString = rs.getString("tags");
-    List<String> tags =
-        (tagsString != null)
-            ? CSVToArrayConverter.convertCommaSeparated(tagsString, String::trim)
-            : Collections.emptyList();
+    List<String> tags = null;
+    if (fields.contains(TaskField.TAGS)) {
+      String tagsString = rs.getString("tags");
+      tags =
+          (tagsString != null)
+              ? CSVToArrayConverter.convertCommaSeparated(tagsString, Function.identity())
+              : Collections.emptyList();
+    }
 
-    List<Attachment> attachments = new ArrayList<>();
-    String attachmentString = rs.getString("attachments");
+    List<Attachment> attachments =
+        fields.contains(TaskField.ATTACHMENTS) ? new ArrayList<>() : null;
+    String attachmentString = attachments != null ? rs.getString("attachments") : null;
     if (attachmentString != null && !attachmentString.isEmpty() && !attachmentString.equals("[]")) {
       try {
-        JsonArray attachmentJson = gson.fromJson(attachmentString, JsonArray.class);
-        if (attachmentJson != null) {
-          for (JsonElement jsonElement : attachmentJson) {
-            attachments.add(gson.fromJson(jsonElement, Attachment.class));
-          }
+        List<Attachment> parsed = parseAttachments(gson, attachmentString);
+        if (parsed != null) {
+          attachments = parsed;
         }
       } catch (JsonSyntaxException e) {
         // It's better to log this error than to let it crash the entire request.
@@ -51,18 +70,50 @@ public class TaskDetailRowMapper implements RowMapper<TaskDetail> {
       }
     }
 
-    return TaskDetail.builder()
-        .id(rs.getString("id"))
-        .title(rs.getString("title"))
-        .description(rs.getString("description"))
-        .completed(rs.getBoolean("completed"))
-        .priority(Task.Priority.fromCode(rs.getInt("priority")))
-        .assignedToName(rs.getString("assignedToName"))
-        .assignedTo(rs.getString("assignedTo"))
-        .dueDate(rs.getTimestamp("dueDate").toInstant())
-        .parentId(rs.getString("parentId"))
-        .tags(tags)
-        .attachments(attachments)
-        .build();
+    // Clears the builder defaults, so unrequested fields are omitted instead of sent as LOW/false
+    TaskDetail.TaskDetailBuilder detail =
+        TaskDetail.builder().tags(tags).attachments(attachments).completed(null).priority(null);
+    if (fields.contains(TaskField.ID)) {
+      detail.id(rs.getString("id"));
+    }
+    if (fields.contains(TaskField.TITLE)) {
+      detail.title(rs.getString("title"));
+    }
+    if (fields.contains(TaskField.DESCRIPTION)) {
+      detail.description(rs.getString("description"));
+    }
+    if (fields.contains(TaskField.COMPLETED)) {
+      detail.completed(rs.getBoolean("completed"));
+    }
+    if (fields.contains(TaskField.PRIORITY)) {
+      detail.priority(Task.Priority.fromCode(rs.getInt("priority")));
+    }
+    if (fields.contains(TaskField.ASSIGNED_TO_NAME)) {
+      detail.assignedToName(rs.getString("assignedToName"));
+    }
+    if (fields.contains(TaskField.ASSIGNED_TO)) {
+      detail.assignedTo(rs.getString("assignedTo"));
+    }
+    if (fields.contains(TaskField.DUE_DATE)) {
+      detail.dueDate(rs.getTimestamp("dueDate").toInstant());
+    }
+    if (fields.contains(TaskField.PARENT_ID)) {
+      detail.parentId(rs.getString("parentId"));
+    }
+    if (fields.contains(TaskField.VERSION)) {
+      detail.version(rs.getLong("version"));
+    }
+    return detail.build();
+  }
+
+  /**
+   * Reads an attachments JSON array in one streaming pass, straight into {@link Attachment}s,
+   * without building a {@code JsonArray} tree first.
+   *
+   * @return a mutable list, or null if {@code json} is the JSON literal {@code null}
+   * @throws JsonSyntaxException if {@code json} is not an array of attachment objects
+   */
+  static List<Attachment> parseAttachments(Gson gson, String json) {
+    return gson.fromJson(json, ATTACHMENTS);
   }
 }
@@ -4,33 +4,75 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.jdbc.core.RowMapper;
 
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskField;
 import com.event.tasker.util.CSVToArrayConverter;
 
+/**
+ * Maps task list rows. Only the columns for {@code fields} are read, so the mapper can be used with
+ * a projected select list; fields that were not selected are left null.
+ */
 public class TaskRowMapper implements RowMapper<Task> {
+  private final Set<TaskField> fields;
+
+  public TaskRowMapper() {
+    this(TaskField.ALL);
+  }
+
+  public TaskRowMapper(Set<TaskField> fields) {
+    this.fields = fields;
+  }
+
   @Override
   public Task mapRow(ResultSet rs, int rowNum) throws SQLException {
-    String tagsString = rs.getString("tags");
-    List<String> tags =
-        (tagsString != null)
-            ? CSVToArrayConverter.convertCommaSeparated(tagsString, String::trim)
-            : Collections.emptyList();
-
-    return Task.builder()
-        .id(rs.getString("id"))
-        .title(rs.getString("title"))
-        .description(rs.getString("description"))
-        .completed(rs.getBoolean("completed"))
-        .priority(Task.Priority.fromCode(rs.getInt("priority")))
-        .assignedTo(rs.getString("assignedTo"))
-        .profilePicture(rs.getString("profilePicture"))
-        .createdAt(rs.getTimestamp("createdAt").toInstant())
-        .dueDate(rs.getTimestamp("dueDate").toInstant())
-        .parentId(rs.getString("parentId"))
-        .tags(tags)
-        .build();
+    List<String> tags = null;
+    if (fields.contains(TaskField.TAGS)) {
+      String tagsString = rs.getString("tags");
+      tags =
+          (tagsString != null)
+              ? CSVToArrayConverter.convertCommaSeparated(tagsString, Function.identity())
+              : Collections.emptyList();
+    }
+
+    Task.TaskBuilder task = Task.builder().tags(tags);
+    if (fields.contains(TaskField.ID)) {
+      task.id(rs.getString("id"));
+    }
+    if (fields.contains(TaskField.TITLE)) {
+      task.title(rs.getString("title"));
+    }
+    if (fields.contains(TaskField.DESCRIPTION)) {
+      task.description(rs.getString("description"));
+    }
+    if (fields.contains(TaskField.COMPLETED)) {
+      task.completed(rs.getBoolean("completed"));
+    }
+    if (fields.contains(TaskField.PRIORITY)) {
+      task.priority(Task.Priority.fromCode(rs.getInt("priority")));
+    }
+    if (fields.contains(TaskField.ASSIGNED_TO)) {
+      task.assignedTo(rs.getString("assignedTo"));
+    }
+    if (fields.contains(TaskField.PROFILE_PICTURE)) {
+      task.profilePicture(rs.getString("profilePicture"));
+    }
+    if (fields.contains(TaskField.CREATED_AT)) {
+      task.createdAt(rs.getTimestamp("createdAt").toInstant());
+    }
+    if (fields.contains(TaskField.DUE_DATE)) {
+      task.dueDate(rs.getTimestamp("dueDate").toInstant());
+    }
+    if (fields.contains(TaskField.PARENT_ID)) {
+      task.parentId(rs.getString("parentId"));
+    }
+    if (fields.contains(TaskField.VERSION)) {
+      task.version(rs.getLong("version"));
+    }
+    return task.build();
   }
 }
@@ -0,0 +1,195 @@
+package com.event.tasker.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.datasource.DataSourceRouting;
+import com.event.tasker.event.TaskChangedEvent;
+import com.event.tasker.event.TasksImportedEvent;
+import com.event.tasker.model.Task;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index over task titles and descriptions, held in memory. It is built from the task list
+ * on the first search and after that kept current from {@link TaskChangedEvent}s, one task at a
+ * time.
+ *
+ * <p>Words are lower-cased runs of letters and digits; like InnoDB's default {@code
+ * innodb_ft_min_token_size}, words shorter than {@link #MIN_TOKEN_LENGTH} are not indexed. A task
+ * scores the sum of {@code tf * idf} over the query words it contains.
+ *
+ * <p>Returned tasks are shared with the index and must not be modified.
+ */
+@Component
+@ConditionalOnProperty(name = "tasker.search.engine", havingValue = "memory")
+@Slf4j
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+  static final int MIN_TOKEN_LENGTH = 3;
+
+  private final TaskDaoImpl taskDao;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  // word -> (task id -> occurrences of the word in that task)
+  private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+  private final Map<String, Task> tasks = new HashMap<>();
+  private volatile boolean loaded;
+
+  public InMemoryTaskSearchIndex(TaskDaoImpl taskDao) {
+    this.taskDao = taskDao;
+  }
+
+  @Override
+  public ArrayList<Task> search(String text, int offset, int limit) {
+    Set<String> words = new LinkedHashSet<>(tokenize(text));
+    if (words.isEmpty()) {
+      return new ArrayList<>();
+    }
+    load();
+
+    lock.readLock().lock();
+    try {
+      Map<String, Double> scores = new HashMap<>();
+      for (String word : words) {
+        Map<String, Integer> posting = postings.get(word);
+        if (posting == null) {
+          continue;
+        }
+
+        double idf = Math.log((double) tasks.size() / posting.size()) + 1;
+        posting.forEach((taskId, count) -> scores.merge(taskId, count * idf, Double::sum));
+      }
+
+      return scores.entrySet().stream()
+          .sorted(
+              Map.Entry.<String, Double>comparingByValue()
+                  .reversed()
+                  .thenComparing(Map.Entry.comparingByKey()))
+          .skip(offset)
+          .limit(limit)
+          .map(entry -> tasks.get(entry.getKey()))
+          .collect(Collectors.toCollection(ArrayList::new));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Re-indexes a single task once the change is committed. Created and updated tasks are read back
+   * by id; deleted tasks are dropped.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTaskChanged(TaskChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      if (!loaded) {
+        // Nothing indexed yet; the next search loads the current state.
+        return;
+      }
+
+      Optional<Task> task =
+          event.getType() == TaskChangedEvent.Type.DELETED
+              ? Optional.empty()
+              : DataSourceRouting.onPrimary(() -> taskDao.getTask(event.getTaskId()));
+      remove(event.getTaskId());
+      task.ifPresent(this::add);
+    } catch (RuntimeException e) {
+      log.warn("Dropping the task search index, could not apply {}", event, e);
+      postings.clear();
+      tasks.clear();
+      loaded = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Drops the index after a bulk import; the next search rebuilds it from the task list. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTasksImported(TasksImportedEvent event) {
+    lock.writeLock().lock();
+    try {
+      postings.clear();
+      tasks.clear();
+      loaded = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void load() {
+    if (loaded) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (!loaded) {
+        // From the primary: changes a lagging replica misses would never be indexed
+        DataSourceRouting.onPrimary(taskDao::getTasks).forEach(this::add);
+        loaded = true;
+        log.info("Indexed {} tasks for search", tasks.size());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void add(Task task) {
+    tasks.put(task.getId(), task);
+    wordCounts(task)
+        .forEach(
+            (word, count) ->
+                postings.computeIfAbsent(word, key -> new HashMap<>()).put(task.getId(), count));
+  }
+
+  private void remove(String taskId) {
+    Task task = tasks.remove(taskId);
+    if (task == null) {
+      return;
+    }
+
+    for (String word : wordCounts(task).keySet()) {
+      Map<String, Integer> posting = postings.get(word);
+      posting.remove(taskId);
+      if (posting.isEmpty()) {
+        postings.remove(word);
+      }
+    }
+  }
+
+  private static Map<String, Integer> wordCounts(Task task) {
+    Map<String, Integer> counts = new HashMap<>();
+    for (String field : new String[] {task.getTitle(), task.getDescription()}) {
+      tokenize(field).forEach(word -> counts.merge(word, 1, Integer::sum));
+    }
+    return counts;
+  }
+
+  static List<String> tokenize(String text) {
+    if (text == null) {
+      return List.of();
+    }
+
+    List<String> words = new ArrayList<>();
+    for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (word.length() >= MIN_TOKEN_LENGTH) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+}
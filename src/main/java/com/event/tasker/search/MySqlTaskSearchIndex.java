@@ -0,0 +1,25 @@
+package com.event.tasker.search;
+
+import java.util.ArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.model.Task;
+
+import lombok.RequiredArgsConstructor;
+
+/** Searches with MySQL's {@code FULLTEXT} index on {@code tasks(title, description)}. */
+@Component
+@ConditionalOnProperty(name = "tasker.search.engine", havingValue = "mysql", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MySqlTaskSearchIndex implements TaskSearchIndex {
+
+  private final TaskDaoImpl taskDao;
+
+  @Override
+  public ArrayList<Task> search(String text, int offset, int limit) {
+    return taskDao.searchTasks(text, offset, limit);
+  }
+}
@@ -0,0 +1,24 @@
+package com.event.tasker.search;
+
+import java.util.ArrayList;
+
+import com.event.tasker.model.Task;
+
+/**
+ * Ranked full-text search over task titles and descriptions. The implementation is picked with
+ * {@code tasker.search.engine}: {@code mysql} (the default) queries the {@code FULLTEXT} index,
+ * {@code memory} keeps an inverted index in process for databases without one, such as H2.
+ */
+public interface TaskSearchIndex {
+
+  /**
+   * Returns tasks matching any word of {@code text}, most relevant first. Ties are ordered by id so
+   * consecutive pages neither repeat nor skip tasks while the data is unchanged.
+   *
+   * @param text the words to search for
+   * @param offset the number of ranked matches to skip
+   * @param limit the maximum number of tasks to return
+   * @return up to {@code limit} matching tasks
+   */
+  ArrayList<Task> search(String text, int offset, int limit);
+}
@@ -1,24 +1,61 @@
 package com.event.tasker.service;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.event.tasker.model.BulkTaskResult;
 import com.event.tasker.model.Task;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskPage;
+import com.event.tasker.model.TaskPatch;
+import com.event.tasker.model.TaskQuery;
 import com.event.tasker.model.TaskerResponse;
 
 public interface TaskService {
+  int DEFAULT_PAGE_SIZE = 50;
+  int MAX_PAGE_SIZE = 200;
+  int DEFAULT_TREE_DEPTH = 5;
+  int MAX_TREE_DEPTH = 50;
+  int MAX_DETAIL_BATCH = 100;
+  int BULK_CHUNK_SIZE = 1000;
+
   ArrayList<Task> getTasks();
 
+  TaskPage getTaskPage(TaskQuery query, Set<TaskField> fields, String cursor, int limit);
+
+  TaskPage searchTasks(String text, String cursor, int limit);
+
+  TaskFacets getTaskFacets(TaskQuery query);
+
+  long getListVersion();
+
+  TaskNode getTaskTree(String taskId, int depth);
+
+  void streamTasks(TaskQuery query, Set<TaskField> fields, Consumer<Task> consumer);
+
   TaskerResponse<String> addTask(TaskDetail task, List<MultipartFile> files);
 
+  TaskerResponse<List<BulkTaskResult>> addTasks(Iterator<TaskDetail> tasks);
+
   void addAttachments(String taskId, List<MultipartFile> files);
 
-  TaskerResponse<String> deleteTask(String taskId);
+  TaskerResponse<String> deleteTask(String taskId, Long expectedVersion);
 
   TaskerResponse<TaskDetail> getTaskBy(String taskId);
 
+  TaskerResponse<TaskDetail> getTaskBy(String taskId, Set<TaskField> fields);
+
+  List<TaskDetail> getTaskDetails(List<String> taskIds, Set<TaskField> fields);
+
   TaskerResponse<String> updateTask(TaskDetail task, List<MultipartFile> files);
+
+  TaskerResponse<String> patchTask(String taskId, TaskPatch patch, Long expectedVersion);
 }
@@ -2,24 +2,63 @@ package com.event.tasker.service.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.event.tasker.DAO.TaskAttachmentDao;
+import com.event.tasker.DAO.TaskListVersionDao;
 import com.event.tasker.DAO.TaskTagDao;
 import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.cache.TaskDetailCache;
+import com.event.tasker.cache.TaskListSnapshot;
+import com.event.tasker.datasource.DataSourceRouting;
+import com.event.tasker.event.TaskChangedEvent;
+import com.event.tasker.event.TasksImportedEvent;
+import com.event.tasker.exception.ResourceNotFoundException;
+import com.event.tasker.exception.VersionConflictException;
 import com.event.tasker.model.Attachment;
+import com.event.tasker.model.BulkTaskResult;
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskCursor;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskPage;
+import com.event.tasker.model.TaskPatch;
+import com.event.tasker.model.TaskQuery;
 import com.event.tasker.model.TaskTag;
 import com.event.tasker.model.TaskerResponse;
+import com.event.tasker.search.TaskSearchIndex;
 import com.event.tasker.service.FileStorageService;
 import com.event.tasker.service.TaskService;
 
@@ -34,18 +73,138 @@ public class TaskServiceImpl implements TaskService {
   private final TaskDaoImpl taskDao;
   private final TaskAttachmentDao taskAttachmentDao;
   private final TaskTagDao taskTagDao;
+  private final TaskListVersionDao listVersionDao;
   private final FileStorageService fileStorageService;
   private final TransactionTemplate transactionTemplate;
+  private final TaskListSnapshot taskListSnapshot;
+  private final TaskDetailCache taskDetailCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TaskSearchIndex taskSearchIndex;
+
+  // Platform threads, or one virtual thread per upload with spring.threads.virtual.enabled
+  @Qualifier("applicationTaskExecutor")
+  private final Executor fileIoExecutor;
+
+  // Detail loads in progress, shared by concurrent requests for the same task and fields
+  private final ConcurrentHashMap<DetailKey, CompletableFuture<Optional<TaskDetail>>> detailLoads =
+      new ConcurrentHashMap<>();
 
   public ArrayList<Task> getTasks() {
     try {
-      return taskDao.getTasks();
+      return taskListSnapshot.getTasks();
     } catch (Exception e) {
       log.error("Error getting tasks", e);
       return null;
     }
   }
 
+  /**
+   * Returns one page of the tasks matching {@code query}. One extra row is requested from the DAO
+   * so the last page can be detected without a separate count query.
+   *
+   * @param query the filter criteria, or null for all tasks
+   * @param fields the fields to load for each task
+   * @param cursor the opaque token from the previous page, or null for the first page
+   * @param limit the requested page size, clamped to {@link TaskService#MAX_PAGE_SIZE}
+   * @return the page with a {@code nextCursor} when more tasks follow
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  @Override
+  public TaskPage getTaskPage(TaskQuery query, Set<TaskField> fields, String cursor, int limit) {
+    int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+    TaskCursor after = TaskCursor.decode(cursor);
+
+    ArrayList<Task> tasks =
+        DataSourceRouting.onReplica(() -> taskDao.getTasks(query, fields, after, pageSize + 1));
+
+    String nextCursor = null;
+    if (tasks.size() > pageSize) {
+      tasks = new ArrayList<>(tasks.subList(0, pageSize));
+      nextCursor = TaskCursor.from(tasks.getLast()).encode();
+    }
+
+    return TaskPage.builder().tasks(tasks).nextCursor(nextCursor).build();
+  }
+
+  /**
+   * Returns one page of the tasks matching {@code text}, most relevant first. Relevance gives no
+   * stable key to seek on, so the cursor handed to the client is the offset of the next page.
+   *
+   * @param text the words to search for
+   * @param cursor the token from the previous page, or null for the first page
+   * @param limit the requested page size, clamped to {@link TaskService#MAX_PAGE_SIZE}
+   * @return the page with a {@code nextCursor} when more matches follow
+   * @throws IllegalArgumentException if the text is blank or the cursor is malformed
+   */
+  @Override
+  public TaskPage searchTasks(String text, String cursor, int limit) {
+    if (text == null || text.isBlank()) {
+      throw new IllegalArgumentException("Search text must not be blank");
+    }
+    int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+    int offset = decodeOffset(cursor);
+
+    ArrayList<Task> tasks = taskSearchIndex.search(text.strip(), offset, pageSize + 1);
+
+    String nextCursor = null;
+    if (tasks.size() > pageSize) {
+      tasks = new ArrayList<>(tasks.subList(0, pageSize));
+      nextCursor = Integer.toString(offset + pageSize);
+    }
+
+    return TaskPage.builder().tasks(tasks).nextCursor(nextCursor).build();
+  }
+
+  private static int decodeOffset(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return 0;
+    }
+
+    try {
+      int offset = Integer.parseInt(cursor);
+      if (offset < 0) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+      return offset;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+  }
+
+  @Override
+  public TaskFacets getTaskFacets(TaskQuery query) {
+    return DataSourceRouting.onReplica(() -> taskDao.getTaskFacets(query));
+  }
+
+  /**
+   * Returns the stored version of the task lists, which every committed task write increments. A
+   * replica that lags only reports an older version, which makes clients refetch.
+   */
+  @Override
+  public long getListVersion() {
+    return DataSourceRouting.onReplica(() -> listVersionDao.getVersion());
+  }
+
+  /**
+   * Returns {@code taskId} with its subtasks down to {@code depth} levels.
+   *
+   * @param taskId the task at the top of the tree
+   * @param depth the number of levels below it, clamped to {@link TaskService#MAX_TREE_DEPTH}
+   * @return the tree
+   * @throws ResourceNotFoundException if the task does not exist
+   */
+  @Override
+  public TaskNode getTaskTree(String taskId, int depth) {
+    return DataSourceRouting.onReplica(
+            () -> taskDao.getTaskTree(taskId, Math.clamp(depth, 0, MAX_TREE_DEPTH)))
+        .orElseThrow(() -> new ResourceNotFoundException("Task " + taskId + " not found"));
+  }
+
+  @Override
+  public void streamTasks(TaskQuery query, Set<TaskField> fields, Consumer<Task> consumer) {
+    DataSourceRouting.onReplica(() -> taskDao.streamTasks(query, fields, consumer));
+  }
+
   @Override
   public TaskerResponse<String> addTask(TaskDetail task, List<MultipartFile> files) {
     task.setId(UUID.randomUUID().toString());
@@ -78,9 +237,20 @@ public class TaskServiceImpl implements TaskService {
               return insertStatus;
             });
 
+    if (taskStatus != null) {
+      eventPublisher.publishEvent(
+          new TaskChangedEvent(task.getId(), TaskChangedEvent.Type.CREATED));
+    }
+
     if (task.getAttachments() != null) {
       try {
-        this.addAttachments(task.getId(), files);
+        List<Attachment> attachments = storeFiles(task.getId(), files);
+        // In a transaction like every write, which also keeps it off a read replica
+        transactionTemplate.execute(
+            status -> {
+              attachments.forEach(taskAttachmentDao::createAttachment);
+              return null;
+            });
       } catch (RuntimeException e) {
         // The file upload failed, but the task is already saved.
         // We must return a special response to tell the user.
@@ -96,37 +266,272 @@ public class TaskServiceImpl implements TaskService {
     return TaskerResponse.<String>builder().message("Task created").status(taskStatus).build();
   }
 
+  /**
+   * Creates {@code tasks} in chunks of {@link TaskService#BULK_CHUNK_SIZE}. Each chunk is written
+   * in one transaction with one batched insert for its tasks and one for their tags. When the
+   * database rejects a chunk, its tasks are retried one by one, so a bad task fails alone and its
+   * neighbours are still created. Chunks already committed stay when a later one fails. Attachments
+   * are not imported.
+   *
+   * @param tasks the tasks to create, read one at a time; {@code next()} may throw {@link
+   *     IllegalArgumentException} for an item it could not read, which is reported as failed
+   * @return the result of every task in request order, with the ids of the created ones
+   */
+  @Override
+  public TaskerResponse<List<BulkTaskResult>> addTasks(Iterator<TaskDetail> tasks) {
+    List<BulkTaskResult> results = new ArrayList<>();
+    List<BulkItem> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+    int index = 0;
+    while (tasks.hasNext()) {
+      int position = index++;
+      try {
+        TaskDetail task = tasks.next();
+        validateBulkTask(task);
+        chunk.add(new BulkItem(position, task));
+      } catch (IllegalArgumentException e) {
+        results.add(failed(position, e.getMessage()));
+      }
+
+      if (chunk.size() == BULK_CHUNK_SIZE) {
+        results.addAll(createChunk(chunk));
+        chunk.clear();
+      }
+    }
+    results.addAll(createChunk(chunk));
+    results.sort(Comparator.comparingInt(BulkTaskResult::getIndex));
+
+    long created =
+        results.stream()
+            .filter(result -> result.getStatus() == BulkTaskResult.Status.CREATED)
+            .count();
+    log.info("Bulk import created {} of {} tasks", created, results.size());
+    return TaskerResponse.<List<BulkTaskResult>>builder()
+        .data(results)
+        .message(created + " of " + results.size() + " tasks created")
+        .status(created == results.size() ? "CREATED" : "PARTIAL_SUCCESS")
+        .build();
+  }
+
+  private static void validateBulkTask(TaskDetail task) {
+    if (task == null) {
+      throw new IllegalArgumentException("Task must not be null");
+    }
+    if (task.getTitle() == null || task.getTitle().isBlank()) {
+      throw new IllegalArgumentException("Title is required");
+    }
+    if (task.getPriority() == null) {
+      throw new IllegalArgumentException("Priority is required");
+    }
+  }
+
+  private List<BulkTaskResult> createChunk(List<BulkItem> chunk) {
+    if (chunk.isEmpty()) {
+      return List.of();
+    }
+    chunk.forEach(item -> item.task().setId(UUID.randomUUID().toString()));
+
+    List<BulkTaskResult> results = new ArrayList<>(chunk.size());
+    try {
+      insertChunk(chunk);
+      chunk.forEach(item -> results.add(created(item)));
+    } catch (DataAccessException e) {
+      log.warn("Bulk chunk of {} tasks rejected, retrying them one by one", chunk.size(), e);
+      for (BulkItem item : chunk) {
+        try {
+          insertChunk(List.of(item));
+          results.add(created(item));
+        } catch (DataAccessException itemError) {
+          log.warn("Bulk task at index {} rejected", item.index(), itemError);
+          results.add(failed(item.index(), "Task could not be saved"));
+        }
+      }
+    }
+
+    List<String> createdIds =
+        results.stream()
+            .filter(result -> result.getStatus() == BulkTaskResult.Status.CREATED)
+            .map(BulkTaskResult::getId)
+            .toList();
+    if (!createdIds.isEmpty()) {
+      eventPublisher.publishEvent(new TasksImportedEvent(createdIds));
+    }
+    return results;
+  }
+
+  private void insertChunk(List<BulkItem> chunk) {
+    List<Task> tasks = new ArrayList<>(chunk.size());
+    ArrayList<TaskTag> taskTags = new ArrayList<>();
+    for (BulkItem item : chunk) {
+      TaskDetail task = item.task();
+      tasks.add(
+          Task.builder()
+              .id(task.getId())
+              .description(task.getDescription())
+              .title(task.getTitle())
+              .dueDate(task.getDueDate())
+              .priority(task.getPriority())
+              .parentId(task.getParentId())
+              .assignedTo(task.getAssignedTo())
+              .completed(task.getCompleted())
+              .build());
+      if (task.getTags() != null) {
+        task.getTags().stream()
+            .distinct()
+            .forEach(tag -> taskTags.add(TaskTag.builder().taskId(task.getId()).name(tag).build()));
+      }
+    }
+
+    transactionTemplate.execute(
+        status -> {
+          taskDao.createTasks(tasks);
+          taskTagDao.createTaskTags(taskTags);
+          return null;
+        });
+  }
+
+  private static BulkTaskResult created(BulkItem item) {
+    return BulkTaskResult.builder()
+        .index(item.index())
+        .id(item.task().getId())
+        .status(BulkTaskResult.Status.CREATED)
+        .build();
+  }
+
+  private static BulkTaskResult failed(int index, String error) {
+    return BulkTaskResult.builder()
+        .index(index)
+        .status(BulkTaskResult.Status.FAILED)
+        .error(error)
+        .build();
+  }
+
+  private record BulkItem(int index, TaskDetail task) {}
+
+  /**
+   * Stores the non-empty {@code files} and records them as attachments of {@code taskId}, inside
+   * the caller's transaction if there is one. No row is inserted unless every file was stored, and
+   * the stored files are deleted in the background if the rows are not committed.
+   */
   public void addAttachments(String taskId, List<MultipartFile> files) {
-    if (files == null || files.isEmpty()) {
+    List<Attachment> attachments = storeFiles(taskId, files);
+    if (attachments.isEmpty()) {
       return;
     }
 
-    for (MultipartFile file : files) {
-      if (file.isEmpty()) {
-        continue;
+    Set<String> fileIds =
+        attachments.stream().map(Attachment::getFileName).collect(Collectors.toSet());
+    boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+    if (inTransaction) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status == STATUS_ROLLED_BACK) {
+                fileIoExecutor.execute(() -> deleteFiles(taskId, fileIds));
+              }
+            }
+          });
+    }
+    try {
+      attachments.forEach(taskAttachmentDao::createAttachment);
+    } catch (RuntimeException e) {
+      // Inside a transaction the rollback deletes the files; without one nothing else will
+      if (!inTransaction) {
+        fileIoExecutor.execute(() -> deleteFiles(taskId, fileIds));
       }
+      throw e;
+    }
+  }
 
-      String uniqueFileName;
+  /**
+   * Uploads the non-empty {@code files} concurrently on the file I/O executor and returns their
+   * attachments for {@code taskId}, in file order. On the first failure the uploads that have not
+   * started are skipped, the running ones are waited for, and every file already stored is deleted
+   * again, so a failed batch leaves no file behind.
+   */
+  private List<Attachment> storeFiles(String taskId, List<MultipartFile> files) {
+    if (files == null || files.isEmpty()) {
+      return List.of();
+    }
+
+    List<MultipartFile> nonEmpty = files.stream().filter(file -> !file.isEmpty()).toList();
+    AtomicBoolean aborted = new AtomicBoolean();
+    Set<String> stored = ConcurrentHashMap.newKeySet();
+    CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+    List<CompletableFuture<Attachment>> uploads = new ArrayList<>(nonEmpty.size());
+    for (MultipartFile file : nonEmpty) {
+      CompletableFuture<Attachment> upload =
+          CompletableFuture.supplyAsync(() -> store(file, aborted, stored), fileIoExecutor);
+      upload.whenComplete(
+          (attachment, e) -> {
+            if (e != null) {
+              aborted.set(true);
+              firstFailure.completeExceptionally(e);
+            }
+          });
+      uploads.add(upload);
+    }
+
+    CompletableFuture<Void> all =
+        CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new));
+    try {
+      CompletableFuture.anyOf(firstFailure, all).join();
+    } catch (CompletionException e) {
+      log.error(
+          "Upload failed for one of the files for task {}. Rolling back this batch.",
+          taskId,
+          e.getCause());
+      // Running uploads cannot be stopped; wait for them so none stores a file after the cleanup
+      all.exceptionally(ignored -> null).join();
+      deleteFiles(taskId, stored);
+      throw new RuntimeException(e.getMessage(), e.getCause());
+    }
+
+    List<Attachment> attachments = uploads.stream().map(CompletableFuture::join).toList();
+    attachments.forEach(attachment -> attachment.setTaskId(taskId));
+    return attachments;
+  }
+
+  private Attachment store(MultipartFile file, AtomicBoolean aborted, Set<String> stored) {
+    if (aborted.get()) {
+      throw new CancellationException("Another file of the batch failed to upload");
+    }
+    try {
+      String uniqueFileName = fileStorageService.uploadFile(file);
+      stored.add(uniqueFileName);
+      return fileStorageService.getFileMetadata(uniqueFileName);
+    } catch (IOException e) {
+      throw new CompletionException("Failed to store file " + file.getOriginalFilename(), e);
+    }
+  }
+
+  private void deleteFiles(String taskId, Set<String> fileIds) {
+    for (String fileId : fileIds) {
       try {
-        uniqueFileName = fileStorageService.uploadFile(file);
-        Attachment attachment = fileStorageService.getFileMetadata(uniqueFileName);
-        attachment.setTaskId(taskId);
-        taskAttachmentDao.createAttachment(attachment);
-        // TODO: if db insertion fails then rollback file upload in background
+        fileStorageService.deleteFile(fileId);
       } catch (IOException e) {
-        log.error(
-            "Upload failed for one of the files for task {}. Rolling back this batch.", taskId, e);
-        throw new RuntimeException("Failed to store file " + file.getOriginalFilename(), e);
+        log.warn("Could not delete file {} of a failed upload for task {}", fileId, taskId, e);
       }
     }
   }
 
+  /**
+   * Soft deletes a task.
+   *
+   * @param taskId the task to delete
+   * @param expectedVersion the version the client last read, or null to delete unconditionally
+   * @return the result message
+   * @throws VersionConflictException if the task has changed since {@code expectedVersion}
+   */
   @Override
-  public TaskerResponse<String> deleteTask(String taskId) {
+  @Transactional
+  public TaskerResponse<String> deleteTask(String taskId, Long expectedVersion) {
     try {
-      if (taskDao.softDeleteTaskById(taskId)) {
+      if (taskDao.softDeleteTaskById(taskId, expectedVersion)) {
+        eventPublisher.publishEvent(new TaskChangedEvent(taskId, TaskChangedEvent.Type.DELETED));
         return TaskerResponse.<String>builder().message("Task deleted").status("DELETED").build();
       } else {
+        checkVersionConflict(taskId, expectedVersion);
         return TaskerResponse.<String>builder().message("Task not found").build();
       }
     } catch (Exception e) {
@@ -137,11 +542,16 @@ public class TaskServiceImpl implements TaskService {
 
   @Override
   public TaskerResponse<TaskDetail> getTaskBy(String taskId) {
+    return getTaskBy(taskId, TaskField.ALL);
+  }
+
+  @Override
+  public TaskerResponse<TaskDetail> getTaskBy(String taskId, Set<TaskField> fields) {
     try {
-      Optional<TaskDetail> taskDetail = taskDao.getTaskDetail(taskId);
+      List<TaskDetail> taskDetail = getTaskDetails(List.of(taskId), fields);
 
-      if (taskDetail.isPresent()) {
-        TaskDetail detail = taskDetail.get();
+      if (!taskDetail.isEmpty()) {
+        TaskDetail detail = taskDetail.getFirst();
         return TaskerResponse.<TaskDetail>builder()
             .data(detail)
             .message("Task " + taskId + " found")
@@ -154,6 +564,101 @@ public class TaskServiceImpl implements TaskService {
     return null;
   }
 
+  /**
+   * Returns the details of the given tasks in request order, skipping ids that do not exist and
+   * repeated ids. A single id is read with one statement, several with the DAO's fixed three.
+   *
+   * <p>Full details are served from the {@link TaskDetailCache}. Concurrent requests for the same
+   * task and fields share one load: an id that another request is already reading is awaited
+   * instead of queried again.
+   *
+   * @param taskIds the tasks to load, at most {@link TaskService#MAX_DETAIL_BATCH}
+   * @param fields the fields to load for each task
+   * @return the details found
+   * @throws IllegalArgumentException if no id or too many ids are given
+   */
+  @Override
+  public List<TaskDetail> getTaskDetails(List<String> taskIds, Set<TaskField> fields) {
+    List<String> distinct = taskIds.stream().distinct().toList();
+    if (distinct.isEmpty() || distinct.size() > MAX_DETAIL_BATCH) {
+      throw new IllegalArgumentException(
+          "Between 1 and " + MAX_DETAIL_BATCH + " task ids are required");
+    }
+
+    if (TaskField.ALL.equals(fields)) {
+      if (distinct.size() == 1) {
+        return taskDetailCache.get(distinct.getFirst()).map(List::of).orElseGet(List::of);
+      }
+      Map<String, TaskDetail> cached = taskDetailCache.getAll(distinct);
+      return distinct.stream().map(cached::get).filter(Objects::nonNull).toList();
+    }
+
+    Map<String, CompletableFuture<Optional<TaskDetail>>> pending = new LinkedHashMap<>();
+    Map<String, CompletableFuture<Optional<TaskDetail>>> owned = new LinkedHashMap<>();
+    for (String taskId : distinct) {
+      CompletableFuture<Optional<TaskDetail>> load = new CompletableFuture<>();
+      CompletableFuture<Optional<TaskDetail>> running =
+          detailLoads.putIfAbsent(new DetailKey(taskId, fields), load);
+      if (running == null) {
+        owned.put(taskId, load);
+        pending.put(taskId, load);
+      } else {
+        pending.put(taskId, running);
+      }
+    }
+
+    if (!owned.isEmpty()) {
+      loadDetails(owned, fields);
+    }
+
+    List<TaskDetail> details = new ArrayList<>(pending.size());
+    try {
+      pending.values().forEach(load -> load.join().ifPresent(details::add));
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return details;
+  }
+
+  /** Loads the tasks this request registered first and completes their futures. */
+  private void loadDetails(
+      Map<String, CompletableFuture<Optional<TaskDetail>>> owned, Set<TaskField> fields) {
+    try {
+      Map<String, TaskDetail> loaded =
+          DataSourceRouting.onReplica(() -> readDetails(owned.keySet(), fields));
+      owned.forEach((taskId, load) -> load.complete(Optional.ofNullable(loaded.get(taskId))));
+    } catch (RuntimeException e) {
+      owned.values().forEach(load -> load.completeExceptionally(e));
+    } finally {
+      owned.forEach((taskId, load) -> detailLoads.remove(new DetailKey(taskId, fields), load));
+    }
+  }
+
+  private Map<String, TaskDetail> readDetails(Set<String> taskIds, Set<TaskField> fields) {
+    if (taskIds.size() == 1) {
+      String taskId = taskIds.iterator().next();
+      Map<String, TaskDetail> loaded = new HashMap<>();
+      taskDao.getTaskDetail(taskId, fields).ifPresent(detail -> loaded.put(taskId, detail));
+      return loaded;
+    }
+    return taskDao.getTaskDetails(taskIds, fields);
+  }
+
+  private record DetailKey(String taskId, Set<TaskField> fields) {}
+
+  /**
+   * Replaces a task. The task row is written first, so a stale {@code version} fails the request
+   * before any tag or attachment is touched.
+   *
+   * @param taskDetail the new state; its {@code version} is the version the client last read, or
+   *     null to update unconditionally
+   * @param files new attachments to upload
+   * @return the result message
+   * @throws VersionConflictException if the task has changed since {@code taskDetail.version}
+   */
   @Override
   @Transactional
   public TaskerResponse<String> updateTask(TaskDetail taskDetail, List<MultipartFile> files) {
@@ -169,9 +674,15 @@ public class TaskServiceImpl implements TaskService {
               .parentId(taskDetail.getParentId())
               .assignedTo(taskDetail.getAssignedTo())
               .tags(taskDetail.getTags())
-              .completed(taskDetail.isCompleted())
+              .completed(taskDetail.getCompleted())
+              .version(taskDetail.getVersion())
               .build();
 
+      if (!taskDao.updateTask(task)) {
+        checkVersionConflict(task.getId(), task.getVersion());
+        throw new ResourceNotFoundException("Task " + task.getId() + " not found");
+      }
+
       List<Attachment> attachments = taskDetail.getAttachments();
 
       if (attachments != null && !attachments.isEmpty()) {
@@ -199,40 +710,111 @@ public class TaskServiceImpl implements TaskService {
       List<String> tags = taskDetail.getTags();
 
       if (tags != null && !tags.isEmpty()) {
-        List<String> currentTags = taskTagDao.getTaskTagsBy(taskDetail.getId());
+        reconcileTags(taskDetail.getId(), tags, taskDetail.getVersion());
+      }
 
-        if (currentTags != null && !currentTags.isEmpty()) {
-          ArrayList<String> deletedTags =
-              currentTags.stream()
-                  .filter(tag -> !tags.contains(tag))
-                  .collect(Collectors.toCollection(ArrayList::new));
+      eventPublisher.publishEvent(
+          new TaskChangedEvent(task.getId(), TaskChangedEvent.Type.UPDATED));
+      return TaskerResponse.<String>builder().message("Task " + task.getId() + " updated").build();
+    } catch (Exception e) {
+      log.error("Error updating task {}", taskDetail.getId(), e);
+      throw e;
+    }
+  }
 
-          ArrayList<TaskTag> taskTags =
-              deletedTags.stream()
-                  .map((tag) -> TaskTag.builder().taskId("").name(tag).build())
-                  .collect(Collectors.toCollection(ArrayList::new));
+  /**
+   * Applies a JSON merge patch. The changed columns are written with one UPDATE and the task is
+   * not read first, so flipping {@code completed} or {@code priority} costs a single statement.
+   * The same UPDATE increments the version, and is issued even when only the tags change.
+   *
+   * @param taskId the task to change
+   * @param patch the parsed patch
+   * @param expectedVersion the version the client last read, or null to patch unconditionally
+   * @return the result message
+   * @throws ResourceNotFoundException if the task does not exist
+   * @throws VersionConflictException if the task has changed since {@code expectedVersion}
+   */
+  @Override
+  @Transactional
+  public TaskerResponse<String> patchTask(String taskId, TaskPatch patch, Long expectedVersion) {
+    if (patch.isEmpty()) {
+      return TaskerResponse.<String>builder().message("Task " + taskId + " unchanged").build();
+    }
+    if (taskId.equals(patch.getColumns().get(TaskField.PARENT_ID))) {
+      throw new IllegalArgumentException("A task cannot be its own parent");
+    }
 
-          taskTagDao.deleteTaskTags(taskTags, task.getId());
-          tags.removeAll(currentTags);
-        }
+    if (!taskDao.patchTask(taskId, patch.getColumns(), expectedVersion)) {
+      checkVersionConflict(taskId, expectedVersion);
+      throw new ResourceNotFoundException("Task " + taskId + " not found");
+    }
 
-        taskTagDao.createTaskTags(
-            tags.stream()
-                .map((tag) -> TaskTag.builder().taskId("").name(tag).build())
-                .collect(Collectors.toCollection(ArrayList::new)));
-        log.info("Updating tags for task {}", taskDetail.getId());
-      }
+    if (patch.getTags() != null) {
+      reconcileTags(taskId, patch.getTags(), expectedVersion);
+    }
 
-      if (taskDao.updateTask(task)) {
-        return TaskerResponse.<String>builder()
-            .message("Task " + task.getId() + " updated")
-            .build();
-      } else {
-        return TaskerResponse.<String>builder().message("Task update failed.").build();
+    eventPublisher.publishEvent(new TaskChangedEvent(taskId, TaskChangedEvent.Type.UPDATED));
+    return TaskerResponse.<String>builder().message("Task " + taskId + " updated").build();
+  }
+
+  /**
+   * Called when a write matched no row. With an expected version, a task that still exists has
+   * moved on to another version, which is reported as a conflict; otherwise the caller treats the
+   * task as missing.
+   */
+  private void checkVersionConflict(String taskId, Long expectedVersion) {
+    if (expectedVersion == null) {
+      return;
+    }
+    Optional<Long> current = taskDao.getTaskVersion(taskId);
+    if (current.isPresent()) {
+      throw new VersionConflictException(
+          "Task " + taskId + " has changed since version " + expectedVersion, current.get());
+    }
+  }
+
+  /**
+   * Makes {@code tags} the live tags of {@code taskId}, writing only the difference from the
+   * current tags and nothing when there is none. A write conditional on {@code expectedVersion}
+   * takes the current tags from a cached detail at that version instead of reading them.
+   */
+  private void reconcileTags(String taskId, Collection<String> tags, Long expectedVersion) {
+    // Compared like the task_tags.tag collation does, so a change of case alone writes nothing
+    Set<String> current = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    current.addAll(
+        cachedTags(taskId, expectedVersion).orElseGet(() -> taskTagDao.getTaskTagsBy(taskId)));
+    Set<String> wanted = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    Set<String> added = new LinkedHashSet<>();
+    for (String tag : tags) {
+      if (wanted.add(tag) && !current.contains(tag)) {
+        added.add(tag);
       }
-    } catch (Exception e) {
-      log.error("Error updating task {}", taskDetail.getId(), e);
-      throw e;
     }
+    Set<String> removed = new LinkedHashSet<>();
+    for (String tag : current) {
+      if (!wanted.contains(tag)) {
+        removed.add(tag);
+      }
+    }
+
+    if (!added.isEmpty() || !removed.isEmpty()) {
+      log.info("Updating tags for task {}: +{} -{}", taskId, added, removed);
+      taskTagDao.updateTaskTags(taskId, added, removed);
+    }
+  }
+
+  /**
+   * The tags of {@code taskId} as of {@code version}, when the detail cache holds the task at that
+   * version. The conditional write that just succeeded holds the task's row lock, and every tag
+   * write bumps the version under it, so they are still the current tags.
+   */
+  private Optional<List<String>> cachedTags(String taskId, Long version) {
+    if (version == null) {
+      return Optional.empty();
+    }
+    return taskDetailCache
+        .getIfPresent(taskId)
+        .filter(detail -> version.equals(detail.getVersion()))
+        .map(detail -> detail.getTags() == null ? List.<String>of() : detail.getTags());
   }
 }
@@ -5,7 +5,7 @@ import java.util.ArrayList;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
-import com.event.tasker.DAO.impl.UiOptionDaoImpl;
+import com.event.tasker.cache.PriorityLabelRegistry;
 import com.event.tasker.model.UiOption;
 import com.event.tasker.service.UiOptionService;
 
@@ -16,12 +16,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class UiOptionServiceImpl implements UiOptionService {
-  private final UiOptionDaoImpl uiOptionDao;
+  private final PriorityLabelRegistry priorityLabelRegistry;
 
   @Override
   public ArrayList<UiOption> getPriorityLabels(String id) {
     try {
-      return uiOptionDao.getPriorityLabels(id);
+      return priorityLabelRegistry.getPriorityLabels(id);
     } catch (DataAccessException e) {
       log.error("Error retrieving priority labels", e);
       throw e;
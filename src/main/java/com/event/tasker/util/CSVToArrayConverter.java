@@ -1,34 +1,85 @@
 package com.event.tasker.util;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class CSVToArrayConverter {
+
+  /**
+   * Splits {@code dbString} on commas, trims every value and converts the non-empty ones. Values
+   * the converter rejects with an exception, or maps to null, are logged or skipped.
+   *
+   * <p>Values are already trimmed when they reach the converter, so callers that only want the
+   * strings should pass {@link Function#identity()}, which skips the per-value conversion.
+   *
+   * @return a mutable list, or an immutable empty list when {@code dbString} is null or blank
+   */
   public static <T> List<T> convertCommaSeparated(String dbString, Function<String, T> converter) {
-    if (dbString == null || dbString.trim().isEmpty()) {
+    if (dbString == null) {
+      return Collections.emptyList();
+    }
+
+    int length = dbString.length();
+    int commas = 0;
+    boolean blank = true;
+    for (int i = 0; i < length; i++) {
+      char c = dbString.charAt(i);
+      if (c == ',') {
+        commas++;
+      }
+      // Same notion of blank as String.trim()
+      blank &= c <= ' ';
+    }
+    if (blank) {
       return Collections.emptyList();
     }
 
-    return Arrays.stream(dbString.split(","))
-        .map(String::trim)
-        .filter(s -> !s.isEmpty())
-        .map(
-            str -> {
-              try {
-                return converter.apply(str);
-              } catch (Exception e) {
-                log.warn("Failed to convert value: {}", str, e);
-                return null;
-              }
-            })
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
+    boolean identity = converter == Function.<String>identity();
+    List<T> values = new ArrayList<>(commas + 1);
+    int start = 0;
+    while (start <= length) {
+      int end = dbString.indexOf(',', start);
+      if (end < 0) {
+        end = length;
+      }
+
+      int from = start;
+      int to = end;
+      while (from < to && dbString.charAt(from) <= ' ') {
+        from++;
+      }
+      while (to > from && dbString.charAt(to - 1) <= ' ') {
+        to--;
+      }
+      if (from < to) {
+        String value = dbString.substring(from, to);
+        if (identity) {
+          @SuppressWarnings("unchecked")
+          T same = (T) value;
+          values.add(same);
+        } else {
+          T converted = convert(value, converter);
+          if (converted != null) {
+            values.add(converted);
+          }
+        }
+      }
+      start = end + 1;
+    }
+    return values;
+  }
+
+  private static <T> T convert(String value, Function<String, T> converter) {
+    try {
+      return converter.apply(value);
+    } catch (Exception e) {
+      log.warn("Failed to convert value: {}", value, e);
+      return null;
+    }
   }
 }
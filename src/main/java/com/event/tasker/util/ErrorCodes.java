@@ -12,6 +12,8 @@ public class ErrorCodes {
   // HTTP related
   public static final String METHOD_NOT_ALLOWED = "METHOD_NOT_ALLOWED";
   public static final String RESOURCE_NOT_FOUND = "RESOURCE_NOT_FOUND";
+  public static final String SERVICE_BUSY = "SERVICE_BUSY";
+  public static final String VERSION_CONFLICT = "VERSION_CONFLICT";
 
   // Generic
   public static final String INTERNAL_SERVER_ERROR = "INTERNAL_SERVER_ERROR";
@@ -0,0 +1,7 @@
+-- Server-side filtering on the task list (see TaskQuerySql):
+--   assignee + due range:  assigned_to = ? AND isDeleted = 0 AND due_date >= ? AND due_date < ?
+--   priority:              priority = ?
+--   tag:                   EXISTS (SELECT 1 FROM task_tags WHERE task_id = t.id AND tag = ?)
+CREATE INDEX idx_tasks_assignee_deleted_due ON tasks (assigned_to, isDeleted, due_date);
+CREATE INDEX idx_tasks_priority ON tasks (priority);
+CREATE INDEX idx_task_tags_tag ON task_tags (tag);
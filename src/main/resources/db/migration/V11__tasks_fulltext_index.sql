@@ -0,0 +1,3 @@
+-- Full-text search on the task list (see TaskDaoImpl#searchTasks):
+--   MATCH(title, description) AGAINST (? IN NATURAL LANGUAGE MODE)
+CREATE FULLTEXT INDEX ft_tasks_title_description ON tasks (title, description);
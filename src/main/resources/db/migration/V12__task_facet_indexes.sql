@@ -0,0 +1,8 @@
+-- Dashboard facets (see TaskDaoImpl#getTaskFacets). Each count is a GROUP BY that can be answered
+-- from one of these indexes without reading table rows:
+--   priority, completed:  WHERE isDeleted = 0 GROUP BY priority / completed
+--   assignee:             idx_tasks_assignee_deleted_due from V10
+--   tag:                  WHERE tt.isDeleted = 0 GROUP BY tt.tag, joined to tasks by primary key
+CREATE INDEX idx_tasks_deleted_priority ON tasks (isDeleted, priority);
+CREATE INDEX idx_tasks_deleted_completed ON tasks (isDeleted, completed);
+CREATE INDEX idx_task_tags_deleted_tag ON task_tags (isDeleted, tag, task_id);
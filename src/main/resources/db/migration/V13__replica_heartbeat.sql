@@ -0,0 +1,8 @@
+-- Heartbeat for read replica lag (see ReplicaLagMonitor). The application writes the current time
+-- to the primary and reads it back from the replica; the difference is the replica's lag.
+CREATE TABLE replica_heartbeat (
+    id TINYINT NOT NULL PRIMARY KEY,
+    beat_at TIMESTAMP(3) NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(3));
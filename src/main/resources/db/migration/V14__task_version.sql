@@ -0,0 +1,4 @@
+-- Row version for optimistic concurrency. Every write to a task increments it; a conditional write
+--   UPDATE tasks SET ..., version = version + 1 WHERE id = :id AND version = :version
+-- only applies while the version the client read is still current.
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- Transactional outbox for task changes (see TaskOutboxRelay). Task, tag and attachment writes add
+-- a row in their own transaction; the relay drains rows in id order with
+--   SELECT ... ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED
+-- and deletes them once published. task_id is null when the changed task is not known.
+CREATE TABLE task_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    task_id VARCHAR(255) NULL,
+    type VARCHAR(32) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    KEY idx_task_outbox_task (task_id, id)
+);
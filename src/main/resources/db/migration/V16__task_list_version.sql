@@ -0,0 +1,8 @@
+-- Version of the task lists (see TaskListVersionDaoImpl). Every task, tag and attachment write
+-- increments it in its own transaction, so the list ETag is one primary-key read.
+CREATE TABLE task_list_version (
+    id TINYINT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO task_list_version (id, version) VALUES (1, 0);
@@ -0,0 +1,4 @@
+-- Keyset pagination on the task list:
+--   WHERE isDeleted = 0 AND (created_at, id) < (:createdAt, :id)
+--   ORDER BY created_at DESC, id DESC LIMIT :limit
+CREATE INDEX idx_tasks_deleted_created_id ON tasks (isDeleted, created_at, id);
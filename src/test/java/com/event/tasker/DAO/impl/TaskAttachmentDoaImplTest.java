@@ -7,7 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.util.AssertionErrors.assertNotNull;
 
@@ -19,6 +23,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,7 +34,11 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
+import com.event.tasker.DAO.TaskDao;
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.cache.TaskVersionStamps;
 import com.event.tasker.model.Attachment;
+import com.event.tasker.model.TaskOutboxEvent;
 import com.event.tasker.rowMapper.AttachmentRowMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +48,9 @@ public class TaskAttachmentDoaImplTest {
   @InjectMocks TaskAttachmentDaoImpl taskDao;
 
   @Mock NamedParameterJdbcTemplate jdbcTemplate;
+  @Mock TaskVersionStamps versionStamps;
+  @Mock TaskOutboxDao outboxDao;
+  @Mock TaskDao tasks;
 
   @Test
   @DisplayName("createAttachment: should return attachment ID when insertion succeeds")
@@ -61,7 +73,11 @@ public class TaskAttachmentDoaImplTest {
     // Assert
     assertNotNull(result, "Returned attachment ID should not be null");
     assertEquals("att-1", result, "Returned ID should match the attachment ID");
-    verify(jdbcTemplate).update(anyString(), any(SqlParameterSource.class));
+    InOrder order = inOrder(tasks, jdbcTemplate);
+    order.verify(tasks).lockTasks(List.of("task-1"));
+    order.verify(jdbcTemplate).update(anyString(), any(SqlParameterSource.class));
+    order.verify(tasks).bumpVersions(List.of("task-1"));
+    verify(outboxDao).appendAll(List.of("task-1"), TaskOutboxEvent.Type.ATTACHMENTS_CHANGED);
   }
 
   @Test
@@ -240,6 +256,10 @@ public class TaskAttachmentDoaImplTest {
     assertEquals(attachment.getFileName(), capturedParams.getValue("fileName"));
     assertEquals(attachment.getFileType(), capturedParams.getValue("fileType"));
     assertEquals(attachment.getTaskId(), capturedParams.getValue("taskId"));
+    verify(tasks).lockTasks(List.of("task-abc"));
+    verify(tasks).bumpVersions(List.of("task-abc"));
+    verify(versionStamps).taskChanged("task-abc");
+    verify(outboxDao).appendAll(List.of("task-abc"), TaskOutboxEvent.Type.ATTACHMENTS_CHANGED);
   }
 
   @Test
@@ -264,6 +284,8 @@ public class TaskAttachmentDoaImplTest {
     // Assert
     assertNull(resultId, "Should return null when no attachment is found to update");
     verify(jdbcTemplate).update(anyString(), any(MapSqlParameterSource.class));
+    verify(tasks, never()).bumpVersions(any());
+    verifyNoInteractions(versionStamps, outboxDao);
   }
 
   @Test
@@ -305,6 +327,27 @@ public class TaskAttachmentDoaImplTest {
 
     // then
     assertEquals(taskId, result);
+    verify(tasks).lockTasks(List.of(taskId));
+    verify(tasks).bumpVersions(List.of(taskId));
+    verify(versionStamps).taskChanged(taskId);
+    verify(outboxDao).appendAll(List.of(taskId), TaskOutboxEvent.Type.ATTACHMENTS_CHANGED);
+  }
+
+  @Test
+  @DisplayName("should not bump the version or record an event when the task has no attachment")
+  void shouldSkipEventsWhenNoAttachmentDeleted() {
+    // given
+    String taskId = "123";
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(0);
+
+    // when
+    String result = taskDao.deleteAttachment(null, taskId);
+
+    // then
+    assertNull(result);
+    verify(tasks).lockTasks(List.of(taskId));
+    verify(tasks, never()).bumpVersions(any());
+    verifyNoInteractions(versionStamps, outboxDao);
   }
 
   @Test
@@ -312,6 +355,8 @@ public class TaskAttachmentDoaImplTest {
   void shouldDeleteAttachmentById() {
     // given
     String id = "attach-123";
+    when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+        .thenReturn(List.of("task-1"));
     when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(1);
 
     // when
@@ -319,6 +364,9 @@ public class TaskAttachmentDoaImplTest {
 
     // then
     assertEquals(id, result);
+    verify(tasks).bumpVersions(List.of("task-1"));
+    verify(versionStamps).taskChanged("task-1");
+    verify(outboxDao).appendAll(List.of("task-1"), TaskOutboxEvent.Type.ATTACHMENTS_CHANGED);
   }
 
   @Test
@@ -403,6 +451,8 @@ public class TaskAttachmentDoaImplTest {
     ArrayList<String> ids = new ArrayList<>(List.of("att-1", "att-2", "att-3"));
     int[] batchResult = new int[] {1, 1, 1}; // Simulate all updates succeeded
 
+    when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+        .thenReturn(List.of("task-1", "task-2"));
     when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
         .thenReturn(batchResult);
 
@@ -412,6 +462,9 @@ public class TaskAttachmentDoaImplTest {
     // Assert
     assertEquals("Soft-deleted 3 attachments", result);
     verify(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    verify(tasks).bumpVersions(List.of("task-1", "task-2"));
+    verify(outboxDao)
+        .appendAll(List.of("task-1", "task-2"), TaskOutboxEvent.Type.ATTACHMENTS_CHANGED);
   }
 
   @Test
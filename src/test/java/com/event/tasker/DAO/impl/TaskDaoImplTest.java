@@ -8,18 +8,32 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,15 +45,29 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
+import com.event.tasker.DAO.TaskListVersionDao;
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.cache.TaskVersionStamps;
 import com.event.tasker.model.Attachment;
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskCursor;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskOutboxEvent;
+import com.event.tasker.model.TaskQuery;
 import com.event.tasker.rowMapper.TaskDetailRowMapper;
 import com.event.tasker.rowMapper.TaskRowMapper;
 import com.event.tasker.util.CSVToArrayConverter;
@@ -51,6 +79,9 @@ class TaskDaoImplTest {
 
   private Task sampleTask;
   @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+  @Mock private TaskVersionStamps versionStamps;
+  @Mock private TaskOutboxDao outboxDao;
+  @Mock private TaskListVersionDao listVersionDao;
 
   @InjectMocks private TaskDaoImpl taskDao;
 
@@ -121,7 +152,7 @@ class TaskDaoImplTest {
     assertEquals("1", task1.getId(), "First task ID should match");
     assertEquals("Task 1", task1.getTitle(), "First task title should match");
     assertEquals("Description 1", task1.getDescription(), "First task description should match");
-    assertFalse(task1.isCompleted(), "First task should not be completed");
+    assertFalse(task1.getCompleted(), "First task should not be completed");
     assertEquals(now, task1.getCreatedAt(), "First task creation time should match");
     assertEquals(now, task1.getDueDate(), "First task due date should match");
     assertEquals("user1", task1.getAssignedTo(), "First task assignee should match");
@@ -136,7 +167,7 @@ class TaskDaoImplTest {
     assertEquals("2", task2.getId(), "Second task ID should match");
     assertEquals("Task 2", task2.getTitle(), "Second task title should match");
     assertEquals("Description 2", task2.getDescription(), "Second task description should match");
-    assertTrue(task2.isCompleted(), "Second task should be completed");
+    assertTrue(task2.getCompleted(), "Second task should be completed");
     assertEquals(now, task2.getCreatedAt(), "Second task creation time should match");
     assertEquals(now, task2.getDueDate(), "Second task due date should match");
     assertEquals("user2", task2.getAssignedTo(), "Second task assignee should match");
@@ -184,6 +215,399 @@ class TaskDaoImplTest {
     verify(jdbcTemplate).query(anyString(), any(TaskRowMapper.class));
   }
 
+  @Test
+  @DisplayName("Unit Test: Get tasks page without cursor only applies the limit")
+  void testGetTasksFirstPage() {
+    // Given
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(List.of(sampleTask));
+
+    // When
+    ArrayList<Task> tasks = taskDao.getTasks(null, TaskField.ALL, null, 25);
+
+    // Then
+    assertEquals(1, tasks.size(), "Should return the mapped page");
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<SqlParameterSource> paramCaptor =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate)
+        .query(sqlCaptor.capture(), paramCaptor.capture(), any(TaskRowMapper.class));
+
+    assertTrue(sqlCaptor.getValue().contains("LIMIT :limit"), "Page query must be bounded");
+    assertTrue(
+        sqlCaptor.getValue().contains("ORDER BY t.created_at DESC, t.id DESC"),
+        "Page must be ordered on the keyset");
+    assertFalse(
+        sqlCaptor.getValue().contains(":cursorId"), "First page must not filter on a cursor");
+    assertEquals(25, paramCaptor.getValue().getValue("limit"));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Get tasks page after a cursor seeks past the cursor position")
+  void testGetTasksAfterCursor() {
+    // Given
+    Instant createdAt = Instant.parse("2025-06-01T10:00:00Z");
+    TaskCursor cursor = TaskCursor.builder().createdAt(createdAt).id("task-42").build();
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(new ArrayList<>());
+
+    // When
+    ArrayList<Task> tasks = taskDao.getTasks(null, TaskField.ALL, cursor, 10);
+
+    // Then
+    assertTrue(tasks.isEmpty());
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<SqlParameterSource> paramCaptor =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate)
+        .query(sqlCaptor.capture(), paramCaptor.capture(), any(TaskRowMapper.class));
+
+    assertTrue(
+        sqlCaptor
+            .getValue()
+            .contains(
+                "p.created_at < :createdAt OR (p.created_at = :createdAt AND p.id < :cursorId)"),
+        "Page must seek past the cursor");
+    assertEquals(Timestamp.from(createdAt), paramCaptor.getValue().getValue("createdAt"));
+    assertEquals("task-42", paramCaptor.getValue().getValue("cursorId"));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Get tasks page applies filters inside the page subquery")
+  void testGetTasksFiltered() {
+    // Given
+    TaskQuery query =
+        TaskQuery.builder().assignedTo("user-1").priority(Task.Priority.URGENT).tag("ops").build();
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(new ArrayList<>());
+
+    // When
+    taskDao.getTasks(query, TaskField.ALL, null, 10);
+
+    // Then
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<SqlParameterSource> paramCaptor =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate)
+        .query(sqlCaptor.capture(), paramCaptor.capture(), any(TaskRowMapper.class));
+
+    String pageQuery =
+        sqlCaptor.getValue().substring(0, sqlCaptor.getValue().indexOf("LIMIT :limit"));
+    assertTrue(pageQuery.contains("p.assigned_to = :assignedTo"), "Assignee filter in page");
+    assertTrue(pageQuery.contains("p.priority = :priority"), "Priority filter in page");
+    assertTrue(pageQuery.contains("ft.tag = :tag"), "Tag filter in page");
+    assertFalse(sqlCaptor.getValue().contains("'ops'"), "Values must never be inlined");
+    assertEquals("user-1", paramCaptor.getValue().getValue("assignedTo"));
+    assertEquals(Task.Priority.URGENT.getCode(), paramCaptor.getValue().getValue("priority"));
+    assertEquals("ops", paramCaptor.getValue().getValue("tag"));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Get tasks page selects only the requested fields")
+  void testGetTasksProjected() {
+    // Given
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(new ArrayList<>());
+
+    // When
+    taskDao.getTasks(null, EnumSet.of(TaskField.TITLE, TaskField.PRIORITY), null, 10);
+
+    // Then
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate)
+        .query(sqlCaptor.capture(), any(SqlParameterSource.class), any(TaskRowMapper.class));
+
+    String sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("t.title"), "Requested column should be selected");
+    assertTrue(sql.contains("t.created_at AS createdAt"), "Keyset column is always selected");
+    assertFalse(sql.contains("t.description"), "Unrequested column should not be selected");
+    assertFalse(sql.contains("users"), "Users join is only needed for assignee fields");
+    assertFalse(sql.contains("task_tags tt"), "Tag join is only needed for tags");
+    assertFalse(sql.contains("GROUP BY"), "No aggregation without tags");
+  }
+
+  @Test
+  @DisplayName("Unit Test: Search ranks FULLTEXT matches and pages before joining")
+  void testSearchTasks() {
+    // Given
+    Task match = Task.builder().id("task-1").build();
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(List.of(match));
+
+    // When
+    ArrayList<Task> result = taskDao.searchTasks("release notes", 20, 11);
+
+    // Then
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<SqlParameterSource> paramCaptor =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate)
+        .query(sqlCaptor.capture(), paramCaptor.capture(), any(TaskRowMapper.class));
+
+    String sql = sqlCaptor.getValue();
+    assertTrue(
+        sql.contains("MATCH(p.title, p.description) AGAINST (:text IN NATURAL LANGUAGE MODE)"),
+        "Should use the FULLTEXT index");
+    assertTrue(
+        sql.contains("ORDER BY score DESC, p.id LIMIT :limit OFFSET :offset"),
+        "Should rank and page before the joins");
+    assertFalse(sql.contains("GROUP BY"), "Tags are loaded separately");
+    assertEquals("release notes", paramCaptor.getValue().getValue("text"));
+    assertEquals(20, paramCaptor.getValue().getValue("offset"));
+    assertEquals(11, paramCaptor.getValue().getValue("limit"));
+    assertEquals(List.of(match), result);
+    verify(jdbcTemplate)
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Facets are counted in one grouped statement without mapping tasks")
+  void testGetTaskFacets() throws SQLException {
+    // Given
+    ResultSet rows = mock(ResultSet.class);
+    when(rows.getString("facet"))
+        .thenReturn("assignedTo", "assignedTo", "completed", "completed", "priority", "tag");
+    when(rows.getString("value")).thenReturn("user-1", null, null, "0", "3", "backend");
+    when(rows.getLong("total")).thenReturn(4L, 1L, 5L, 3L, 2L, 2L);
+    doAnswer(
+            invocation -> {
+              RowCallbackHandler handler = invocation.getArgument(2);
+              for (int i = 0; i < 6; i++) {
+                handler.processRow(rows);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+    // When
+    TaskFacets facets = taskDao.getTaskFacets(TaskQuery.builder().tag("backend").build());
+
+    // Then
+    assertEquals(5L, facets.getTotal(), "ROLLUP row should carry the total");
+    assertEquals(Map.of("user-1", 4L, TaskDaoImpl.UNASSIGNED, 1L), facets.getAssignedTo());
+    assertEquals(Map.of("false", 3L), facets.getCompleted());
+    assertEquals(Map.of("HIGH", 2L), facets.getPriority());
+    assertEquals(Map.of("backend", 2L), facets.getTags());
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<SqlParameterSource> paramCaptor =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate)
+        .query(sqlCaptor.capture(), paramCaptor.capture(), any(RowCallbackHandler.class));
+    String sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("GROUP BY t.completed WITH ROLLUP"), "Total should come from ROLLUP");
+    assertFalse(sql.contains("%1$s"), "Filter should be substituted into every facet");
+    assertEquals(4, sql.split("ft.tag = :tag", -1).length - 1, "Each facet applies the filter");
+    assertEquals("backend", paramCaptor.getValue().getValue("tag"));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Task tree is loaded with one recursive query and nested by parent")
+  void testGetTaskTree() throws SQLException {
+    // Given
+    Timestamp now = Timestamp.from(Instant.parse("2025-06-01T10:00:00Z"));
+    // The mapper also reads columns this test leaves at their defaults
+    ResultSet rows = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+    when(rows.getString("id")).thenReturn("root", "child-1", "child-2", "grandchild");
+    when(rows.getString("parentId")).thenReturn(null, "root", "root", "child-1");
+    when(rows.getInt("depth")).thenReturn(0, 1, 1, 2);
+    when(rows.getTimestamp(anyString())).thenReturn(now);
+    doAnswer(
+            invocation -> {
+              if (invocation.<String>getArgument(0).startsWith("WITH RECURSIVE")) {
+                RowCallbackHandler handler = invocation.getArgument(2);
+                for (int i = 0; i < 4; i++) {
+                  handler.processRow(rows);
+                }
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+    // When
+    Optional<TaskNode> tree = taskDao.getTaskTree("root", 3);
+
+    // Then
+    assertTrue(tree.isPresent(), "Root should be found");
+    TaskNode root = tree.get();
+    assertEquals("root", root.getTask().getId());
+    assertEquals(
+        List.of("child-1", "child-2"),
+        root.getChildren().stream().map(node -> node.getTask().getId()).toList());
+    TaskNode grandchild = root.getChildren().getFirst().getChildren().getFirst();
+    assertEquals("grandchild", grandchild.getTask().getId());
+    assertEquals(2, grandchild.getDepth());
+    assertTrue(root.getChildren().get(1).getChildren().isEmpty(), "Leaf has no children");
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<SqlParameterSource> paramCaptor =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate, times(2))
+        .query(sqlCaptor.capture(), paramCaptor.capture(), any(RowCallbackHandler.class));
+    String sql = sqlCaptor.getAllValues().getFirst();
+    assertTrue(sql.contains("c.parent_id = s.id"), "Should recurse through parent_id");
+    assertTrue(sql.contains("LOCATE(CONCAT(',', c.id, ','), s.path) = 0"), "Should stop cycles");
+    assertEquals(3, paramCaptor.getAllValues().getFirst().getValue("maxDepth"));
+    assertTrue(sqlCaptor.getAllValues().get(1).contains("task_id IN (:taskIds)"));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Task tree is empty when the root does not exist")
+  void testGetTaskTreeNotFound() {
+    // When
+    Optional<TaskNode> tree = taskDao.getTaskTree("missing", 3);
+
+    // Then
+    assertTrue(tree.isEmpty(), "Missing root should give no tree");
+    verify(jdbcTemplate, times(1))
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Batched tags load the page's tags with one IN query")
+  void testGetTasksBatchedTags() throws SQLException {
+    // Given
+    taskDao.batchedTags = true;
+    Task first = Task.builder().id("task-1").build();
+    Task second = Task.builder().id("task-2").build();
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(List.of(first, second));
+
+    ResultSet tagRows = mock(ResultSet.class);
+    when(tagRows.getString(1)).thenReturn("task-1", "task-1", "task-2");
+    when(tagRows.getString(2)).thenReturn("backend", "api", "ui");
+    doAnswer(
+            invocation -> {
+              RowCallbackHandler handler = invocation.getArgument(2);
+              for (int i = 0; i < 3; i++) {
+                handler.processRow(tagRows);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+    // When
+    ArrayList<Task> tasks = taskDao.getTasks(null, TaskField.ALL, null, 10);
+
+    // Then
+    assertEquals(List.of("backend", "api"), tasks.get(0).getTags(), "Tags stitched to task-1");
+    assertEquals(List.of("ui"), tasks.get(1).getTags(), "Tags stitched to task-2");
+
+    ArgumentCaptor<String> pageSql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate)
+        .query(pageSql.capture(), any(SqlParameterSource.class), any(TaskRowMapper.class));
+    assertFalse(pageSql.getValue().contains("GROUP_CONCAT"), "Page must not aggregate tags");
+    assertFalse(pageSql.getValue().contains("GROUP BY"), "Page must not be grouped");
+
+    ArgumentCaptor<SqlParameterSource> tagParams =
+        ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate)
+        .query(
+            argThat((String sql) -> sql.contains("task_id IN (:taskIds)")),
+            tagParams.capture(),
+            any(RowCallbackHandler.class));
+    assertEquals(List.of("task-1", "task-2"), tagParams.getValue().getValue("taskIds"));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Batched tags skip the tag query when tags are not requested")
+  void testGetTasksBatchedTagsNotRequested() {
+    // Given
+    taskDao.batchedTags = true;
+    when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(TaskRowMapper.class)))
+        .thenReturn(List.of(sampleTask));
+
+    // When
+    taskDao.getTasks(null, EnumSet.of(TaskField.TITLE), null, 10);
+
+    // Then
+    verify(jdbcTemplate, never())
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  @DisplayName("Unit Test: Batched tags give tasks without tags an empty list")
+  void testGetAllTasksBatchedTags() {
+    // Given
+    taskDao.batchedTags = true;
+    Task untagged = Task.builder().id("task-1").build();
+    when(jdbcTemplate.query(anyString(), any(TaskRowMapper.class))).thenReturn(List.of(untagged));
+
+    // When
+    ArrayList<Task> tasks = taskDao.getTasks();
+
+    // Then
+    assertEquals(List.of(), tasks.getFirst().getTags(), "Untagged task should have no tags");
+    verify(jdbcTemplate)
+        .query(argThat((String sql) -> !sql.contains("GROUP BY")), any(TaskRowMapper.class));
+    verify(jdbcTemplate)
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  @DisplayName("Unit Test: streamTasks uses a forward-only statement with a bounded fetch size")
+  void testStreamTasksUsesCursorFetch() throws SQLException {
+    // Given
+    JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+    when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+
+    // When
+    taskDao.streamTasks(null, TaskField.ALL, task -> {});
+
+    // Then
+    ArgumentCaptor<PreparedStatementCreator> creatorCaptor =
+        ArgumentCaptor.forClass(PreparedStatementCreator.class);
+    verify(jdbcOperations).query(creatorCaptor.capture(), any(RowCallbackHandler.class));
+
+    Connection connection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    // Forward-only, read-only are the JDBC defaults, so the plain overload is used
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+    creatorCaptor.getValue().createPreparedStatement(connection);
+
+    verify(statement).setFetchSize(intThat(size -> size > 0));
+  }
+
+  @Test
+  @DisplayName("Unit Test: streamTasks hands every mapped row to the consumer")
+  void testStreamTasksForwardsRows() throws SQLException {
+    // Given
+    JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+    when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+
+    ResultSet rs = mock(ResultSet.class);
+    Timestamp now = Timestamp.from(Instant.now());
+    when(rs.getString("id")).thenReturn("task-1");
+    when(rs.getInt("priority")).thenReturn(Task.Priority.HIGH.getCode());
+    when(rs.getTimestamp("createdAt")).thenReturn(now);
+    when(rs.getTimestamp("dueDate")).thenReturn(now);
+
+    doAnswer(
+            invocation -> {
+              RowCallbackHandler handler = invocation.getArgument(1);
+              handler.processRow(rs);
+              return null;
+            })
+        .when(jdbcOperations)
+        .query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+    List<Task> received = new ArrayList<>();
+
+    // When
+    taskDao.streamTasks(null, TaskField.ALL, received::add);
+
+    // Then
+    assertEquals(1, received.size(), "Consumer should receive each row");
+    assertEquals("task-1", received.getFirst().getId());
+    assertEquals(Task.Priority.HIGH, received.getFirst().getPriority());
+  }
+
   @Test
   @DisplayName("Unit Test: createTask should insert task and return ID")
   void testCreateTaskSuccess() {
@@ -197,6 +621,7 @@ class TaskDaoImplTest {
     assertNotNull(result, "Returned ID should not be null");
     assertEquals(sampleTask.getId(), result, "Returned ID should match input");
     verify(jdbcTemplate).update(anyString(), any(SqlParameterSource.class));
+    verify(versionStamps).taskChanged(sampleTask.getId());
   }
 
   @Test
@@ -240,6 +665,46 @@ class TaskDaoImplTest {
     verify(jdbcTemplate).update(anyString(), any(SqlParameterSource.class));
   }
 
+  @Test
+  @DisplayName("Unit Test: createTasks should insert all tasks with one batch")
+  void testCreateTasksBatch() {
+    // Arrange
+    Task second =
+        Task.builder()
+            .id(UUID.randomUUID().toString())
+            .title("Second Task")
+            .priority(Task.Priority.LOW)
+            .build();
+    ArgumentCaptor<SqlParameterSource[]> batch =
+        ArgumentCaptor.forClass(SqlParameterSource[].class);
+    // A rewritten multi-row INSERT reports no per-row counts
+    when(jdbcTemplate.batchUpdate(anyString(), batch.capture()))
+        .thenReturn(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+
+    // Act
+    int inserted = taskDao.createTasks(List.of(sampleTask, second));
+
+    // Assert
+    assertEquals(2, inserted, "Each task of a successful batch should count as inserted");
+    assertEquals(2, batch.getValue().length, "Both tasks should go into one batch");
+    assertEquals(second.getId(), batch.getValue()[1].getValue("id"));
+    verify(versionStamps).taskChanged(sampleTask.getId());
+    verify(versionStamps).taskChanged(second.getId());
+    verify(listVersionDao).increment();
+  }
+
+  @Test
+  @DisplayName("Unit Test: createTasks should propagate DataAccessException without stamping")
+  void testCreateTasksThrowsDataAccessException() {
+    // Arrange
+    when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+        .thenThrow(new DataAccessException("Simulated DB error") {});
+
+    // Act & Assert
+    assertThrows(DataAccessException.class, () -> taskDao.createTasks(List.of(sampleTask)));
+    verify(versionStamps, never()).taskChanged(anyString());
+  }
+
   @Test
   @DisplayName("Unit Test: getTask should return a populated Task when found")
   void testGetTaskSuccess() {
@@ -329,10 +794,13 @@ class TaskDaoImplTest {
     when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(1);
 
     // Act
-    boolean result = taskDao.softDeleteTaskById(taskId);
+    boolean result = taskDao.softDeleteTaskById(taskId, null);
 
     // Assert
     assertTrue(result, "Should return true when a row is updated");
+    verify(versionStamps).taskChanged(taskId);
+    verify(outboxDao).append(taskId, TaskOutboxEvent.Type.DELETED);
+    verify(listVersionDao).increment();
   }
 
   @Test
@@ -343,10 +811,11 @@ class TaskDaoImplTest {
     when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(0);
 
     // Act
-    boolean result = taskDao.softDeleteTaskById(taskId);
+    boolean result = taskDao.softDeleteTaskById(taskId, null);
 
     // Assert
     assertFalse(result, "Should return false when no row is updated");
+    verify(listVersionDao, never()).increment();
   }
 
   @Test
@@ -362,7 +831,7 @@ class TaskDaoImplTest {
     DataAccessException thrown =
         assertThrows(
             DataAccessException.class,
-            () -> taskDao.softDeleteTaskById(taskId),
+            () -> taskDao.softDeleteTaskById(taskId, null),
             "Should throw DataAccessException on DB error");
 
     assertEquals(dataAccessException, thrown, "Thrown exception should match the mock");
@@ -445,11 +914,129 @@ class TaskDaoImplTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  @DisplayName("Should skip the attachments aggregate when attachments are not requested")
+  void testGetTaskDetail_Projected() {
+    // Given
+    when(jdbcTemplate.queryForObject(
+            anyString(), any(MapSqlParameterSource.class), any(TaskDetailRowMapper.class)))
+        .thenReturn(TaskDetail.builder().id("task-123").title("Title").build());
+
+    // When
+    Optional<TaskDetail> result =
+        taskDao.getTaskDetail("task-123", EnumSet.of(TaskField.ID, TaskField.TITLE));
+
+    // Then
+    assertTrue(result.isPresent());
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate)
+        .queryForObject(
+            sqlCaptor.capture(), any(MapSqlParameterSource.class), any(TaskDetailRowMapper.class));
+    String sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("t.title AS title"), "Requested column should be selected");
+    assertFalse(sql.contains("task_attachments"), "Attachments aggregate should be skipped");
+    assertFalse(sql.contains("GROUP BY"), "No aggregation without tags");
+  }
+
+  @Test
+  @DisplayName("Unit Test: Get task detail never aggregates the whole attachments table")
+  void testGetTaskDetail_ScopedAttachments() {
+    // Given
+    when(jdbcTemplate.queryForObject(
+            anyString(), any(MapSqlParameterSource.class), any(TaskDetailRowMapper.class)))
+        .thenReturn(TaskDetail.builder().id("task-1").build());
+
+    // When
+    taskDao.getTaskDetail("task-1");
+
+    // Then
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate)
+        .queryForObject(
+            sqlCaptor.capture(), any(MapSqlParameterSource.class), any(TaskDetailRowMapper.class));
+    String sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("ta.taskId = t.id"), "Attachments should be correlated to the task");
+    assertTrue(sql.contains("tt.task_id = t.id"), "Tags should be correlated to the task");
+    assertFalse(sql.contains("GROUP BY"), "Neither a grouped derived table nor an outer group");
+    assertFalse(sql.contains("LEFT JOIN task_"), "Tags and attachments must not fan out rows");
+  }
+
+  @Test
+  @DisplayName("Unit Test: Task details load rows, tags and attachments with three IN queries")
+  void testGetTaskDetails() throws SQLException {
+    // Given
+    when(jdbcTemplate.query(
+            anyString(), any(SqlParameterSource.class), any(TaskDetailRowMapper.class)))
+        .thenReturn(
+            List.of(
+                TaskDetail.builder().id("task-1").build(),
+                TaskDetail.builder().id("task-2").build()));
+
+    ResultSet tagRows = mock(ResultSet.class);
+    when(tagRows.getString(1)).thenReturn("task-1", "task-2");
+    when(tagRows.getString(2)).thenReturn("backend", "ui");
+    ResultSet attachmentRows = mock(ResultSet.class);
+    when(attachmentRows.getString("taskId")).thenReturn("task-2");
+    when(attachmentRows.getString("url")).thenReturn("https://files.example.com/spec.pdf");
+    when(attachmentRows.getString("fileName")).thenReturn("spec.pdf");
+    when(attachmentRows.getString("fileType")).thenReturn("pdf");
+    doAnswer(
+            invocation -> {
+              RowCallbackHandler handler = invocation.getArgument(2);
+              if (invocation.<String>getArgument(0).contains("FROM task_tags")) {
+                handler.processRow(tagRows);
+                handler.processRow(tagRows);
+              } else {
+                handler.processRow(attachmentRows);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+    // When
+    Map<String, TaskDetail> details =
+        taskDao.getTaskDetails(List.of("task-1", "task-2", "missing"), TaskField.ALL);
+
+    // Then
+    assertEquals(List.of("task-1", "task-2"), List.copyOf(details.keySet()));
+    assertEquals(List.of("backend"), details.get("task-1").getTags());
+    assertTrue(details.get("task-1").getAttachments().isEmpty(), "No attachments for task-1");
+    assertEquals(List.of("ui"), details.get("task-2").getTags());
+    assertEquals("spec.pdf", details.get("task-2").getAttachments().getFirst().getFileName());
+
+    ArgumentCaptor<String> rowSql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate)
+        .query(rowSql.capture(), any(SqlParameterSource.class), any(TaskDetailRowMapper.class));
+    assertTrue(rowSql.getValue().contains("t.id IN (:taskIds)"), "Rows should use one IN list");
+    assertFalse(rowSql.getValue().contains("task_attachments"), "No per-row aggregates");
+    ArgumentCaptor<SqlParameterSource> params = ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbcTemplate, times(2))
+        .query(anyString(), params.capture(), any(RowCallbackHandler.class));
+    assertEquals(
+        List.of("task-1", "task-2"),
+        params.getValue().getValue("taskIds"),
+        "Children should only be read for tasks that were found");
+  }
+
+  @Test
+  @DisplayName("Unit Test: Task details skip the child queries when nothing is found")
+  void testGetTaskDetailsNoneFound() {
+    // When
+    Map<String, TaskDetail> details = taskDao.getTaskDetails(List.of("missing"), TaskField.ALL);
+
+    // Then
+    assertTrue(details.isEmpty(), "Missing tasks should be left out");
+    verify(jdbcTemplate, never())
+        .query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+  }
+
   @Test
   public void updateTask_shouldReturnTrue_whenUpdateSuccessful() {
     NamedParameterJdbcTemplate mockJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
     Gson gson = new Gson();
-    TaskDaoImpl taskDao = new TaskDaoImpl(mockJdbcTemplate, gson);
+    TaskDaoImpl taskDao =
+        new TaskDaoImpl(mockJdbcTemplate, gson, versionStamps, outboxDao, listVersionDao);
 
     Task task = new Task();
     task.setId(UUID.randomUUID().toString());
@@ -474,7 +1061,8 @@ class TaskDaoImplTest {
   public void updateTask_shouldReturnFalse_whenNoRowsUpdated() {
     NamedParameterJdbcTemplate mockJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
     Gson gson = new Gson();
-    TaskDaoImpl taskDao = new TaskDaoImpl(mockJdbcTemplate, gson);
+    TaskDaoImpl taskDao =
+        new TaskDaoImpl(mockJdbcTemplate, gson, versionStamps, outboxDao, listVersionDao);
 
     Task task = new Task();
     task.setId(UUID.randomUUID().toString());
@@ -499,7 +1087,8 @@ class TaskDaoImplTest {
   public void updateTask_shouldThrowException_whenJdbcFails() {
     NamedParameterJdbcTemplate mockJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
     Gson gson = new Gson();
-    TaskDaoImpl taskDao = new TaskDaoImpl(mockJdbcTemplate, gson);
+    TaskDaoImpl taskDao =
+        new TaskDaoImpl(mockJdbcTemplate, gson, versionStamps, outboxDao, listVersionDao);
 
     Task task = new Task();
     task.setId("some-id");
@@ -518,4 +1107,123 @@ class TaskDaoImplTest {
     assertThrows(DataAccessException.class, () -> taskDao.updateTask(task));
     verify(mockJdbcTemplate, times(1)).update(any(String.class), any(MapSqlParameterSource.class));
   }
+
+  @Test
+  @DisplayName("Unit Test: patchTask should update only the patched columns of a live task")
+  void testPatchTaskUpdatesOnlyPatchedColumns() {
+    // Arrange
+    Map<TaskField, Object> columns = new EnumMap<>(TaskField.class);
+    columns.put(TaskField.COMPLETED, true);
+    columns.put(TaskField.PRIORITY, Task.Priority.HIGH);
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<MapSqlParameterSource> parameters =
+        ArgumentCaptor.forClass(MapSqlParameterSource.class);
+    when(jdbcTemplate.update(sql.capture(), parameters.capture())).thenReturn(1);
+
+    // Act
+    boolean updated = taskDao.patchTask("task-1", columns, null);
+
+    // Assert
+    assertTrue(updated, "A matched task should count as updated");
+    assertEquals(
+        "UPDATE tasks SET completed = :completed, priority = :priority, version = version + 1"
+            + " WHERE id = :id AND isDeleted = 0",
+        sql.getValue());
+    assertEquals(Task.Priority.HIGH.ordinal(), parameters.getValue().getValue("priority"));
+    verify(versionStamps).taskChanged("task-1");
+  }
+
+  @Test
+  @DisplayName("Unit Test: patchTask should return false when no live task matches")
+  void testPatchTaskNotFound() {
+    // Arrange
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(0);
+
+    // Act
+    boolean updated = taskDao.patchTask("missing", Map.of(TaskField.TITLE, "New title"), null);
+
+    // Assert
+    assertFalse(updated);
+    verify(versionStamps, never()).taskChanged(anyString());
+  }
+
+  @Test
+  @DisplayName("Unit Test: patchTask should only apply at the expected version")
+  void testPatchTaskAtVersion() {
+    // Arrange
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<MapSqlParameterSource> parameters =
+        ArgumentCaptor.forClass(MapSqlParameterSource.class);
+    when(jdbcTemplate.update(sql.capture(), parameters.capture())).thenReturn(0);
+
+    // Act
+    boolean updated = taskDao.patchTask("task-1", Map.of(), 3L);
+
+    // Assert
+    assertFalse(updated, "A task at another version should not be updated");
+    assertEquals(
+        "UPDATE tasks SET version = version + 1"
+            + " WHERE id = :id AND isDeleted = 0 AND version = :version",
+        sql.getValue(),
+        "A patch without columns should still move the version");
+    assertEquals(3L, parameters.getValue().getValue("version"));
+    verify(versionStamps, never()).taskChanged(anyString());
+  }
+
+  @Test
+  @DisplayName("Unit Test: updateTask and softDeleteTaskById should compare and set the version")
+  void testConditionalWrites() {
+    // Arrange
+    Task task =
+        Task.builder().id("task-1").title("Title").priority(Task.Priority.LOW).version(7L).build();
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    when(jdbcTemplate.update(sql.capture(), any(MapSqlParameterSource.class))).thenReturn(1);
+
+    // Act
+    taskDao.updateTask(task);
+    taskDao.softDeleteTaskById("task-1", 8L);
+    taskDao.softDeleteTaskById("task-2", null);
+
+    // Assert
+    List<String> statements = sql.getAllValues();
+    assertTrue(statements.get(0).contains("= version + 1"));
+    assertTrue(statements.get(0).contains("AND isDeleted = 0"), "Deleted tasks stay deleted");
+    assertTrue(statements.get(0).endsWith("AND version = :version"));
+    assertTrue(statements.get(1).contains("version = version + 1"));
+    assertTrue(statements.get(1).endsWith("AND version = :version"));
+    assertFalse(
+        statements.get(2).contains("AND version"), "Without a version the delete is unconditional");
+  }
+
+  @Test
+  @DisplayName("Unit Test: bumpVersions should increment the versions of all tasks in one UPDATE")
+  void testBumpVersions() {
+    // Arrange
+    ArgumentCaptor<MapSqlParameterSource> params =
+        ArgumentCaptor.forClass(MapSqlParameterSource.class);
+    when(jdbcTemplate.update(
+            argThat((String sql) -> sql.contains("version = version + 1")), params.capture()))
+        .thenReturn(2);
+
+    // Act
+    taskDao.bumpVersions(List.of("task-1", "task-2"));
+    taskDao.bumpVersions(List.of());
+
+    // Assert
+    assertEquals(List.of("task-1", "task-2"), params.getValue().getValue("taskIds"));
+    verify(jdbcTemplate).update(anyString(), any(MapSqlParameterSource.class));
+    verify(listVersionDao).increment();
+  }
+
+  @Test
+  @DisplayName("Unit Test: getTaskVersion should read the version of a live task")
+  void testGetTaskVersion() {
+    // Arrange
+    when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Long.class)))
+        .thenReturn(List.of(4L), List.of());
+
+    // Act & Assert
+    assertEquals(Optional.of(4L), taskDao.getTaskVersion("task-1"));
+    assertEquals(Optional.empty(), taskDao.getTaskVersion("missing"));
+  }
 }
@@ -0,0 +1,66 @@
+package com.event.tasker.DAO.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: TaskListVersionDaoImpl")
+class TaskListVersionDaoImplTest {
+
+  @InjectMocks TaskListVersionDaoImpl listVersionDao;
+
+  @Mock NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("getVersion: should read the single version row by primary key")
+  void testGetVersion() {
+    // Arrange
+    when(jdbcTemplate.queryForObject(
+            contains("WHERE id = 1"), any(MapSqlParameterSource.class), eq(Long.class)))
+        .thenReturn(42L);
+
+    // Act
+    long version = listVersionDao.getVersion();
+
+    // Assert
+    assertEquals(42L, version);
+  }
+
+  @Test
+  @DisplayName("increment: should add one to the stored version")
+  void testIncrement() {
+    // Act
+    listVersionDao.increment();
+
+    // Assert
+    verify(jdbcTemplate)
+        .update(contains("version = version + 1"), any(MapSqlParameterSource.class));
+  }
+
+  @Test
+  @DisplayName("increment: should propagate database errors")
+  void testIncrementPropagatesErrors() {
+    // Arrange
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class)))
+        .thenThrow(new RecoverableDataAccessException("connection lost"));
+
+    // Act & Assert
+    assertThrows(RecoverableDataAccessException.class, () -> listVersionDao.increment());
+  }
+}
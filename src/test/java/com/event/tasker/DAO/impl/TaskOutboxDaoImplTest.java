@@ -0,0 +1,117 @@
+package com.event.tasker.DAO.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import com.event.tasker.model.TaskOutboxEvent;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: TaskOutboxDaoImpl")
+class TaskOutboxDaoImplTest {
+
+  @InjectMocks TaskOutboxDaoImpl outboxDao;
+
+  @Mock NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("appendAll: should record every task's event in one batch")
+  void testAppendAll() {
+    // Arrange
+    ArgumentCaptor<SqlParameterSource[]> batch =
+        ArgumentCaptor.forClass(SqlParameterSource[].class);
+    when(jdbcTemplate.batchUpdate(anyString(), batch.capture())).thenReturn(new int[] {1, 1});
+
+    // Act
+    outboxDao.appendAll(List.of("task-1", "task-2"), TaskOutboxEvent.Type.CREATED);
+
+    // Assert
+    assertEquals(2, batch.getValue().length, "One row should be sent per task");
+    assertEquals("task-2", batch.getValue()[1].getValue("taskId"));
+    assertEquals("CREATED", batch.getValue()[1].getValue("type"));
+  }
+
+  @Test
+  @DisplayName("appendAll: should not touch the database for no tasks")
+  void testAppendAllEmpty() {
+    // Act
+    outboxDao.appendAll(List.of(), TaskOutboxEvent.Type.CREATED);
+
+    // Assert
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  @DisplayName("lockBatch: should skip rows other relays have locked")
+  void testLockBatchSkipsLocked() {
+    // Arrange
+    ArgumentCaptor<MapSqlParameterSource> parameters =
+        ArgumentCaptor.forClass(MapSqlParameterSource.class);
+    when(jdbcTemplate.query(
+            contains("FOR UPDATE SKIP LOCKED"), parameters.capture(), any(RowMapper.class)))
+        .thenReturn(List.of());
+
+    // Act
+    List<TaskOutboxEvent> batch = outboxDao.lockBatch(50);
+
+    // Assert
+    assertTrue(batch.isEmpty());
+    assertEquals(50, parameters.getValue().getValue("limit"));
+  }
+
+  @Test
+  @DisplayName("append: should propagate DataAccessException on DB errors")
+  void testAppendThrows() {
+    // Arrange
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class)))
+        .thenThrow(new RecoverableDataAccessException("DB down"));
+
+    // Act & Assert
+    assertThrows(
+        RecoverableDataAccessException.class,
+        () -> outboxDao.append("task-1", TaskOutboxEvent.Type.UPDATED));
+  }
+
+  @Test
+  @DisplayName("delete: should not touch the database for no ids")
+  void testDeleteEmpty() {
+    // Act
+    int deleted = outboxDao.delete(List.of());
+
+    // Assert
+    assertEquals(0, deleted);
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  @DisplayName("recordFailure: should count the failed attempt")
+  void testRecordFailure() {
+    // Act
+    outboxDao.recordFailure(7);
+
+    // Assert
+    verify(jdbcTemplate)
+        .update(contains("attempts = attempts + 1"), any(MapSqlParameterSource.class));
+  }
+}
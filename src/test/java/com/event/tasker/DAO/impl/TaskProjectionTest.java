@@ -0,0 +1,95 @@
+package com.event.tasker.DAO.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.event.tasker.model.TaskField;
+
+@DisplayName("Unit Test: TaskProjection")
+class TaskProjectionTest {
+
+  @Test
+  @DisplayName("Compact list projection drops the joins and the grouping")
+  void testCompactList() {
+    TaskProjection projection =
+        TaskProjection.forList(EnumSet.of(TaskField.TITLE, TaskField.PRIORITY));
+
+    assertEquals(
+        "SELECT t.id, t.created_at AS createdAt, t.title, t.priority", projection.columns());
+    assertEquals("", projection.joins(), "No join is needed");
+    assertEquals("", projection.groupBy(), "No aggregation is needed");
+    assertEquals(
+        EnumSet.of(TaskField.ID, TaskField.CREATED_AT, TaskField.TITLE, TaskField.PRIORITY),
+        projection.fields());
+  }
+
+  @Test
+  @DisplayName("Full list projection joins users and tags and groups by task")
+  void testFullList() {
+    TaskProjection projection = TaskProjection.forList(TaskField.ALL);
+
+    assertTrue(projection.columns().contains("GROUP_CONCAT(tt.tag) AS tags"));
+    assertTrue(projection.joins().contains("LEFT JOIN task_tags tt"));
+    assertTrue(projection.joins().contains("LEFT JOIN users u"));
+    assertEquals(
+        "GROUP BY t.id, u.first_name, u.last_name, u.profile_picture_url", projection.groupBy());
+    assertFalse(
+        projection.fields().contains(TaskField.ATTACHMENTS), "Detail-only fields are not mapped");
+  }
+
+  @Test
+  @DisplayName("Tags without assignee fields group by the task id only")
+  void testListTagsOnly() {
+    TaskProjection projection = TaskProjection.forList(EnumSet.of(TaskField.TAGS));
+
+    assertFalse(projection.joins().contains("users"));
+    assertEquals("GROUP BY t.id", projection.groupBy());
+  }
+
+  @Test
+  @DisplayName("List projection without tag aggregation leaves tags to the caller")
+  void testListWithoutTagAggregation() {
+    TaskProjection projection = TaskProjection.forList(TaskField.ALL, false);
+
+    assertFalse(projection.columns().contains("GROUP_CONCAT"));
+    assertFalse(projection.joins().contains("task_tags"));
+    assertTrue(projection.joins().contains("LEFT JOIN users u"));
+    assertEquals("", projection.groupBy(), "Rows are read ungrouped");
+    assertFalse(projection.fields().contains(TaskField.TAGS), "Tags are not in the result set");
+  }
+
+  @Test
+  @DisplayName("Detail attachments are aggregated for the requested task only")
+  void testDetailAttachmentsOnly() {
+    TaskProjection projection = TaskProjection.forDetail(EnumSet.of(TaskField.ATTACHMENTS));
+
+    assertTrue(
+        projection.columns().contains("WHERE ta.taskId = t.id AND ta.isDeleted = 0"),
+        "Aggregate should be correlated to the task");
+    assertFalse(projection.columns().contains("GROUP BY"), "No derived table over all attachments");
+    assertEquals("", projection.joins(), "Attachments need no join");
+    assertEquals("", projection.groupBy());
+    assertTrue(
+        projection.fields().contains(TaskField.VERSION), "The version backs the detail ETag");
+  }
+
+  @Test
+  @DisplayName("Full detail projection reads tags and attachments in correlated subqueries")
+  void testFullDetail() {
+    TaskProjection projection = TaskProjection.forDetail(TaskField.ALL);
+
+    assertTrue(projection.columns().contains("WHERE tt.task_id = t.id AND tt.isDeleted = 0"));
+    assertTrue(projection.columns().contains("WHERE ta.taskId = t.id AND ta.isDeleted = 0"));
+    assertTrue(projection.columns().contains("AS assignedToName"));
+    assertEquals(" LEFT JOIN users u ON u.user_id = t.assigned_to", projection.joins());
+    assertEquals("", projection.groupBy(), "One row per task needs no grouping");
+    assertFalse(
+        projection.fields().contains(TaskField.PROFILE_PICTURE), "List-only fields are not mapped");
+  }
+}
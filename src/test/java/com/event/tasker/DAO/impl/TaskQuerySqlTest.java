@@ -0,0 +1,88 @@
+package com.event.tasker.DAO.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskQuery;
+
+@DisplayName("Unit Test: TaskQuerySql")
+class TaskQuerySqlTest {
+
+  @Test
+  @DisplayName("No criteria only excludes deleted tasks")
+  void testNoCriteria() {
+    TaskQuerySql sql = TaskQuerySql.of(null, "t", new MapSqlParameterSource());
+
+    assertEquals("t.isDeleted = 0", sql.where());
+    assertEquals(0, sql.params().getParameterNames().length, "No values should be bound");
+  }
+
+  @Test
+  @DisplayName("Every criterion becomes a bound predicate on the given alias")
+  void testAllCriteria() {
+    // Given
+    Instant from = Instant.parse("2025-06-01T00:00:00Z");
+    Instant to = Instant.parse("2025-07-01T00:00:00Z");
+    TaskQuery query =
+        TaskQuery.builder()
+            .assignedTo("user-1")
+            .priority(Task.Priority.HIGH)
+            .completed(true)
+            .dueFrom(from)
+            .dueTo(to)
+            .tag("backend")
+            .build();
+
+    // When
+    TaskQuerySql sql = TaskQuerySql.of(query, "p", new MapSqlParameterSource());
+
+    // Then
+    String where = sql.where();
+    assertTrue(where.startsWith("p.isDeleted = 0"));
+    assertTrue(where.contains("p.assigned_to = :assignedTo"));
+    assertTrue(where.contains("p.priority = :priority"));
+    assertTrue(where.contains("p.completed = :completed"));
+    assertTrue(where.contains("p.due_date >= :dueFrom"));
+    assertTrue(where.contains("p.due_date < :dueTo"));
+    assertTrue(where.contains("ft.task_id = p.id AND ft.tag = :tag AND ft.isDeleted = 0"));
+
+    MapSqlParameterSource params = sql.params();
+    assertEquals("user-1", params.getValue("assignedTo"));
+    assertEquals(Task.Priority.HIGH.getCode(), params.getValue("priority"));
+    assertEquals(true, params.getValue("completed"));
+    assertEquals(Timestamp.from(from), params.getValue("dueFrom"));
+    assertEquals(Timestamp.from(to), params.getValue("dueTo"));
+    assertEquals("backend", params.getValue("tag"));
+  }
+
+  @Test
+  @DisplayName("Hostile values never reach the SQL text")
+  void testValuesAreNotInlined() {
+    TaskQuery query = TaskQuery.builder().tag("x' OR '1'='1").assignedTo("1; DROP TABLE").build();
+
+    TaskQuerySql sql = TaskQuerySql.of(query, "t", new MapSqlParameterSource());
+
+    assertFalse(sql.where().contains("OR '1'='1"));
+    assertFalse(sql.where().contains("DROP TABLE"));
+  }
+
+  @Test
+  @DisplayName("Extra predicates are appended with AND")
+  void testAnd() {
+    TaskQuery query = TaskQuery.builder().completed(false).build();
+
+    TaskQuerySql sql =
+        TaskQuerySql.of(query, "t", new MapSqlParameterSource()).and("t.id < :cursorId");
+
+    assertTrue(sql.where().endsWith("t.completed = :completed AND t.id < :cursorId"));
+  }
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -15,11 +16,15 @@ import static org.mockito.Mockito.when;
 import java.lang.reflect.Type;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -30,6 +35,10 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
+import com.event.tasker.DAO.TaskDao;
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.model.TaskOutboxEvent;
 import com.event.tasker.model.TaskTag;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
@@ -43,6 +52,9 @@ public class TaskTagDaoImplTest {
   @Mock NamedParameterJdbcTemplate jdbcTemplate;
 
   @Mock Gson gson;
+  @Mock TaskVersionStamps versionStamps;
+  @Mock TaskOutboxDao outboxDao;
+  @Mock TaskDao taskDao;
 
   @Test
   @DisplayName("createTaskTags: should return total rows inserted on successful batch insert")
@@ -62,6 +74,9 @@ public class TaskTagDaoImplTest {
     // Assert
     assertEquals(2, insertedCount, "Total inserted rows should be sum of batch results");
     verify(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    verify(taskDao).lockTasks(List.of("Random1L", "Random2L"));
+    verify(taskDao).bumpVersions(List.of("Random1L", "Random2L"));
+    verify(outboxDao).appendAll(List.of("Random1L", "Random2L"), TaskOutboxEvent.Type.TAGS_CHANGED);
   }
 
   @Test
@@ -188,6 +203,24 @@ public class TaskTagDaoImplTest {
 
     assertEquals(2, rowsAffected, "Two rows affected");
     verify(jdbcTemplate).update(anyString(), any(MapSqlParameterSource.class));
+    verify(taskDao).lockTasks(List.of("uuid1"));
+    verify(taskDao).bumpVersions(List.of("uuid1"));
+    verify(versionStamps).taskChanged("uuid1");
+  }
+
+  @Test
+  @DisplayName("deleteTaskTags: Should not bump the version or record an event for no rows")
+  void testDeleteTaskTags_ShouldSkipEventsWhenNoRowsAffected() {
+    ArrayList<TaskTag> tags = new ArrayList<>();
+    tags.add(new TaskTag("uuid1", "missing"));
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(0);
+
+    int rowsAffected = taskTagDao.deleteTaskTags(tags, "uuid1");
+
+    assertEquals(0, rowsAffected);
+    verify(taskDao).lockTasks(List.of("uuid1"));
+    verify(taskDao, never()).bumpVersions(any());
+    verifyNoInteractions(versionStamps, outboxDao);
   }
 
   @Test
@@ -212,4 +245,33 @@ public class TaskTagDaoImplTest {
     taskTagDao.deleteTaskTags(tags, "uuid1");
     verifyNoInteractions(jdbcTemplate);
   }
+
+  @Test
+  @DisplayName("updateTaskTags: Should soft delete removed tags before reviving added ones")
+  void testUpdateTaskTags_ShouldDeleteThenUpsert() {
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    when(jdbcTemplate.update(sql.capture(), any(MapSqlParameterSource.class))).thenReturn(1);
+    when(jdbcTemplate.batchUpdate(sql.capture(), any(SqlParameterSource[].class)))
+        .thenReturn(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+
+    int changed = taskTagDao.updateTaskTags("uuid1", Set.of("tag2", "tag3"), Set.of("tagOld"));
+
+    assertEquals(3, changed, "Two tags added and one removed");
+    assertTrue(sql.getAllValues().get(0).contains("SET isDeleted = 1"), "Delete should run first");
+    assertTrue(
+        sql.getAllValues().get(1).contains("ON DUPLICATE KEY UPDATE isDeleted = 0"),
+        "Added tags should revive soft-deleted rows");
+    verify(taskDao).lockTasks(List.of("uuid1"));
+    verify(taskDao).bumpVersions(List.of("uuid1"));
+    verify(versionStamps).taskChanged("uuid1");
+  }
+
+  @Test
+  @DisplayName("updateTaskTags: Should issue no SQL when nothing changed")
+  void testUpdateTaskTags_ShouldSkipEmptyDiff() {
+    int changed = taskTagDao.updateTaskTags("uuid1", Set.of(), Set.of());
+
+    assertEquals(0, changed);
+    verifyNoInteractions(jdbcTemplate, versionStamps, taskDao);
+  }
 }
@@ -13,6 +13,8 @@ import static org.mockito.Mockito.when;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -80,4 +82,34 @@ public class UiOptionDaoTest {
     assertTrue(exception.getMessage().contains("Error retrieving priority labels"));
     verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class), any());
   }
+
+  @Test
+  @DisplayName("Unit Test: getAllPriorityLabels should group every team's labels")
+  void testGetAllPriorityLabels() throws SQLException {
+    // Arrange
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.next()).thenReturn(true, true, true, false);
+    when(rs.getString("teamId")).thenReturn("team-1", "team-1", "team-2");
+    when(rs.getString("label")).thenReturn("Low", "High", "Urgent");
+    when(rs.getString("value")).thenReturn("1", "3", "4");
+
+    when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              ResultSetExtractor<Map<String, ArrayList<UiOption>>> resultSetExtractor =
+                  invocationOnMock.getArgument(1);
+              return resultSetExtractor.extractData(rs);
+            });
+
+    // Act
+    Map<String, ArrayList<UiOption>> result = uiOptionDao.getAllPriorityLabels();
+
+    // Assert
+    assertEquals(2, result.size(), "Result should have 2 teams");
+    assertEquals(
+        List.of("Low", "High"),
+        result.get("team-1").stream().map(UiOption::getLabel).toList(),
+        "Labels should keep their order within a team");
+    assertEquals("4", result.get("team-2").getFirst().getValue());
+  }
 }
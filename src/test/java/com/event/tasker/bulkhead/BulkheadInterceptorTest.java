@@ -0,0 +1,222 @@
+package com.event.tasker.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.event.tasker.exception.GlobalException;
+import com.event.tasker.util.ErrorCodes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Unit Test: BulkheadInterceptor")
+class BulkheadInterceptorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private Bulkheads bulkheads;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("tasker.bulkhead.list.max-concurrent", "1")
+            .withProperty("tasker.bulkhead.list.max-queued", "0")
+            .withProperty("tasker.bulkhead.revalidate.max-queued", "0")
+            .withProperty("tasker.bulkhead.retry-after", "2s");
+    bulkheads = new Bulkheads(environment, meterRegistry);
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new TestController())
+            .addInterceptors(new BulkheadInterceptor(bulkheads))
+            .setControllerAdvice(new GlobalException())
+            .build();
+  }
+
+  @Test
+  @DisplayName("Admitted requests release their permit when they complete")
+  void testReleasedAfterCompletion() throws Exception {
+    // When
+    mockMvc.perform(get("/list")).andExpect(status().isOk());
+
+    // Then
+    assertEquals(1.0, admitted("list"));
+    assertEquals(0.0, active("list"), "The permit should be released");
+  }
+
+  @Test
+  @DisplayName("Requests that cannot be admitted get 503 with Retry-After")
+  void testRejected() throws Exception {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.LIST);
+
+    // When / Then
+    mockMvc
+        .perform(get("/list"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "2"))
+        .andExpect(jsonPath("$.errorCode").value(ErrorCodes.SERVICE_BUSY));
+  }
+
+  @Test
+  @DisplayName("Handlers without @Bulkhead are never rejected")
+  void testUnannotated() throws Exception {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.LIST);
+
+    // When / Then
+    mockMvc.perform(get("/members")).andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Async requests hold the permit until the async dispatch completes")
+  void testAsyncHoldsPermit() throws Exception {
+    // When
+    MvcResult started =
+        mockMvc.perform(get("/stream")).andExpect(request().asyncStarted()).andReturn();
+    started.getAsyncResult();
+
+    // Then
+    assertEquals(1.0, active("list"), "The permit should be held while the body is produced");
+    mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    assertEquals(0.0, active("list"), "The permit should be released after the async dispatch");
+  }
+
+  @Test
+  @DisplayName("Multipart writes count as uploads only when they carry files")
+  void testUploadClassification() throws Exception {
+    // When
+    MockMultipartFile file = new MockMultipartFile("files", "a.txt", "text/plain", "a".getBytes());
+    mockMvc.perform(multipart("/task").file(file)).andExpect(status().isOk());
+    mockMvc.perform(multipart("/task")).andExpect(status().isOk());
+
+    // Then
+    assertEquals(1.0, admitted("upload"), "The request with a file should be an upload");
+    assertEquals(1.0, admitted("write"), "The request without files should be a write");
+  }
+
+  @Test
+  @DisplayName("Revalidations answered with 304 take only a revalidation permit")
+  void testRevalidationWithoutPermit() throws Exception {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.LIST);
+
+    // When / Then
+    mockMvc
+        .perform(get("/revalidate").header("If-None-Match", "\"1\""))
+        .andExpect(status().isNotModified());
+    assertEquals(1.0, admitted("list"), "Only the permit taken by the test should be counted");
+    assertEquals(1.0, admitted("revalidate"));
+    assertEquals(0.0, active("revalidate"), "The revalidation permit should be released");
+  }
+
+  @Test
+  @DisplayName("Revalidations are rejected when the revalidation partition is full")
+  void testRevalidationRejected() throws Exception {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.REVALIDATE);
+
+    // When / Then
+    mockMvc
+        .perform(get("/revalidate").header("If-None-Match", "\"1\""))
+        .andExpect(status().isServiceUnavailable());
+    assertEquals(0.0, admitted("list"), "The handler's own partition should be untouched");
+  }
+
+  @Test
+  @DisplayName("Revalidations whose ETag changed take the permit after the check")
+  void testDeferredPermit() throws Exception {
+    // When
+    mockMvc
+        .perform(get("/revalidate").header("If-None-Match", "\"0\""))
+        .andExpect(status().isOk());
+
+    // Then
+    assertEquals(1.0, admitted("list"));
+    assertEquals(0.0, active("list"), "The deferred permit should be released");
+    assertEquals(0.0, active("revalidate"), "The revalidation permit should be given back");
+  }
+
+  @Test
+  @DisplayName("Revalidations whose ETag changed are rejected when the partition is full")
+  void testDeferredRejected() throws Exception {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.LIST);
+
+    // When / Then
+    mockMvc
+        .perform(get("/revalidate").header("If-None-Match", "\"0\""))
+        .andExpect(status().isServiceUnavailable());
+    assertEquals(1.0, active("list"), "Only the permit taken by the test should be held");
+    assertEquals(0.0, active("revalidate"), "The revalidation permit should be given back");
+  }
+
+  private double admitted(String bulkhead) {
+    return meterRegistry
+        .get("tasker.bulkhead.admitted")
+        .tag("bulkhead", bulkhead)
+        .counter()
+        .count();
+  }
+
+  private double active(String bulkhead) {
+    return meterRegistry.get("tasker.bulkhead.active").tag("bulkhead", bulkhead).gauge().value();
+  }
+
+  @RestController
+  static class TestController {
+
+    @GetMapping("/list")
+    @Bulkhead(Bulkhead.Type.LIST)
+    public String list() {
+      return "ok";
+    }
+
+    @GetMapping("/stream")
+    @Bulkhead(Bulkhead.Type.LIST)
+    public Callable<String> stream() {
+      return () -> "ok";
+    }
+
+    @GetMapping("/revalidate")
+    @Bulkhead(value = Bulkhead.Type.LIST, revalidates = true)
+    public String revalidate(WebRequest request) {
+      if (request.checkNotModified("\"1\"")) {
+        return null;
+      }
+      BulkheadInterceptor.admitDeferred(request);
+      return "ok";
+    }
+
+    @PostMapping("/task")
+    @Bulkhead(Bulkhead.Type.UPLOAD)
+    public String create() {
+      return "ok";
+    }
+
+    @GetMapping("/members")
+    public String members() {
+      return "ok";
+    }
+  }
+}
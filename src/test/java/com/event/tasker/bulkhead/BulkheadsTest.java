@@ -0,0 +1,149 @@
+package com.event.tasker.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.event.tasker.exception.BulkheadFullException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Unit Test: Bulkheads")
+class BulkheadsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private Bulkheads bulkheads;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("tasker.bulkhead.list.max-concurrent", "1")
+            .withProperty("tasker.bulkhead.list.max-queued", "1")
+            .withProperty("tasker.bulkhead.list.max-wait", "5s")
+            .withProperty("tasker.bulkhead.detail.max-concurrent", "1")
+            .withProperty("tasker.bulkhead.detail.max-queued", "0")
+            .withProperty("tasker.bulkhead.write.max-concurrent", "1")
+            .withProperty("tasker.bulkhead.write.max-wait", "10ms")
+            .withProperty("tasker.bulkhead.retry-after", "3s");
+    bulkheads = new Bulkheads(environment, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("A full partition with a full queue rejects at once")
+  void testQueueFull() {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.DETAIL);
+
+    // When
+    BulkheadFullException thrown =
+        assertThrows(BulkheadFullException.class, () -> bulkheads.acquire(Bulkhead.Type.DETAIL));
+
+    // Then
+    assertEquals(Duration.ofSeconds(3), thrown.getRetryAfter(), "Should carry the back-off");
+    assertEquals(1.0, rejected("detail", "queue-full"));
+    assertEquals(
+        1.0,
+        meterRegistry.get("tasker.bulkhead.admitted").tag("bulkhead", "detail").counter().count(),
+        "Only the first request should be admitted");
+  }
+
+  @Test
+  @DisplayName("A queued request is rejected once max-wait passes")
+  void testTimeout() {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.WRITE);
+
+    // When / Then
+    assertThrows(BulkheadFullException.class, () -> bulkheads.acquire(Bulkhead.Type.WRITE));
+    assertEquals(1.0, rejected("write", "timeout"));
+    assertEquals(0.0, queued("write"), "The timed-out request should leave the queue");
+  }
+
+  @Test
+  @DisplayName("A queued request is admitted when a permit is released")
+  void testQueuedThenAdmitted() throws Exception {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.LIST);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> waiting = executor.submit(() -> bulkheads.acquire(Bulkhead.Type.LIST));
+      while (queued("list") == 0) {
+        Thread.onSpinWait();
+      }
+
+      // When
+      bulkheads.release(Bulkhead.Type.LIST);
+
+      // Then
+      assertDoesNotThrow(() -> waiting.get(5, TimeUnit.SECONDS));
+      assertEquals(1.0, active("list"), "The queued request should now hold the permit");
+      assertEquals(
+          2,
+          meterRegistry.get("tasker.bulkhead.queue.time").tag("bulkhead", "list").timer().count(),
+          "Both admissions should record their queue time");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Partitions are independent")
+  void testPartitionsIndependent() {
+    // Given
+    bulkheads.acquire(Bulkhead.Type.DETAIL);
+
+    // When / Then
+    assertDoesNotThrow(() -> bulkheads.acquire(Bulkhead.Type.LIST));
+    assertDoesNotThrow(() -> bulkheads.acquire(Bulkhead.Type.UPLOAD));
+  }
+
+  @Test
+  @DisplayName("Startup fails when the partitions admit more requests than the pool holds")
+  void testLimitsExceedPool() {
+    // Given
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "6")
+            .withProperty("tasker.bulkhead.detail.max-concurrent", "4");
+
+    // When / Then
+    assertThrows(
+        IllegalStateException.class, () -> new Bulkheads(environment, new SimpleMeterRegistry()));
+  }
+
+  @Test
+  @DisplayName("The default limits fit Hikari's default pool")
+  void testDefaultsFitPool() {
+    assertDoesNotThrow(() -> new Bulkheads(new MockEnvironment(), new SimpleMeterRegistry()));
+  }
+
+  private double rejected(String bulkhead, String reason) {
+    return meterRegistry
+        .get("tasker.bulkhead.rejected")
+        .tag("bulkhead", bulkhead)
+        .tag("reason", reason)
+        .counter()
+        .count();
+  }
+
+  private double queued(String bulkhead) {
+    return meterRegistry.get("tasker.bulkhead.queued").tag("bulkhead", bulkhead).gauge().value();
+  }
+
+  private double active(String bulkhead) {
+    return meterRegistry.get("tasker.bulkhead.active").tag("bulkhead", bulkhead).gauge().value();
+  }
+}
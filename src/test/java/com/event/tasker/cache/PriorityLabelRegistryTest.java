@@ -0,0 +1,147 @@
+package com.event.tasker.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.event.tasker.DAO.impl.UiOptionDaoImpl;
+import com.event.tasker.model.UiOption;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: PriorityLabelRegistry")
+class PriorityLabelRegistryTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private UiOptionDaoImpl uiOptionDao;
+
+  private PriorityLabelRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new PriorityLabelRegistry(uiOptionDao, Duration.ofSeconds(30), CLOCK);
+  }
+
+  @Test
+  @DisplayName("Lookups after a refresh are served from memory")
+  void testServedFromMemory() {
+    // Given
+    when(uiOptionDao.getAllPriorityLabels()).thenReturn(Map.of("team-1", labels("Low", "High")));
+    registry.refresh();
+
+    // When
+    ArrayList<UiOption> first = registry.getPriorityLabels("team-1");
+    ArrayList<UiOption> unknown = registry.getPriorityLabels("team-2");
+
+    // Then
+    assertEquals(List.of("Low", "High"), first.stream().map(UiOption::getLabel).toList());
+    assertTrue(unknown.isEmpty(), "Unknown team should have no labels");
+    verify(uiOptionDao, times(1)).getAllPriorityLabels();
+  }
+
+  @Test
+  @DisplayName("A lookup before the first refresh loads the table once")
+  void testLoadsOnFirstLookup() {
+    // Given
+    when(uiOptionDao.getAllPriorityLabels()).thenReturn(Map.of("team-1", labels("Low")));
+
+    // When
+    registry.getPriorityLabels("team-1");
+    registry.getPriorityLabels("team-1");
+
+    // Then
+    verify(uiOptionDao, times(1)).getAllPriorityLabels();
+  }
+
+  @Test
+  @DisplayName("A failed refresh keeps the previous labels")
+  void testFailedRefreshKeepsLabels() {
+    // Given
+    when(uiOptionDao.getAllPriorityLabels())
+        .thenReturn(Map.of("team-1", labels("Low")))
+        .thenThrow(new DataAccessException("DB down") {});
+    registry.refresh();
+
+    // When
+    registry.refresh();
+
+    // Then
+    assertEquals("Low", registry.getPriorityLabels("team-1").getFirst().getLabel());
+  }
+
+  @Test
+  @DisplayName("After a failed load, lookups fail fast without querying until the backoff passes")
+  void testFailedLoadBacksOff() {
+    // Given
+    when(uiOptionDao.getAllPriorityLabels()).thenThrow(new DataAccessException("DB down") {});
+    assertThrows(DataAccessException.class, () -> registry.getPriorityLabels("team-1"));
+
+    // When
+    assertThrowsExactly(
+        DataAccessResourceFailureException.class, () -> registry.getPriorityLabels("team-1"));
+
+    // Then
+    verify(uiOptionDao, times(1)).getAllPriorityLabels();
+  }
+
+  @Test
+  @DisplayName("A lookup retries a failed load once the backoff has passed")
+  void testRetriesAfterBackoff() {
+    // Given
+    registry = new PriorityLabelRegistry(uiOptionDao, Duration.ZERO, CLOCK);
+    when(uiOptionDao.getAllPriorityLabels())
+        .thenThrow(new DataAccessException("DB down") {})
+        .thenReturn(Map.of("team-1", labels("Low")));
+    assertThrows(DataAccessException.class, () -> registry.getPriorityLabels("team-1"));
+
+    // When
+    ArrayList<UiOption> labels = registry.getPriorityLabels("team-1");
+
+    // Then
+    assertEquals(1, labels.size(), "The retried load should serve the lookup");
+    verify(uiOptionDao, times(2)).getAllPriorityLabels();
+  }
+
+  @Test
+  @DisplayName("Returned lists are copies the caller may change")
+  void testReturnsCopies() {
+    // Given
+    when(uiOptionDao.getAllPriorityLabels()).thenReturn(Map.of("team-1", labels("Low")));
+
+    // When
+    registry.getPriorityLabels("team-1").clear();
+
+    // Then
+    assertEquals(1, registry.getPriorityLabels("team-1").size());
+  }
+
+  private static ArrayList<UiOption> labels(String... labels) {
+    ArrayList<UiOption> options = new ArrayList<>();
+    for (int i = 0; i < labels.length; i++) {
+      options.add(UiOption.builder().label(labels[i]).value(Integer.toString(i + 1)).build());
+    }
+    return options;
+  }
+}
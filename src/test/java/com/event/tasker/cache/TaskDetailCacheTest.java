@@ -0,0 +1,219 @@
+package com.event.tasker.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskField;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: TaskDetailCache")
+class TaskDetailCacheTest {
+
+  @Mock private TaskDaoImpl taskDao;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TaskVersionStamps versionStamps;
+  private TaskDetailCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    versionStamps = new TaskVersionStamps(meterRegistry);
+    cache =
+        new TaskDetailCache(taskDao, versionStamps, meterRegistry, 100, Duration.ofMinutes(10));
+  }
+
+  @Test
+  @DisplayName("First read loads the detail, later reads are served from memory")
+  void testLoadsOnce() {
+    // Given
+    TaskDetail detail = detail("task-1");
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL)).thenReturn(Optional.of(detail));
+
+    // When
+    cache.get("task-1");
+    Optional<TaskDetail> second = cache.get("task-1");
+
+    // Then
+    assertEquals(Optional.of(detail), second);
+    verify(taskDao, times(1)).getTaskDetail("task-1", TaskField.ALL);
+    assertEquals(1.0, gets("hit"), "Second read should be a hit");
+    assertEquals(1.0, gets("miss"), "First read should be a miss");
+  }
+
+  @Test
+  @DisplayName("Missing tasks are not cached")
+  void testMissingNotCached() {
+    // Given
+    when(taskDao.getTaskDetail("missing", TaskField.ALL)).thenReturn(Optional.empty());
+
+    // When
+    cache.get("missing");
+    Optional<TaskDetail> second = cache.get("missing");
+
+    // Then
+    assertTrue(second.isEmpty(), "Missing task should stay missing");
+    verify(taskDao, times(2)).getTaskDetail("missing", TaskField.ALL);
+  }
+
+  @Test
+  @DisplayName("getIfPresent returns cached details without loading misses")
+  void testGetIfPresent() {
+    // Given
+    TaskDetail detail = detail("task-1");
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL)).thenReturn(Optional.of(detail));
+    cache.get("task-1");
+
+    // When
+    Optional<TaskDetail> cached = cache.getIfPresent("task-1");
+    Optional<TaskDetail> uncached = cache.getIfPresent("task-2");
+
+    // Then
+    assertEquals(Optional.of(detail), cached);
+    assertTrue(uncached.isEmpty(), "A miss should not be loaded");
+    verify(taskDao, never()).getTaskDetail("task-2", TaskField.ALL);
+  }
+
+  @Test
+  @DisplayName("A failed load is rethrown and not cached")
+  void testFailedLoadNotCached() {
+    // Given
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL))
+        .thenThrow(new QueryTimeoutException("timeout"))
+        .thenReturn(Optional.of(detail("task-1")));
+
+    // When
+    assertThrows(QueryTimeoutException.class, () -> cache.get("task-1"));
+    Optional<TaskDetail> second = cache.get("task-1");
+
+    // Then
+    assertTrue(second.isPresent(), "The next read should load again");
+    verify(taskDao, times(2)).getTaskDetail("task-1", TaskField.ALL);
+  }
+
+  @Test
+  @DisplayName("Loads go through Caffeine's loader, so load metrics are reported")
+  void testLoadMetrics() {
+    // Given
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL))
+        .thenThrow(new QueryTimeoutException("timeout"))
+        .thenReturn(Optional.of(detail("task-1")));
+    assertThrows(QueryTimeoutException.class, () -> cache.get("task-1"));
+
+    // When
+    cache.get("task-1");
+    cache.get("task-1");
+
+    // Then
+    assertEquals(1.0, loads("success"), "One successful load");
+    assertEquals(1.0, loads("failure"), "One failed load");
+  }
+
+  @Test
+  @DisplayName("A batch loads only its misses, with one batched read")
+  void testGetAll() {
+    // Given
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL)).thenReturn(Optional.of(detail("task-1")));
+    cache.get("task-1");
+    when(taskDao.getTaskDetails(List.of("task-2", "task-3"), TaskField.ALL))
+        .thenReturn(Map.of("task-2", detail("task-2")));
+
+    // When
+    Map<String, TaskDetail> details = cache.getAll(List.of("task-1", "task-2", "task-3"));
+
+    // Then
+    assertEquals(2, details.size(), "Missing task should be left out");
+    assertEquals("task-1", details.get("task-1").getId());
+    assertEquals("task-2", details.get("task-2").getId());
+    verify(taskDao, times(1)).getTaskDetails(List.of("task-2", "task-3"), TaskField.ALL);
+  }
+
+  @Test
+  @DisplayName("A recorded write drops the task once its transaction completes")
+  void testInvalidatedAfterCompletion() {
+    // Given
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL)).thenReturn(Optional.of(detail("task-1")));
+    cache.get("task-1");
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // When
+      versionStamps.taskChanged("task-1");
+      cache.get("task-1");
+
+      // Then
+      verify(taskDao, times(1)).getTaskDetail("task-1", TaskField.ALL);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    cache.get("task-1");
+    verify(taskDao, times(2)).getTaskDetail("task-1", TaskField.ALL);
+  }
+
+  @Test
+  @DisplayName("A write to an unknown task drops every cached detail")
+  void testUnknownTaskChanged() {
+    // Given
+    when(taskDao.getTaskDetail("task-1", TaskField.ALL)).thenReturn(Optional.of(detail("task-1")));
+    when(taskDao.getTaskDetail("task-2", TaskField.ALL)).thenReturn(Optional.of(detail("task-2")));
+    cache.get("task-1");
+    cache.get("task-2");
+
+    // When
+    versionStamps.unknownTaskChanged();
+    cache.get("task-1");
+    cache.get("task-2");
+
+    // Then
+    verify(taskDao, times(2)).getTaskDetail("task-1", TaskField.ALL);
+    verify(taskDao, times(2)).getTaskDetail("task-2", TaskField.ALL);
+  }
+
+  private double gets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "taskDetails")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private double loads(String result) {
+    return meterRegistry
+        .get("cache.load")
+        .tag("cache", "taskDetails")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private static TaskDetail detail(String id) {
+    return TaskDetail.builder().id(id).build();
+  }
+}
@@ -0,0 +1,198 @@
+package com.event.tasker.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.event.tasker.DAO.TaskListVersionDao;
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.event.TaskChangedEvent;
+import com.event.tasker.event.TasksImportedEvent;
+import com.event.tasker.model.Task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: TaskListSnapshot")
+class TaskListSnapshotTest {
+
+  @Mock private TaskDaoImpl taskDao;
+  @Mock private TaskListVersionDao listVersionDao;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TaskListSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    snapshot = new TaskListSnapshot(taskDao, listVersionDao, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("First read loads the list, later reads are served from memory")
+  void testLoadsOnce() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1", "task-2"));
+
+    // When
+    snapshot.getTasks();
+    ArrayList<Task> second = snapshot.getTasks();
+
+    // Then
+    assertEquals(2, second.size(), "Should return the loaded tasks");
+    verify(taskDao, times(1)).getTasks();
+    assertEquals(1.0, counter("hit"), "Second read should be a hit");
+    assertEquals(1.0, counter("miss"), "First read should be a miss");
+    assertEquals(1.0, meterRegistry.counter("tasker.task.list.snapshot.rebuilds").count());
+  }
+
+  @Test
+  @DisplayName("Updates and creations are read back by id and patched in")
+  void testAppliesDeltas() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L, 6L, 7L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1", "task-2"));
+    snapshot.getTasks();
+    Task renamed = Task.builder().id("task-1").title("Renamed").build();
+    when(taskDao.getTask("task-1")).thenReturn(Optional.of(renamed));
+    when(taskDao.getTask("task-3")).thenReturn(Optional.of(Task.builder().id("task-3").build()));
+
+    // When
+    snapshot.onTaskChanged(new TaskChangedEvent("task-1", TaskChangedEvent.Type.UPDATED));
+    snapshot.onTaskChanged(new TaskChangedEvent("task-3", TaskChangedEvent.Type.CREATED));
+    ArrayList<Task> result = snapshot.getTasks();
+
+    // Then
+    assertEquals(List.of("task-1", "task-2", "task-3"), ids(result));
+    assertEquals("Renamed", result.getFirst().getTitle(), "Updated task should be replaced");
+    verify(taskDao, times(1)).getTasks();
+    assertEquals(2.0, meterRegistry.counter("tasker.task.list.snapshot.deltas").count());
+  }
+
+  @Test
+  @DisplayName("Deletions are removed without querying the database")
+  void testAppliesDeletion() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L, 6L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1", "task-2"));
+    snapshot.getTasks();
+
+    // When
+    snapshot.onTaskChanged(new TaskChangedEvent("task-1", TaskChangedEvent.Type.DELETED));
+
+    // Then
+    assertEquals(List.of("task-2"), ids(snapshot.getTasks()));
+    verify(taskDao, never()).getTask("task-1");
+  }
+
+  @Test
+  @DisplayName("A failed delta drops the snapshot so the next read reloads")
+  void testFailedDeltaInvalidates() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L, 6L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1"), tasks("task-1", "task-2"));
+    snapshot.getTasks();
+    when(taskDao.getTask("task-2")).thenThrow(new RuntimeException("Database error"));
+
+    // When
+    snapshot.onTaskChanged(new TaskChangedEvent("task-2", TaskChangedEvent.Type.CREATED));
+
+    // Then
+    assertEquals(List.of("task-1", "task-2"), ids(snapshot.getTasks()));
+    verify(taskDao, times(2)).getTasks();
+  }
+
+  @Test
+  @DisplayName("A bulk import drops the snapshot instead of reading each task back")
+  void testImportInvalidates() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L, 6L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1"), tasks("task-1", "task-2", "task-3"));
+    snapshot.getTasks();
+
+    // When
+    snapshot.onTasksImported(new TasksImportedEvent(List.of("task-2", "task-3")));
+
+    // Then
+    assertEquals(List.of("task-1", "task-2", "task-3"), ids(snapshot.getTasks()));
+    verify(taskDao, never()).getTask("task-2");
+    verify(taskDao, times(2)).getTasks();
+  }
+
+  @Test
+  @DisplayName("A write this instance was not told about makes the next read reload")
+  void testReloadsOnVersionChange() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L, 6L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1"), tasks("task-1", "task-2"));
+    snapshot.getTasks();
+
+    // When
+    ArrayList<Task> result = snapshot.getTasks();
+
+    // Then
+    assertEquals(List.of("task-1", "task-2"), ids(result), "Should not serve the stale list");
+    assertEquals(2.0, counter("miss"), "A version mismatch should count as a miss");
+  }
+
+  @Test
+  @DisplayName("A delta that is not the only write since the snapshot drops it")
+  void testDeltaAfterOtherWritesInvalidates() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L, 7L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1"), tasks("task-1", "task-2", "task-3"));
+    snapshot.getTasks();
+
+    // When
+    snapshot.onTaskChanged(new TaskChangedEvent("task-3", TaskChangedEvent.Type.CREATED));
+
+    // Then
+    assertEquals(List.of("task-1", "task-2", "task-3"), ids(snapshot.getTasks()));
+    verify(taskDao, never()).getTask("task-3");
+    assertEquals(0.0, meterRegistry.counter("tasker.task.list.snapshot.deltas").count());
+  }
+
+  @Test
+  @DisplayName("Readers get their own list and cannot change the snapshot")
+  void testReturnsCopies() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(5L);
+    when(taskDao.getTasks()).thenReturn(tasks("task-1"));
+
+    // When
+    snapshot.getTasks().clear();
+
+    // Then
+    assertEquals(1, snapshot.getTasks().size(), "Snapshot should be unaffected");
+  }
+
+  private double counter(String result) {
+    return meterRegistry.counter("tasker.task.list.snapshot", "result", result).count();
+  }
+
+  private static ArrayList<Task> tasks(String... ids) {
+    ArrayList<Task> tasks = new ArrayList<>();
+    for (String id : ids) {
+      tasks.add(Task.builder().id(id).build());
+    }
+    return tasks;
+  }
+
+  private static List<String> ids(List<Task> tasks) {
+    return tasks.stream().map(Task::getId).toList();
+  }
+}
@@ -0,0 +1,104 @@
+package com.event.tasker.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Unit Test: TaskVersionStamps")
+class TaskVersionStampsTest {
+
+  private final RecordingListener listener = new RecordingListener();
+  private SimpleMeterRegistry meterRegistry;
+  private TaskVersionStamps stamps;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    stamps = new TaskVersionStamps(meterRegistry);
+  }
+
+  @Test
+  @DisplayName("A task write is passed on to every listener")
+  void testTaskChanged() {
+    // Given
+    stamps.addListener(listener);
+
+    // When
+    stamps.taskChanged("task-1");
+
+    // Then
+    assertEquals(List.of("task-1"), listener.changed, "Listener should hear of the written task");
+  }
+
+  @Test
+  @DisplayName("A write to an unknown task is passed on as such")
+  void testUnknownTaskChanged() {
+    // Given
+    stamps.addListener(listener);
+
+    // When
+    stamps.unknownTaskChanged();
+
+    // Then
+    assertEquals(1, listener.unknown, "Listener should hear of the unknown write");
+    assertTrue(listener.changed.isEmpty(), "No task should be named");
+  }
+
+  @Test
+  @DisplayName("Inside a transaction listeners hear of a write only after completion")
+  void testDeferredUntilCompletion() {
+    // Given
+    stamps.addListener(listener);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // When
+      stamps.taskChanged("task-1");
+
+      // Then
+      assertTrue(listener.changed.isEmpty(), "Listener should not run mid-transaction");
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+      assertEquals(List.of("task-1"), listener.changed, "Listener should run after completion");
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("Conditional requests are counted as hits or misses")
+  void testRecordRevalidation() {
+    // When
+    stamps.recordRevalidation(true);
+    stamps.recordRevalidation(true);
+    stamps.recordRevalidation(false);
+
+    // Then
+    assertEquals(2.0, meterRegistry.counter("tasker.task.etag", "result", "hit").count());
+    assertEquals(1.0, meterRegistry.counter("tasker.task.etag", "result", "miss").count());
+  }
+
+  private static class RecordingListener implements TaskVersionStamps.Listener {
+    private final List<String> changed = new ArrayList<>();
+    private int unknown;
+
+    @Override
+    public void taskChanged(String taskId) {
+      changed.add(taskId);
+    }
+
+    @Override
+    public void unknownTaskChanged() {
+      unknown++;
+    }
+  }
+}
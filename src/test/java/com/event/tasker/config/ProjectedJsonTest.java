@@ -0,0 +1,79 @@
+package com.event.tasker.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskerResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("Unit Test: ProjectedJson")
+class ProjectedJsonTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final ProjectedJson projectedJson = new ProjectedJson(objectMapper);
+
+  private final TaskerResponse<List<Task>> body =
+      TaskerResponse.<List<Task>>builder()
+          .data(List.of(Task.builder().id("task-1").title("Title only").build()))
+          .build();
+
+  @Test
+  @DisplayName("Projected responses leave out the task fields that were not loaded")
+  void testProjectedOmitsNulls() {
+    // Act
+    Object written = write("title");
+
+    // Assert
+    JsonNode task = ((JsonNode) written).get("data").get(0);
+    assertTrue(task.has("title"));
+    assertFalse(task.has("description"), "An unloaded field should be left out");
+    assertFalse(task.has("completed"), "An unloaded field should be left out");
+  }
+
+  @Test
+  @DisplayName("Unprojected responses keep their null task fields")
+  void testUnprojectedKeepsNulls() throws Exception {
+    // Act
+    Object written = write(null);
+
+    // Assert
+    assertSame(body, written, "The body should be written as it is");
+    JsonNode task = objectMapper.readTree(objectMapper.writeValueAsString(written)).get("data");
+    assertTrue(task.get(0).has("description"), "A null field should be sent as null");
+  }
+
+  @Test
+  @DisplayName("A blank fields parameter selects every field and keeps nulls")
+  void testBlankFieldsIsUnprojected() {
+    // Act / Assert
+    assertSame(body, write(" "));
+  }
+
+  private Object write(String fields) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/list");
+    if (fields != null) {
+      request.setParameter("fields", fields);
+    }
+    return projectedJson.beforeBodyWrite(
+        body,
+        null,
+        MediaType.APPLICATION_JSON,
+        MappingJackson2HttpMessageConverter.class,
+        new ServletServerHttpRequest(request),
+        new ServletServerHttpResponse(new MockHttpServletResponse()));
+  }
+}
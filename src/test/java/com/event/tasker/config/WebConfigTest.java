@@ -28,7 +28,8 @@ class WebConfigTest {
                 .header("Access-Control-Request-Method", "GET"))
         .andExpect(status().isOk())
         .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:4200"))
-        .andExpect(header().string("Access-Control-Allow-Methods", "GET,POST,PUT,DELETE,OPTIONS"))
+        .andExpect(
+            header().string("Access-Control-Allow-Methods", "GET,POST,PUT,PATCH,DELETE,OPTIONS"))
         .andExpect(header().string("Access-Control-Expose-Headers", "Access-Control-Allow-Headers"))
         .andExpect(header().string("Access-Control-Allow-Credentials", "true"));
   }
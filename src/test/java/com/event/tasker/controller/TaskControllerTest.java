@@ -1,10 +1,27 @@
 package com.event.tasker.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,20 +29,39 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.event.tasker.cache.TaskVersionStamps;
+import com.event.tasker.config.ProjectedJson;
+import com.event.tasker.model.BulkTaskResult;
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskPage;
+import com.event.tasker.model.TaskQuery;
 import com.event.tasker.model.TaskerResponse;
 import com.event.tasker.service.TaskService;
+import com.event.tasker.util.ErrorCodes;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Unit Test: TaskController")
 class TaskControllerTest {
 
   @Mock private TaskService taskService;
+  @Mock private TaskVersionStamps versionStamps;
 
   @InjectMocks private TaskController taskController;
 
@@ -42,7 +78,8 @@ class TaskControllerTest {
     when(taskService.getTasks()).thenReturn(expectedResponse.getData());
 
     // When
-    ResponseEntity<TaskerResponse<ArrayList<Task>>> response = taskController.getTasks();
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), null, null, null, request());
 
     // Then
     assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
@@ -56,7 +93,8 @@ class TaskControllerTest {
     when(taskService.getTasks()).thenReturn(null);
 
     // When
-    ResponseEntity<TaskerResponse<ArrayList<Task>>> response = taskController.getTasks();
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), null, null, null, request());
 
     // Then
     assertEquals(
@@ -72,7 +110,8 @@ class TaskControllerTest {
     when(taskService.getTasks()).thenThrow(new RuntimeException("Test exception"));
 
     // When
-    ResponseEntity<TaskerResponse<ArrayList<Task>>> response = taskController.getTasks();
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), null, null, null, request());
 
     // Then
     assertEquals(
@@ -81,6 +120,460 @@ class TaskControllerTest {
         "Should return INTERNAL_SERVER_ERROR when service throws exception");
   }
 
+  @Test
+  @DisplayName("Get tasks with a limit returns one page and the next cursor")
+  void testGetTasksPaged() {
+    // Given
+    ArrayList<Task> pageTasks = new ArrayList<>();
+    pageTasks.add(new Task());
+    TaskPage page = TaskPage.builder().tasks(pageTasks).nextCursor("next-token").build();
+
+    when(taskService.getTaskPage(new TaskQuery(), TaskField.ALL, "token", 10)).thenReturn(page);
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), "token", 10, null, request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertNotNull(response.getBody());
+    assertEquals(pageTasks, response.getBody().getData(), "Should return the page's tasks");
+    assertEquals("next-token", response.getBody().getNextCursor(), "Should expose next cursor");
+    verify(taskService, never()).getTasks();
+  }
+
+  @Test
+  @DisplayName("Get tasks with only a cursor uses the default page size")
+  void testGetTasksCursorDefaultLimit() {
+    // Given
+    when(taskService.getTaskPage(
+            new TaskQuery(), TaskField.ALL, "token", TaskService.DEFAULT_PAGE_SIZE))
+        .thenReturn(TaskPage.builder().build());
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), "token", null, null, request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    verify(taskService)
+        .getTaskPage(new TaskQuery(), TaskField.ALL, "token", TaskService.DEFAULT_PAGE_SIZE);
+  }
+
+  @Test
+  @DisplayName("Get tasks with only filters returns the first filtered page")
+  void testGetTasksFiltered() {
+    // Given
+    TaskQuery query = TaskQuery.builder().priority(Task.Priority.HIGH).tag("backend").build();
+    when(taskService.getTaskPage(query, TaskField.ALL, null, TaskService.DEFAULT_PAGE_SIZE))
+        .thenReturn(TaskPage.builder().build());
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(query, null, null, null, request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    verify(taskService).getTaskPage(query, TaskField.ALL, null, TaskService.DEFAULT_PAGE_SIZE);
+    verify(taskService, never()).getTasks();
+  }
+
+  @Test
+  @DisplayName("Get tasks returns bad request for a malformed cursor")
+  void testGetTasksInvalidCursor() {
+    // Given
+    when(taskService.getTaskPage(new TaskQuery(), TaskField.ALL, "garbage", 10))
+        .thenThrow(new IllegalArgumentException("Invalid cursor: garbage"));
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), "garbage", 10, null, request());
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(response.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, response.getBody().getErrorCode());
+  }
+
+  @Test
+  @DisplayName("Get task facets returns the counts")
+  void testGetTaskFacets() {
+    // Given
+    TaskQuery query = new TaskQuery();
+    TaskFacets facets = TaskFacets.builder().total(7).build();
+    when(taskService.getTaskFacets(query)).thenReturn(facets);
+
+    // When
+    ResponseEntity<TaskerResponse<TaskFacets>> response =
+        taskController.getTaskFacets(query, request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertNotNull(response.getBody());
+    assertEquals(facets, response.getBody().getData());
+  }
+
+  @Test
+  @DisplayName("Get task tree returns the nested subtasks")
+  void testGetTaskTree() {
+    // Given
+    TaskNode tree = TaskNode.builder().task(Task.builder().id("root").build()).build();
+    when(taskService.getTaskTree("root", 2)).thenReturn(tree);
+
+    // When
+    ResponseEntity<TaskerResponse<TaskNode>> response =
+        taskController.getTaskTree("root", 2, request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertNotNull(response.getBody());
+    assertEquals(tree, response.getBody().getData());
+  }
+
+  @Test
+  @DisplayName("Get task tree answers 304 until a task in the tree changes")
+  void testGetTaskTreeNotModified() {
+    // Given
+    Task child = Task.builder().id("child").version(4L).build();
+    TaskNode tree =
+        TaskNode.builder()
+            .task(Task.builder().id("root").version(2L).build())
+            .children(new ArrayList<>(List.of(TaskNode.builder().task(child).depth(1).build())))
+            .build();
+    when(taskService.getTaskTree("root", 2)).thenReturn(tree);
+    MockHttpServletRequest initial = new MockHttpServletRequest("GET", "/task/root/tree");
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    taskController.getTaskTree("root", 2, new ServletWebRequest(initial, first));
+    String etag = first.getHeader(HttpHeaders.ETAG);
+
+    // When
+    MockHttpServletRequest unchanged = new MockHttpServletRequest("GET", "/task/root/tree");
+    unchanged.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+    MockHttpServletResponse unchangedResponse = new MockHttpServletResponse();
+    ResponseEntity<TaskerResponse<TaskNode>> notModified =
+        taskController.getTaskTree("root", 2, new ServletWebRequest(unchanged, unchangedResponse));
+    child.setVersion(5L);
+    MockHttpServletRequest changed = new MockHttpServletRequest("GET", "/task/root/tree");
+    changed.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+    ResponseEntity<TaskerResponse<TaskNode>> modified =
+        taskController.getTaskTree(
+            "root", 2, new ServletWebRequest(changed, new MockHttpServletResponse()));
+
+    // Then
+    assertNotNull(etag, "The tree response should carry an ETag");
+    assertNull(notModified, "Handler should leave the prepared 304 in place");
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), unchangedResponse.getStatus());
+    assertEquals(HttpStatus.OK, modified.getStatusCode(), "A changed subtask should refetch");
+    verify(taskService, never()).getListVersion();
+  }
+
+  @Test
+  @DisplayName("Search tasks returns the ranked page and its cursor")
+  void testSearchTasks() {
+    // Given
+    ArrayList<Task> tasks = new ArrayList<>(List.of(Task.builder().id("task-1").build()));
+    when(taskService.searchTasks("release", null, TaskService.DEFAULT_PAGE_SIZE))
+        .thenReturn(TaskPage.builder().tasks(tasks).nextCursor("50").build());
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.searchTasks("release", null, null);
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertNotNull(response.getBody());
+    assertEquals(tasks, response.getBody().getData(), "Should return the matching tasks");
+    assertEquals("50", response.getBody().getNextCursor(), "Should pass the cursor through");
+  }
+
+  @Test
+  @DisplayName("Search tasks returns bad request for blank text")
+  void testSearchTasksBlank() {
+    // Given
+    when(taskService.searchTasks(" ", null, TaskService.DEFAULT_PAGE_SIZE))
+        .thenThrow(new IllegalArgumentException("Search text must not be blank"));
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.searchTasks(" ", null, null);
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(response.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, response.getBody().getErrorCode());
+  }
+
+  @Test
+  @DisplayName("Stream tasks writes one JSON document per line")
+  @SuppressWarnings("unchecked")
+  void testStreamTasks() throws Exception {
+    // Given
+    TaskController controller = controller(new ObjectMapper().findAndRegisterModules());
+    doAnswer(
+            invocation -> {
+              Consumer<Task> consumer = invocation.getArgument(2);
+              consumer.accept(Task.builder().id("1").title("First").build());
+              consumer.accept(Task.builder().id("2").title("Second").build());
+              return null;
+            })
+        .when(taskService)
+        .streamTasks(any(TaskQuery.class), anySet(), any(Consumer.class));
+
+    // When
+    ResponseEntity<StreamingResponseBody> response = controller.streamTasks(new TaskQuery(), null);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertNotNull(response.getBody());
+    response.getBody().writeTo(out);
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length, "Should write one line per task");
+    assertTrue(lines[0].contains("\"id\":\"1\""), "First line should hold the first task");
+    assertTrue(lines[1].contains("\"title\":\"Second\""), "Second line should hold the next task");
+  }
+
+  @Test
+  @DisplayName("Stream tasks omits unloaded fields only when fields are projected")
+  @SuppressWarnings("unchecked")
+  void testStreamTasksProjected() throws Exception {
+    // Given
+    TaskController controller = controller(new ObjectMapper().findAndRegisterModules());
+    doAnswer(
+            invocation -> {
+              Consumer<Task> consumer = invocation.getArgument(2);
+              consumer.accept(Task.builder().id("1").title("First").build());
+              return null;
+            })
+        .when(taskService)
+        .streamTasks(any(TaskQuery.class), anySet(), any(Consumer.class));
+
+    // When
+    ByteArrayOutputStream projected = new ByteArrayOutputStream();
+    controller.streamTasks(new TaskQuery(), "title").getBody().writeTo(projected);
+    ByteArrayOutputStream full = new ByteArrayOutputStream();
+    controller.streamTasks(new TaskQuery(), null).getBody().writeTo(full);
+
+    // Then
+    assertFalse(
+        projected.toString(StandardCharsets.UTF_8).contains("description"),
+        "A projected line should leave out fields that were not loaded");
+    assertTrue(
+        full.toString(StandardCharsets.UTF_8).contains("\"description\":null"),
+        "A full line should keep its null fields");
+  }
+
+  @Test
+  @DisplayName("Bulk create reads NDJSON line by line and reports unreadable lines per task")
+  void testCreateTasksNdjson() throws Exception {
+    // Given
+    TaskController controller = controller(new ObjectMapper().findAndRegisterModules());
+    List<String> read = new ArrayList<>();
+    when(taskService.addTasks(any()))
+        .thenAnswer(
+            invocation -> {
+              Iterator<TaskDetail> tasks = invocation.getArgument(0);
+              while (tasks.hasNext()) {
+                try {
+                  read.add(tasks.next().getTitle());
+                } catch (IllegalArgumentException e) {
+                  read.add(e.getMessage());
+                }
+              }
+              return TaskerResponse.<List<BulkTaskResult>>builder().status("CREATED").build();
+            });
+    String body = "{\"title\":\"First\"}\n\n{not json\n{\"title\":\"Second\"}\n";
+
+    // When
+    ResponseEntity<TaskerResponse<List<BulkTaskResult>>> response =
+        controller.createTasks(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertEquals(3, read.size(), "Blank lines should be skipped");
+    assertEquals("First", read.get(0));
+    assertTrue(read.get(1).startsWith("Line 3 "), "A bad line should fail with its number");
+    assertEquals("Second", read.get(2), "Reading should go on after a bad line");
+  }
+
+  @Test
+  @DisplayName("Bulk create reads a JSON array element by element and reports bad elements")
+  void testCreateTaskArray() throws Exception {
+    // Given
+    TaskController controller = controller(new ObjectMapper().findAndRegisterModules());
+    List<String> read = new ArrayList<>();
+    when(taskService.addTasks(any()))
+        .thenAnswer(
+            invocation -> {
+              Iterator<TaskDetail> tasks = invocation.getArgument(0);
+              while (tasks.hasNext()) {
+                try {
+                  read.add(tasks.next().getTitle());
+                } catch (IllegalArgumentException e) {
+                  read.add(e.getMessage());
+                }
+              }
+              return TaskerResponse.<List<BulkTaskResult>>builder().status("CREATED").build();
+            });
+    String body =
+        "[{\"title\":\"First\"}, {\"title\":[\"not\",\"text\"]}, {\"title\":\"Second\"}]";
+
+    // When
+    ResponseEntity<TaskerResponse<List<BulkTaskResult>>> response =
+        controller.createTaskArray(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertEquals(3, read.size(), "Every element should be reported");
+    assertEquals("First", read.get(0));
+    assertTrue(read.get(1).startsWith("Element 1 "), "A bad element should fail with its index");
+    assertEquals("Second", read.get(2), "Reading should go on after a bad element");
+  }
+
+  @Test
+  @DisplayName("Bulk create rejects a JSON body that is not an array without calling the service")
+  void testCreateTaskArrayNotArray() throws Exception {
+    // Given
+    TaskController controller = controller(new ObjectMapper().findAndRegisterModules());
+
+    // When
+    ResponseEntity<TaskerResponse<List<BulkTaskResult>>> response =
+        controller.createTaskArray(
+            new ByteArrayInputStream("{\"title\":\"One\"}".getBytes(StandardCharsets.UTF_8)));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  @DisplayName("Patch task rejects an invalid merge patch without calling the service")
+  void testPatchTaskInvalid() throws Exception {
+    // Given
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    TaskController controller = controller(objectMapper);
+
+    // When
+    ResponseEntity<TaskerResponse<String>> response =
+        controller.patchTask("task-1", objectMapper.readTree("{\"createdAt\":null}"), null);
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(response.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, response.getBody().getErrorCode());
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  @DisplayName("Get tasks with fields returns a page of the projected fields")
+  void testGetTasksWithFields() {
+    // Given
+    EnumSet<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.PRIORITY);
+    when(taskService.getTaskPage(new TaskQuery(), fields, null, TaskService.DEFAULT_PAGE_SIZE))
+        .thenReturn(TaskPage.builder().build());
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), null, null, "title, priority", request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    verify(taskService).getTaskPage(new TaskQuery(), fields, null, TaskService.DEFAULT_PAGE_SIZE);
+    verify(taskService, never()).getTasks();
+  }
+
+  @Test
+  @DisplayName("Get tasks returns bad request for an unknown field")
+  void testGetTasksUnknownField() {
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(new TaskQuery(), null, null, "title,secret", request());
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(response.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, response.getBody().getErrorCode());
+  }
+
+  @Test
+  @DisplayName("Stream tasks returns bad request for an unknown field")
+  void testStreamTasksUnknownField() {
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        taskController.streamTasks(new TaskQuery(), "secret");
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+  }
+
+  @Test
+  @DisplayName("Get task detail passes the requested fields to the service")
+  void testGetTaskDetailWithFields() {
+    // Given
+    TaskerResponse<TaskDetail> expected =
+        TaskerResponse.<TaskDetail>builder().data(TaskDetail.builder().id("1").build()).build();
+    when(taskService.getTaskBy("1", EnumSet.of(TaskField.ID, TaskField.TAGS))).thenReturn(expected);
+
+    // When
+    ResponseEntity<TaskerResponse<TaskDetail>> response =
+        taskController.getTaskDetail("1", "tags", request());
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertEquals(expected, response.getBody());
+  }
+
+  @Test
+  @DisplayName("Get task detail returns bad request for an unknown field")
+  void testGetTaskDetailUnknownField() {
+    // When
+    ResponseEntity<TaskerResponse<TaskDetail>> response =
+        taskController.getTaskDetail("1", "secret", request());
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(response.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, response.getBody().getErrorCode());
+    verify(taskService, never()).getTaskBy(anyString(), anySet());
+  }
+
+  @Test
+  @DisplayName("Get task details returns the batch loaded by the service")
+  void testGetTaskDetails() {
+    // Given
+    List<TaskDetail> details =
+        List.of(TaskDetail.builder().id("1").build(), TaskDetail.builder().id("2").build());
+    when(taskService.getTaskDetails(List.of("1", "2"), EnumSet.of(TaskField.ID, TaskField.TITLE)))
+        .thenReturn(details);
+
+    // When
+    ResponseEntity<TaskerResponse<List<TaskDetail>>> response =
+        taskController.getTaskDetails(List.of("1", "2"), "title");
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Should return OK status");
+    assertNotNull(response.getBody());
+    assertEquals(details, response.getBody().getData());
+  }
+
+  @Test
+  @DisplayName("Get task details returns bad request for a rejected batch")
+  void testGetTaskDetailsInvalid() {
+    // Given
+    when(taskService.getTaskDetails(List.of(), TaskField.ALL))
+        .thenThrow(new IllegalArgumentException("Between 1 and 100 task ids are required"));
+
+    // When
+    ResponseEntity<TaskerResponse<List<TaskDetail>>> response =
+        taskController.getTaskDetails(List.of(), null);
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(response.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, response.getBody().getErrorCode());
+  }
+
   @Test
   @DisplayName("Controller setup initializes MockMvc correctly")
   void testControllerSetup() {
@@ -90,4 +583,102 @@ class TaskControllerTest {
     // Then
     assertNotNull(mockMvc, "MockMvc should be initialized");
   }
+
+  @Test
+  @DisplayName("Get tasks answers 304 when If-None-Match matches the stored list version")
+  void testGetTasksNotModified() {
+    // Given
+    TaskQuery query = new TaskQuery();
+    when(taskService.getListVersion()).thenReturn(31L);
+    MockHttpServletRequest httpRequest = new MockHttpServletRequest("GET", "/task/list");
+    httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"list-31\"");
+    MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+    // When
+    ResponseEntity<TaskerResponse<ArrayList<Task>>> response =
+        taskController.getTasks(
+            query, null, null, null, new ServletWebRequest(httpRequest, httpResponse));
+
+    // Then
+    assertNull(response, "Handler should leave the prepared 304 in place");
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), httpResponse.getStatus());
+    verify(versionStamps).recordRevalidation(true);
+    verify(taskService, never()).getTasks();
+  }
+
+  @Test
+  @DisplayName("Get task detail returns the task and its ETag when the version changed")
+  void testGetTaskDetailModified() {
+    // Given
+    TaskerResponse<TaskDetail> expected =
+        TaskerResponse.<TaskDetail>builder()
+            .data(TaskDetail.builder().id("1").version(9L).build())
+            .build();
+    when(taskService.getTaskBy("1", TaskField.ALL)).thenReturn(expected);
+    MockHttpServletRequest httpRequest = new MockHttpServletRequest("GET", "/task/1");
+    httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"8\"");
+    MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+    // When
+    ResponseEntity<TaskerResponse<TaskDetail>> response =
+        taskController.getTaskDetail("1", null, new ServletWebRequest(httpRequest, httpResponse));
+
+    // Then
+    assertNotNull(response);
+    assertEquals(expected, response.getBody());
+    assertEquals("\"9\"", httpResponse.getHeader(HttpHeaders.ETAG), "The ETag is the row version");
+    verify(versionStamps).recordRevalidation(false);
+  }
+
+  @Test
+  @DisplayName("Get task detail answers 304 while the row version is unchanged")
+  void testGetTaskDetailNotModified() {
+    // Given
+    when(taskService.getTaskBy("1", TaskField.ALL))
+        .thenReturn(
+            TaskerResponse.<TaskDetail>builder()
+                .data(TaskDetail.builder().id("1").version(9L).build())
+                .build());
+    MockHttpServletRequest httpRequest = new MockHttpServletRequest("GET", "/task/1");
+    httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"9\"");
+    MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+    // When
+    ResponseEntity<TaskerResponse<TaskDetail>> response =
+        taskController.getTaskDetail("1", null, new ServletWebRequest(httpRequest, httpResponse));
+
+    // Then
+    assertNull(response, "Handler should leave the prepared 304 in place");
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), httpResponse.getStatus());
+    verify(versionStamps).recordRevalidation(true);
+  }
+
+  @Test
+  @DisplayName("Delete task passes the If-Match version and rejects a malformed one")
+  void testDeleteTaskIfMatch() {
+    // Given
+    when(taskService.deleteTask("1", 4L))
+        .thenReturn(TaskerResponse.<String>builder().message("Task deleted").build());
+
+    // When
+    ResponseEntity<TaskerResponse<String>> deleted = taskController.deleteTask("1", "\"4\"");
+    ResponseEntity<TaskerResponse<String>> malformed = taskController.deleteTask("1", "W/\"4\"");
+
+    // Then
+    assertEquals(HttpStatus.OK, deleted.getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, malformed.getStatusCode(), "Should return BAD_REQUEST");
+    assertNotNull(malformed.getBody());
+    assertEquals(ErrorCodes.VALIDATION_FAILED, malformed.getBody().getErrorCode());
+    verify(taskService).deleteTask("1", 4L);
+  }
+
+  private static WebRequest request() {
+    return new ServletWebRequest(
+        new MockHttpServletRequest("GET", "/task"), new MockHttpServletResponse());
+  }
+
+  private TaskController controller(ObjectMapper objectMapper) {
+    return new TaskController(
+        taskService, objectMapper, new ProjectedJson(objectMapper), versionStamps);
+  }
 }
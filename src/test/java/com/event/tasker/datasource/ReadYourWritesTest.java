@@ -0,0 +1,101 @@
+package com.event.tasker.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.event.tasker.cache.TaskVersionStamps;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+@DisplayName("Unit Test: ReadYourWrites")
+class ReadYourWritesTest {
+
+  private ReadYourWrites readYourWrites;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() {
+    readYourWrites =
+        new ReadYourWrites(
+            new TaskVersionStamps(new SimpleMeterRegistry()), Duration.ofSeconds(10));
+    request = new MockHttpServletRequest();
+    request.setContextPath("/api");
+    response = new MockHttpServletResponse();
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    DataSourceRouting.clear();
+  }
+
+  @Test
+  @DisplayName("A write routes the rest of the request to the primary and sets the cookie")
+  void testWrite() {
+    // Given
+    readYourWrites.preHandle(request, response, new Object());
+
+    // When
+    readYourWrites.taskChanged("task-1");
+    readYourWrites.taskChanged("task-2");
+
+    // Then
+    assertTrue(DataSourceRouting.isPrimaryRequired(), "Later reads should use the primary");
+    Cookie cookie = response.getCookie(ReadYourWrites.COOKIE);
+    assertNotNull(cookie, "The client should be told to stick to the primary");
+    assertEquals("/api", cookie.getPath());
+    assertEquals(10, cookie.getMaxAge());
+    assertEquals(1, response.getHeaders("Set-Cookie").size(), "One cookie per request");
+
+    readYourWrites.afterCompletion(request, response, new Object(), null);
+    assertFalse(DataSourceRouting.isPrimaryRequired(), "Routing should reset after the request");
+  }
+
+  @Test
+  @DisplayName("Requests within the window read from the primary")
+  void testWithinWindow() {
+    // Given
+    long until = System.currentTimeMillis() + 5_000;
+    request.setCookies(new Cookie(ReadYourWrites.COOKIE, Long.toString(until)));
+
+    // When
+    readYourWrites.preHandle(request, response, new Object());
+
+    // Then
+    assertTrue(DataSourceRouting.isPrimaryRequired());
+  }
+
+  @Test
+  @DisplayName("Expired or malformed cookies are ignored")
+  void testExpired() {
+    // Given
+    long until = System.currentTimeMillis() - 1;
+    request.setCookies(
+        new Cookie(ReadYourWrites.COOKIE, Long.toString(until)), new Cookie("other", "value"));
+    MockHttpServletRequest malformed = new MockHttpServletRequest();
+    malformed.setCookies(new Cookie(ReadYourWrites.COOKIE, "soon"));
+
+    // When
+    readYourWrites.preHandle(request, response, new Object());
+    readYourWrites.preHandle(malformed, response, new Object());
+
+    // Then
+    assertFalse(DataSourceRouting.isPrimaryRequired());
+  }
+}
@@ -0,0 +1,125 @@
+package com.event.tasker.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Unit Test: ReplicaLagMonitor")
+class ReplicaLagMonitorTest {
+
+  private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+  private SimpleMeterRegistry meterRegistry;
+  private DataSource primary;
+  private DataSource replica;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    primary = database();
+    replica = database();
+  }
+
+  @Test
+  @DisplayName("The replica is not used before the first check")
+  void testUnusableUntilChecked() {
+    // When
+    ReplicaLagMonitor monitor = monitor(primary);
+
+    // Then
+    assertFalse(monitor.isReplicaUsable());
+  }
+
+  @Test
+  @DisplayName("A replica that has applied the latest heartbeat is usable")
+  void testInSync() {
+    // Given: the primary serves as its own replica, so every heartbeat is applied at once
+    ReplicaLagMonitor monitor = monitor(primary);
+
+    // When
+    monitor.check();
+
+    // Then
+    assertTrue(monitor.isReplicaUsable());
+    assertEquals(0.0, lag(), "Lag should be zero");
+  }
+
+  @Test
+  @DisplayName("A replica further behind than max-lag is not used")
+  void testLagging() {
+    // Given
+    new JdbcTemplate(replica)
+        .update(
+            "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1",
+            Timestamp.from(NOW.minusSeconds(30)));
+    ReplicaLagMonitor monitor = monitor(replica);
+
+    // When
+    monitor.check();
+
+    // Then
+    assertFalse(monitor.isReplicaUsable());
+    assertEquals(30_000.0, lag(), "Lag should be the age of the newest applied heartbeat");
+  }
+
+  @Test
+  @DisplayName("A failed check or connection stops reads from the replica")
+  void testFailures() {
+    // Given
+    ReplicaLagMonitor monitor = monitor(primary);
+    monitor.check();
+
+    // When
+    monitor.replicaFailed();
+
+    // Then
+    assertFalse(monitor.isReplicaUsable(), "A failed connection should stop replica reads");
+    monitor.check();
+    assertTrue(monitor.isReplicaUsable(), "The next successful check should resume them");
+
+    new JdbcTemplate(primary).execute("DROP TABLE replica_heartbeat");
+    monitor.check();
+    assertFalse(monitor.isReplicaUsable(), "A failed check should stop replica reads");
+  }
+
+  private ReplicaLagMonitor monitor(DataSource replica) {
+    return new ReplicaLagMonitor(
+        primary, replica, Duration.ofSeconds(5), meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private double lag() {
+    return meterRegistry
+        .get("tasker.datasource.replica.lag")
+        .timeGauge()
+        .value(TimeUnit.MILLISECONDS);
+  }
+
+  private static DataSource database() {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:heartbeat-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute(
+        "CREATE TABLE replica_heartbeat (id TINYINT PRIMARY KEY, beat_at TIMESTAMP(3) NOT NULL)");
+    jdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(3))");
+    return dataSource;
+  }
+}
@@ -0,0 +1,191 @@
+package com.event.tasker.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: ReplicaRoutingDataSource")
+class ReplicaRoutingDataSourceTest {
+
+  private static final String WHICH = "SELECT name FROM which_database";
+
+  @Mock private ReplicaLagMonitor lagMonitor;
+
+  private SimpleMeterRegistry meterRegistry;
+  private DataSource primary;
+  private DataSource replica;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    primary = database("primary");
+    replica = database("replica");
+  }
+
+  @Test
+  @DisplayName("Marked reads outside a transaction go to the replica")
+  void testNonTransactionalRead() {
+    // Given
+    when(lagMonitor.isReplicaUsable()).thenReturn(true);
+    JdbcTemplate jdbc = new JdbcTemplate(routing(replica));
+
+    // When
+    String which = DataSourceRouting.onReplica(() -> jdbc.queryForObject(WHICH, String.class));
+
+    // Then
+    assertEquals("replica", which);
+  }
+
+  @Test
+  @DisplayName("Unmarked statements outside a transaction go to the primary")
+  void testUnmarkedStatement() {
+    // Given
+    JdbcTemplate jdbc = new JdbcTemplate(routing(replica));
+
+    // When
+    int updated = jdbc.update("UPDATE which_database SET name = name");
+
+    // Then
+    assertEquals(1, updated, "The write should reach the writable primary");
+    assertEquals("primary", jdbc.queryForObject(WHICH, String.class));
+  }
+
+  @Test
+  @DisplayName("Connections opened with credentials are routed like any other")
+  void testCredentials() throws SQLException {
+    // Given
+    when(lagMonitor.isReplicaUsable()).thenReturn(true);
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry);
+
+    // When
+    String which =
+        DataSourceRouting.onReplica(
+            () -> {
+              try (Connection connection = routing.getConnection("sa", "")) {
+                return new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject(WHICH, String.class);
+              } catch (SQLException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    // Then
+    assertEquals("replica", which);
+  }
+
+  @Test
+  @DisplayName("Read-only transactions go to the replica, read-write ones to the primary")
+  void testTransactions() {
+    // Given
+    when(lagMonitor.isReplicaUsable()).thenReturn(true);
+    DataSource routing = routing(replica);
+    JdbcTemplate jdbc = new JdbcTemplate(routing);
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(routing));
+
+    // When
+    String readWrite = transaction.execute(status -> jdbc.queryForObject(WHICH, String.class));
+    transaction.setReadOnly(true);
+    String readOnly = transaction.execute(status -> jdbc.queryForObject(WHICH, String.class));
+
+    // Then
+    assertEquals("primary", readWrite, "Read-write transactions should use the primary");
+    assertEquals("replica", readOnly, "Read-only transactions should use the replica");
+  }
+
+  @Test
+  @DisplayName("Reads that require the primary skip the replica")
+  void testPrimaryRequired() {
+    // Given
+    JdbcTemplate jdbc = new JdbcTemplate(routing(replica));
+
+    // When
+    String which =
+        DataSourceRouting.onReplica(
+            () -> DataSourceRouting.onPrimary(() -> jdbc.queryForObject(WHICH, String.class)));
+
+    // Then
+    assertEquals("primary", which);
+  }
+
+  @Test
+  @DisplayName("A lagging replica is not used")
+  void testReplicaUnusable() {
+    // Given
+    when(lagMonitor.isReplicaUsable()).thenReturn(false);
+    JdbcTemplate jdbc = new JdbcTemplate(routing(replica));
+
+    // When
+    String which = DataSourceRouting.onReplica(() -> jdbc.queryForObject(WHICH, String.class));
+
+    // Then
+    assertEquals("primary", which);
+  }
+
+  @Test
+  @DisplayName("A failed replica connection falls back to the primary")
+  void testFallback() throws SQLException {
+    // Given
+    when(lagMonitor.isReplicaUsable()).thenReturn(true);
+    DataSource down = mock(DataSource.class);
+    when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+    JdbcTemplate jdbc = new JdbcTemplate(routing(down));
+
+    // When
+    String which = DataSourceRouting.onReplica(() -> jdbc.queryForObject(WHICH, String.class));
+
+    // Then
+    assertEquals("primary", which);
+    verify(lagMonitor).replicaFailed();
+    assertEquals(
+        1.0,
+        meterRegistry.get("tasker.datasource.replica.fallbacks").counter().count(),
+        "The fallback should be counted");
+  }
+
+  private DataSource routing(DataSource replica) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+    proxy.setTargetDataSource(
+        new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry));
+    // Given up front so the proxy does not open a connection of its own to detect them
+    proxy.setDefaultAutoCommit(true);
+    proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    proxy.afterPropertiesSet();
+    return proxy;
+  }
+
+  /** An in-memory H2 database that answers {@link #WHICH} with {@code name}. */
+  private static DataSource database(String name) {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE which_database (name VARCHAR(16))");
+    jdbc.update("INSERT INTO which_database (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
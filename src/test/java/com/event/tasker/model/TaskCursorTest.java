@@ -0,0 +1,67 @@
+package com.event.tasker.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Unit Test: TaskCursor")
+class TaskCursorTest {
+
+  @Test
+  @DisplayName("Encoded cursor decodes back to the same position")
+  void testRoundTrip() {
+    // Given
+    TaskCursor cursor =
+        TaskCursor.builder()
+            .createdAt(Instant.parse("2025-06-15T19:30:00.123Z"))
+            .id("8d1f5c2e-4d5b-4a34-9d1e-3f0b7c6a9e21")
+            .build();
+
+    // When
+    String token = cursor.encode();
+
+    // Then
+    assertFalse(token.contains("="), "Token should be unpadded");
+    assertEquals(cursor, TaskCursor.decode(token), "Decoded cursor should match the original");
+  }
+
+  @Test
+  @DisplayName("Cursor is built from the last task of a page")
+  void testFromTask() {
+    Instant createdAt = Instant.now();
+    Task task = Task.builder().id("task-1").createdAt(createdAt).build();
+
+    TaskCursor cursor = TaskCursor.from(task);
+
+    assertEquals("task-1", cursor.getId());
+    assertEquals(createdAt, cursor.getCreatedAt());
+  }
+
+  @Test
+  @DisplayName("Missing token decodes to null")
+  void testDecodeBlank() {
+    assertNull(TaskCursor.decode(null));
+    assertNull(TaskCursor.decode(" "));
+  }
+
+  @Test
+  @DisplayName("Malformed tokens are rejected")
+  void testDecodeMalformed() {
+    String noSeparator =
+        Base64.getUrlEncoder().encodeToString("no-separator".getBytes(StandardCharsets.UTF_8));
+    String badInstant =
+        Base64.getUrlEncoder().encodeToString("yesterday|task-1".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode("%%%"));
+    assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(noSeparator));
+    assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(badInstant));
+  }
+}
@@ -0,0 +1,36 @@
+package com.event.tasker.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Unit Test: TaskField")
+class TaskFieldTest {
+
+  @Test
+  @DisplayName("Missing or blank fields select every field")
+  void testParseBlank() {
+    assertEquals(TaskField.ALL, TaskField.parse(null));
+    assertEquals(TaskField.ALL, TaskField.parse("  "));
+  }
+
+  @Test
+  @DisplayName("Listed fields are parsed by their JSON names and always include the id")
+  void testParseList() {
+    assertEquals(
+        EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.DUE_DATE),
+        TaskField.parse("title, dueDate"));
+  }
+
+  @Test
+  @DisplayName("Unknown fields are rejected")
+  void testParseUnknown() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> TaskField.parse("title,password"));
+    assertEquals("Unknown field: password", exception.getMessage());
+  }
+}
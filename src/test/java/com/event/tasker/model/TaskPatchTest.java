@@ -0,0 +1,73 @@
+package com.event.tasker.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("Unit Test: TaskPatch")
+class TaskPatchTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Test
+  @DisplayName("Only the fields in the patch are changed, converted to their column types")
+  void testParseScalars() throws Exception {
+    TaskPatch patch =
+        parse(
+            "{\"completed\":true,\"priority\":\"URGENT\",\"dueDate\":\"2025-07-01T00:00:00Z\"}");
+
+    assertEquals(
+        Map.of(
+            TaskField.COMPLETED,
+            true,
+            TaskField.PRIORITY,
+            Task.Priority.URGENT,
+            TaskField.DUE_DATE,
+            Instant.parse("2025-07-01T00:00:00Z")),
+        patch.getColumns());
+    assertNull(patch.getTags(), "Tags not in the patch should be left alone");
+  }
+
+  @Test
+  @DisplayName("Null clears optional fields and removes every tag")
+  void testParseNulls() throws Exception {
+    TaskPatch patch = parse("{\"description\":null,\"parentId\":null,\"tags\":null}");
+
+    assertTrue(patch.getColumns().containsKey(TaskField.DESCRIPTION));
+    assertNull(patch.getColumns().get(TaskField.DESCRIPTION), "Null should clear the column");
+    assertEquals(List.of(), patch.getTags());
+  }
+
+  @Test
+  @DisplayName("An empty patch changes nothing")
+  void testParseEmpty() throws Exception {
+    assertTrue(parse("{}").isEmpty());
+  }
+
+  @Test
+  @DisplayName("Read-only fields, unknown fields and wrong types are rejected")
+  void testParseInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"id\":\"other\"}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"owner\":\"me\"}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"title\":null}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"completed\":\"yes\"}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"priority\":\"SOON\"}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"dueDate\":null}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("{\"tags\":[1]}"));
+    assertThrows(IllegalArgumentException.class, () -> parse("[]"));
+  }
+
+  private TaskPatch parse(String json) throws Exception {
+    return TaskPatch.parse(objectMapper.readTree(json), objectMapper);
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Instant;
@@ -53,7 +54,7 @@ class TaskTest {
     assertEquals(id, task.getId());
     assertEquals(title, task.getTitle());
     assertEquals(description, task.getDescription());
-    assertEquals(completed, task.isCompleted());
+    assertFalse(task.getCompleted());
     assertEquals(priority, task.getPriority());
     assertEquals(dueDate, task.getDueDate());
     assertEquals(createdAt, task.getCreatedAt());
@@ -94,7 +95,7 @@ class TaskTest {
     assertEquals(id, task.getId());
     assertEquals(title, task.getTitle());
     assertEquals(description, task.getDescription());
-    assertEquals(completed, task.isCompleted());
+    assertTrue(task.getCompleted());
     assertEquals(priority, task.getPriority());
     assertEquals(dueDate, task.getDueDate());
     assertEquals(createdAt, task.getCreatedAt());
@@ -225,7 +226,7 @@ class TaskTest {
     assertEquals(id, task.getId());
     assertEquals(title, task.getTitle());
     assertEquals(description, task.getDescription());
-    assertEquals(completed, task.isCompleted());
+    assertTrue(task.getCompleted());
     assertEquals(priority, task.getPriority());
     assertEquals(dueDate, task.getDueDate());
     assertEquals(createdAt, task.getCreatedAt());
@@ -245,7 +246,7 @@ class TaskTest {
     assertNull(task.getId());
     assertNull(task.getTitle());
     assertNull(task.getDescription());
-    assertFalse(task.isCompleted());
+    assertNull(task.getCompleted());
     assertNull(task.getPriority());
     assertNull(task.getDueDate());
     assertNull(task.getCreatedAt());
@@ -254,4 +255,17 @@ class TaskTest {
     assertNull(task.getTags());
     assertNull(task.getProfilePicture());
   }
+
+  @Test
+  @DisplayName("Priority codes resolve to their priority, unknown codes are rejected")
+  void testPriorityFromCode() {
+    // When / Then
+    assertEquals(Task.Priority.ALL, Task.Priority.fromCode(0));
+    assertEquals(Task.Priority.LOW, Task.Priority.fromCode(1));
+    assertEquals(Task.Priority.MEDIUM, Task.Priority.fromCode(2));
+    assertEquals(Task.Priority.HIGH, Task.Priority.fromCode(3));
+    assertEquals(Task.Priority.URGENT, Task.Priority.fromCode(4));
+    assertThrows(IllegalArgumentException.class, () -> Task.Priority.fromCode(-1));
+    assertThrows(IllegalArgumentException.class, () -> Task.Priority.fromCode(5));
+  }
 }
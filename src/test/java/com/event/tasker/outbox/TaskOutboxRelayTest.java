@@ -0,0 +1,164 @@
+package com.event.tasker.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.tasker.DAO.TaskOutboxDao;
+import com.event.tasker.model.TaskOutboxEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: TaskOutboxRelay")
+class TaskOutboxRelayTest {
+
+  @Mock private TaskOutboxDao outboxDao;
+  @Mock private TransactionTemplate transactionTemplate;
+  @Mock private ObjectProvider<TaskOutboxListener> listenerProvider;
+  @Mock private ObjectProvider<TaskOutboxListener> noListeners;
+
+  private final List<TaskOutboxEvent> received = new ArrayList<>();
+  private final Set<Long> failing = new HashSet<>();
+  private SimpleMeterRegistry meterRegistry;
+  private TaskOutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    TaskOutboxListener failingListener =
+        event -> {
+          if (failing.contains(event.getId())) {
+            throw new IllegalStateException("Listener down");
+          }
+        };
+    when(listenerProvider.orderedStream()).thenReturn(Stream.of(received::add, failingListener));
+    relay =
+        new TaskOutboxRelay(outboxDao, transactionTemplate, listenerProvider, meterRegistry, 2, 3);
+  }
+
+  @Test
+  @DisplayName("Polls deliver full batches in order until one comes back short")
+  void testPollDrains() {
+    // Given
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionCallback<?> callback = invocation.getArgument(0);
+              return callback.doInTransaction(null);
+            });
+    when(outboxDao.lockBatch(2))
+        .thenReturn(List.of(event(1, "task-1"), event(2, "task-2")), List.of(event(3, "task-1")));
+    when(outboxDao.firstPendingIds(anyCollection(), anyCollection())).thenReturn(Map.of());
+
+    // When
+    relay.poll();
+
+    // Then
+    assertEquals(List.of(1L, 2L, 3L), received.stream().map(TaskOutboxEvent::getId).toList());
+    verify(outboxDao).delete(List.of(1L, 2L));
+    verify(outboxDao).delete(List.of(3L));
+    assertEquals(3.0, meterRegistry.get("tasker.outbox.published").counter().count());
+  }
+
+  @Test
+  @DisplayName("A task's events wait while an older one is pending in another batch")
+  void testOlderEventElsewhere() {
+    // Given
+    when(outboxDao.lockBatch(2)).thenReturn(List.of(event(5, "task-1"), event(6, "task-2")));
+    when(outboxDao.firstPendingIds(anyCollection(), anyCollection()))
+        .thenReturn(Map.of("task-1", 4L, "task-2", 9L));
+
+    // When
+    boolean more = relay.relayBatch();
+
+    // Then
+    assertFalse(more, "A batch with held events should end the poll");
+    assertEquals(List.of(6L), received.stream().map(TaskOutboxEvent::getId).toList());
+    verify(outboxDao).delete(List.of(6L));
+  }
+
+  @Test
+  @DisplayName("A failed event is kept and holds back the later events of its task")
+  void testFailedDelivery() {
+    // Given
+    failing.add(1L);
+    when(outboxDao.lockBatch(2)).thenReturn(List.of(event(1, "task-1"), event(2, "task-1")));
+    when(outboxDao.firstPendingIds(anyCollection(), anyCollection())).thenReturn(Map.of());
+
+    // When
+    relay.relayBatch();
+
+    // Then
+    verify(outboxDao).recordFailure(1);
+    verify(outboxDao).delete(List.of());
+    assertEquals(List.of(1L), received.stream().map(TaskOutboxEvent::getId).toList());
+    assertEquals(1.0, meterRegistry.get("tasker.outbox.failed").counter().count());
+  }
+
+  @Test
+  @DisplayName("An event that keeps failing is dropped after max-attempts")
+  void testDropAfterMaxAttempts() {
+    // Given
+    TaskOutboxEvent poisoned = event(1, "task-1");
+    poisoned.setAttempts(2);
+    failing.add(1L);
+    when(outboxDao.lockBatch(2)).thenReturn(List.of(poisoned, event(2, "task-1")));
+    when(outboxDao.firstPendingIds(anyCollection(), anyCollection())).thenReturn(Map.of());
+
+    // When
+    relay.relayBatch();
+
+    // Then
+    verify(outboxDao, never()).recordFailure(1);
+    verify(outboxDao).delete(List.of(1L, 2L));
+    assertEquals(2, received.size(), "The task's later events should go out after the drop");
+  }
+
+  @Test
+  @DisplayName("Without listeners the relay deletes events as a sink")
+  void testNoListeners() {
+    // Given
+    when(noListeners.orderedStream()).thenReturn(Stream.empty());
+    TaskOutboxRelay sink =
+        new TaskOutboxRelay(outboxDao, transactionTemplate, noListeners, meterRegistry, 2, 3);
+    when(outboxDao.lockBatch(2)).thenReturn(List.of(event(1, "task-1")));
+    when(outboxDao.firstPendingIds(anyCollection(), anyCollection())).thenReturn(Map.of());
+
+    // When
+    sink.relayBatch();
+
+    // Then
+    verify(outboxDao).delete(List.of(1L));
+    assertEquals(0, received.size(), "No listener should be called");
+  }
+
+  private static TaskOutboxEvent event(long id, String taskId) {
+    return TaskOutboxEvent.builder()
+        .id(id)
+        .taskId(taskId)
+        .type(TaskOutboxEvent.Type.UPDATED)
+        .build();
+  }
+}
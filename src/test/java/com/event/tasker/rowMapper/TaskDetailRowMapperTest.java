@@ -3,6 +3,8 @@ package com.event.tasker.rowMapper;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.ResultSet;
@@ -10,6 +12,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,10 +27,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.event.tasker.model.Attachment;
 import com.event.tasker.model.Task;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskField;
 import com.event.tasker.util.CSVToArrayConverter;
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,13 +37,13 @@ import com.google.gson.JsonSyntaxException;
 class TaskDetailRowMapperTest {
 
   @Mock private ResultSet mockResultSet;
-  @Mock private Gson mockGson;
+  private final Gson gson = new Gson();
 
   private TaskDetailRowMapper rowMapper;
 
   @BeforeEach
   void setUp() {
-    rowMapper = new TaskDetailRowMapper(mockGson);
+    rowMapper = new TaskDetailRowMapper(gson);
   }
 
   @Test
@@ -85,23 +87,11 @@ class TaskDetailRowMapperTest {
           .when(() -> CSVToArrayConverter.convertCommaSeparated(eq(tagsString), any()))
           .thenReturn(tagList);
 
-      // Mock Gson parsing of attachments JSON
-      JsonArray mockJsonArray = new JsonArray();
-      JsonElement element1 = Mockito.mock(JsonElement.class);
-      JsonElement element2 = Mockito.mock(JsonElement.class);
-      mockJsonArray.add(element1);
-      mockJsonArray.add(element2);
-
-      when(mockGson.fromJson(attachmentsJson, JsonArray.class)).thenReturn(mockJsonArray);
-
       Attachment attachment1 =
           Attachment.builder().url("http://url1").fileName("file1").fileType("pdf").build();
       Attachment attachment2 =
           Attachment.builder().url("http://url2").fileName("file2").fileType("doc").build();
 
-      when(mockGson.fromJson(element1, Attachment.class)).thenReturn(attachment1);
-      when(mockGson.fromJson(element2, Attachment.class)).thenReturn(attachment2);
-
       // Act
       TaskDetail result = rowMapper.mapRow(mockResultSet, 1);
 
@@ -110,7 +100,7 @@ class TaskDetailRowMapperTest {
       assertEquals(id, result.getId());
       assertEquals(title, result.getTitle());
       assertEquals(description, result.getDescription());
-      assertEquals(completed, result.isCompleted());
+      assertTrue(result.getCompleted());
       assertEquals(Task.Priority.MEDIUM, result.getPriority());
       assertEquals(assignedTo, result.getAssignedTo());
       assertEquals(dueDate, result.getDueDate());
@@ -175,9 +165,6 @@ class TaskDetailRowMapperTest {
           .when(() -> CSVToArrayConverter.convertCommaSeparated(eq(null), any()))
           .thenReturn(Collections.emptyList());
 
-      when(mockGson.fromJson(badJson, JsonArray.class))
-          .thenThrow(new JsonSyntaxException("bad json"));
-
       TaskDetail result = rowMapper.mapRow(mockResultSet, 1);
 
       // It should not throw but log error internally, attachments list empty
@@ -193,4 +180,39 @@ class TaskDetailRowMapperTest {
 
     assertThrows(SQLException.class, () -> rowMapper.mapRow(mockResultSet, 1));
   }
+
+  @Test
+  @DisplayName("Should only read the columns of the requested fields")
+  void testMapRow_ProjectedFields() throws SQLException {
+    TaskDetailRowMapper projected =
+        new TaskDetailRowMapper(gson, EnumSet.of(TaskField.ID, TaskField.TITLE));
+    when(mockResultSet.getString("id")).thenReturn("task-1");
+    when(mockResultSet.getString("title")).thenReturn("Title only");
+
+    TaskDetail result = projected.mapRow(mockResultSet, 1);
+
+    assertEquals("task-1", result.getId());
+    assertEquals("Title only", result.getTitle());
+    assertNull(result.getTags(), "Unrequested tags should stay null");
+    assertNull(result.getAttachments(), "Unrequested attachments should stay null");
+    assertNull(result.getCompleted(), "Unrequested completed should be null, not false");
+    assertNull(result.getPriority(), "Unrequested priority should be null, not LOW");
+    verify(mockResultSet, never()).getString("attachments");
+    verify(mockResultSet, never()).getTimestamp("dueDate");
+  }
+
+  @Test
+  @DisplayName("Should parse attachments into a mutable list in one pass")
+  void testParseAttachments() {
+    List<Attachment> attachments =
+        TaskDetailRowMapper.parseAttachments(
+            gson, "[{\"url\":\"http://url1\",\"fileName\":\"file1\",\"fileType\":\"pdf\"}]");
+
+    assertEquals(
+        List.of(Attachment.builder().url("http://url1").fileName("file1").fileType("pdf").build()),
+        attachments);
+    attachments.add(Attachment.builder().build());
+    assertNull(TaskDetailRowMapper.parseAttachments(gson, "null"), "JSON null maps to null");
+    assertThrows(JsonSyntaxException.class, () -> TaskDetailRowMapper.parseAttachments(gson, "{}"));
+  }
 }
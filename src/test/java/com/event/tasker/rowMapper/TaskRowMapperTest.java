@@ -3,6 +3,8 @@ package com.event.tasker.rowMapper;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.ResultSet;
@@ -10,6 +12,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,6 +26,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskField;
 import com.event.tasker.util.CSVToArrayConverter;
 
 @ExtendWith(MockitoExtension.class)
@@ -74,7 +78,7 @@ class TaskRowMapperTest {
       assertEquals(taskId, resultTask.getId());
       assertEquals("Build a REST API", resultTask.getTitle());
       assertEquals("Use Spring Boot to build the API", resultTask.getDescription());
-      assertFalse(resultTask.isCompleted());
+      assertFalse(resultTask.getCompleted());
       assertEquals(Task.Priority.HIGH, resultTask.getPriority());
       assertEquals("John Doe", resultTask.getAssignedTo());
       assertEquals("http://example.com/pic.png", resultTask.getProfilePicture());
@@ -114,7 +118,7 @@ class TaskRowMapperTest {
     assertEquals(taskId, resultTask.getId());
     assertEquals("Task with null tags", resultTask.getTitle());
     assertEquals("A description here", resultTask.getDescription());
-    assertTrue(resultTask.isCompleted());
+    assertTrue(resultTask.getCompleted());
     assertEquals(Task.Priority.LOW, resultTask.getPriority());
     assertEquals("test-user", resultTask.getAssignedTo());
     assertNull(resultTask.getProfilePicture());
@@ -150,4 +154,29 @@ class TaskRowMapperTest {
 
     assertEquals("Fail at timestamp", exception.getMessage());
   }
+
+  @Test
+  @DisplayName("Should only read the columns of the requested fields")
+  void testMapRow_ProjectedFields() throws SQLException {
+    // --- Arrange ---
+    TaskRowMapper projected =
+        new TaskRowMapper(EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.PRIORITY));
+    when(mockResultSet.getString("id")).thenReturn("task-1");
+    when(mockResultSet.getString("title")).thenReturn("Board card");
+    when(mockResultSet.getInt("priority")).thenReturn(Task.Priority.URGENT.getCode());
+
+    // --- Act ---
+    Task resultTask = projected.mapRow(mockResultSet, 1);
+
+    // --- Assert ---
+    assertEquals("task-1", resultTask.getId());
+    assertEquals("Board card", resultTask.getTitle());
+    assertEquals(Task.Priority.URGENT, resultTask.getPriority());
+    assertNull(resultTask.getDescription(), "Unrequested fields should stay null");
+    assertNull(resultTask.getCompleted(), "Unrequested completed should be null, not false");
+    assertNull(resultTask.getTags(), "Unrequested tags should stay null");
+    verify(mockResultSet, never()).getString("description");
+    verify(mockResultSet, never()).getString("tags");
+    verify(mockResultSet, never()).getTimestamp("dueDate");
+  }
 }
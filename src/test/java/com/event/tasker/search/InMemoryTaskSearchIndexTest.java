@@ -0,0 +1,130 @@
+package com.event.tasker.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.event.TaskChangedEvent;
+import com.event.tasker.model.Task;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Test: InMemoryTaskSearchIndex")
+class InMemoryTaskSearchIndexTest {
+
+  @Mock private TaskDaoImpl taskDao;
+
+  private InMemoryTaskSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new InMemoryTaskSearchIndex(taskDao);
+  }
+
+  @Test
+  @DisplayName("Tasks containing more and rarer query words rank first")
+  void testRanking() {
+    // Given
+    when(taskDao.getTasks())
+        .thenReturn(
+            tasks(
+                task("task-1", "Write release notes", "Summarise the release"),
+                task("task-2", "Fix login bug", "Users cannot log in"),
+                task("task-3", "Plan release", null),
+                task("task-4", "Release checklist", "Notes for the release train, release day")));
+
+    // When
+    List<String> ids = ids(index.search("release notes", 0, 10));
+
+    // Then
+    assertEquals(List.of("task-4", "task-1", "task-3"), ids, "Should rank by tf-idf, then id");
+  }
+
+  @Test
+  @DisplayName("Offset and limit page through the ranking")
+  void testPaging() {
+    // Given
+    when(taskDao.getTasks())
+        .thenReturn(
+            tasks(
+                task("task-1", "deploy", null),
+                task("task-2", "deploy", null),
+                task("task-3", "deploy", null)));
+
+    // When
+    List<String> first = ids(index.search("deploy", 0, 2));
+    List<String> second = ids(index.search("deploy", 2, 2));
+
+    // Then
+    assertEquals(List.of("task-1", "task-2"), first);
+    assertEquals(List.of("task-3"), second);
+    verify(taskDao, times(1)).getTasks();
+  }
+
+  @Test
+  @DisplayName("Case and punctuation are ignored, short words are not indexed")
+  void testTokenizing() {
+    // Given
+    when(taskDao.getTasks()).thenReturn(tasks(task("task-1", "API: rate-limit on v2", null)));
+
+    // When / Then
+    assertEquals(List.of("task-1"), ids(index.search("api", 0, 10)));
+    assertEquals(List.of("task-1"), ids(index.search("RATE", 0, 10)));
+    assertTrue(index.search("on", 0, 10).isEmpty(), "Words below the minimum length never match");
+  }
+
+  @Test
+  @DisplayName("Changed tasks are re-indexed and deleted tasks dropped")
+  void testTaskChanged() {
+    // Given
+    when(taskDao.getTasks())
+        .thenReturn(tasks(task("task-1", "Old title", null), task("task-2", "Old title", null)));
+    index.search("title", 0, 10);
+    when(taskDao.getTask("task-1")).thenReturn(Optional.of(task("task-1", "New heading", null)));
+
+    // When
+    index.onTaskChanged(new TaskChangedEvent("task-1", TaskChangedEvent.Type.UPDATED));
+    index.onTaskChanged(new TaskChangedEvent("task-2", TaskChangedEvent.Type.DELETED));
+
+    // Then
+    assertTrue(index.search("old", 0, 10).isEmpty(), "Old words should no longer match");
+    assertEquals(List.of("task-1"), ids(index.search("heading", 0, 10)));
+    verify(taskDao, never()).getTask("task-2");
+  }
+
+  @Test
+  @DisplayName("Changes before the first search are left to the initial load")
+  void testTaskChangedBeforeLoad() {
+    // When
+    index.onTaskChanged(new TaskChangedEvent("task-1", TaskChangedEvent.Type.CREATED));
+
+    // Then
+    verify(taskDao, never()).getTask("task-1");
+  }
+
+  private static Task task(String id, String title, String description) {
+    return Task.builder().id(id).title(title).description(description).build();
+  }
+
+  private static ArrayList<Task> tasks(Task... tasks) {
+    return new ArrayList<>(List.of(tasks));
+  }
+
+  private static List<String> ids(List<Task> tasks) {
+    return tasks.stream().map(Task::getId).toList();
+  }
+}
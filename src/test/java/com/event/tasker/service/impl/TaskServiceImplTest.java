@@ -7,7 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -19,27 +19,66 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.event.tasker.DAO.TaskAttachmentDao;
+import com.event.tasker.DAO.TaskListVersionDao;
 import com.event.tasker.DAO.TaskTagDao;
 import com.event.tasker.DAO.impl.TaskDaoImpl;
+import com.event.tasker.cache.TaskDetailCache;
+import com.event.tasker.cache.TaskListSnapshot;
+import com.event.tasker.event.TaskChangedEvent;
+import com.event.tasker.event.TasksImportedEvent;
+import com.event.tasker.exception.ResourceNotFoundException;
+import com.event.tasker.exception.VersionConflictException;
 import com.event.tasker.model.Attachment;
+import com.event.tasker.model.BulkTaskResult;
 import com.event.tasker.model.Task;
+import com.event.tasker.model.TaskCursor;
 import com.event.tasker.model.TaskDetail;
+import com.event.tasker.model.TaskFacets;
+import com.event.tasker.model.TaskField;
+import com.event.tasker.model.TaskNode;
+import com.event.tasker.model.TaskPage;
+import com.event.tasker.model.TaskPatch;
+import com.event.tasker.model.TaskQuery;
+import com.event.tasker.model.TaskTag;
 import com.event.tasker.model.TaskerResponse;
+import com.event.tasker.search.TaskSearchIndex;
 import com.event.tasker.service.FileStorageService;
+import com.event.tasker.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Unit Test: TaskServiceImpl")
@@ -48,8 +87,14 @@ class TaskServiceImplTest {
   @Mock private TaskDaoImpl taskDao;
   @Mock private TaskAttachmentDao taskAttachmentDao;
   @Mock private TaskTagDao taskTagDao;
+  @Mock private TaskListVersionDao listVersionDao;
   @Mock private FileStorageService fileStorageService;
   @Mock private TransactionTemplate transactionTemplate;
+  @Mock private TaskListSnapshot taskListSnapshot;
+  @Mock private TaskDetailCache taskDetailCache;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private TaskSearchIndex taskSearchIndex;
+  @Spy private Executor fileIoExecutor = new SyncTaskExecutor();
   @Mock private MultipartFile mockFile;
 
   @Mock private Logger logger;
@@ -95,7 +140,7 @@ class TaskServiceImplTest {
             .build();
     expectedTasks.add(task1);
 
-    when(taskDao.getTasks()).thenReturn(expectedTasks);
+    when(taskListSnapshot.getTasks()).thenReturn(expectedTasks);
 
     // When
     ArrayList<Task> actualTasks = taskService.getTasks();
@@ -103,7 +148,7 @@ class TaskServiceImplTest {
     // Then
     assertNotNull(actualTasks);
     assertEquals(expectedTasks, actualTasks);
-    verify(taskDao).getTasks();
+    verify(taskListSnapshot).getTasks();
     verifyNoInteractions(logger);
   }
 
@@ -112,7 +157,7 @@ class TaskServiceImplTest {
   void testGetTasksWithEmptyList() {
     // Given
     ArrayList<Task> expectedTasks = new ArrayList<>();
-    when(taskDao.getTasks()).thenReturn(expectedTasks);
+    when(taskListSnapshot.getTasks()).thenReturn(expectedTasks);
 
     // When
     ArrayList<Task> actualTasks = taskService.getTasks();
@@ -120,7 +165,7 @@ class TaskServiceImplTest {
     // Then
     assertNotNull(actualTasks);
     assertTrue(actualTasks.isEmpty());
-    verify(taskDao).getTasks();
+    verify(taskListSnapshot).getTasks();
     verifyNoInteractions(logger);
   }
 
@@ -129,18 +174,323 @@ class TaskServiceImplTest {
   void testGetTasksWithException() {
     // Given
     RuntimeException expectedException = new RuntimeException("Database error");
-    when(taskDao.getTasks()).thenThrow(expectedException);
+    when(taskListSnapshot.getTasks()).thenThrow(expectedException);
 
     // When
     ArrayList<Task> actualTasks = taskService.getTasks();
 
     // Then
     assertNull(actualTasks);
-    verify(taskDao).getTasks();
+    verify(taskListSnapshot).getTasks();
     // Note: We can't easily verify the logging with Lombok's @Slf4j
     // as it creates a private static final logger
   }
 
+  @Test
+  @DisplayName("getTaskPage: should trim the extra row and return a next cursor")
+  void testGetTaskPageWithMoreResults() {
+    // Given
+    Instant createdAt = Instant.parse("2025-06-01T10:00:00Z");
+    ArrayList<Task> rows = new ArrayList<>();
+    for (int i = 3; i > 0; i--) {
+      rows.add(Task.builder().id("task-" + i).createdAt(createdAt).build());
+    }
+    when(taskDao.getTasks(null, TaskField.ALL, null, 3)).thenReturn(rows);
+
+    // When
+    TaskPage page = taskService.getTaskPage(null, TaskField.ALL, null, 2);
+
+    // Then
+    assertEquals(2, page.getTasks().size(), "Page should be trimmed to the requested size");
+    assertEquals("task-2", page.getTasks().getLast().getId());
+    TaskCursor next = TaskCursor.decode(page.getNextCursor());
+    assertEquals("task-2", next.getId(), "Cursor should point at the last returned task");
+    assertEquals(createdAt, next.getCreatedAt());
+  }
+
+  @Test
+  @DisplayName("getTaskPage: should return no cursor on the last page")
+  void testGetTaskPageLastPage() {
+    // Given
+    TaskCursor after = TaskCursor.builder().createdAt(Instant.now()).id("task-9").build();
+    ArrayList<Task> rows = new ArrayList<>(List.of(Task.builder().id("task-8").build()));
+    TaskQuery query = TaskQuery.builder().completed(false).build();
+    when(taskDao.getTasks(query, TaskField.ALL, after, 11)).thenReturn(rows);
+
+    // When
+    TaskPage page = taskService.getTaskPage(query, TaskField.ALL, after.encode(), 10);
+
+    // Then
+    assertEquals(1, page.getTasks().size());
+    assertNull(page.getNextCursor(), "Last page should not carry a cursor");
+  }
+
+  @Test
+  @DisplayName("getTaskPage: should clamp the page size")
+  void testGetTaskPageClampsLimit() {
+    // Given
+    when(taskDao.getTasks(null, TaskField.ALL, null, TaskService.MAX_PAGE_SIZE + 1))
+        .thenReturn(new ArrayList<>());
+
+    // When
+    TaskPage page = taskService.getTaskPage(null, TaskField.ALL, null, 10_000);
+
+    // Then
+    assertTrue(page.getTasks().isEmpty());
+    verify(taskDao).getTasks(null, TaskField.ALL, null, TaskService.MAX_PAGE_SIZE + 1);
+  }
+
+  @Test
+  @DisplayName("getTaskPage: should reject a malformed cursor")
+  void testGetTaskPageInvalidCursor() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> taskService.getTaskPage(null, TaskField.ALL, "%%%", 10));
+    verifyNoInteractions(taskDao);
+  }
+
+  @Test
+  @DisplayName("searchTasks: should page by offset and return the next offset as cursor")
+  void testSearchTasksWithMoreResults() {
+    // Given
+    ArrayList<Task> rows = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      rows.add(Task.builder().id("task-" + i).build());
+    }
+    when(taskSearchIndex.search("release notes", 4, 3)).thenReturn(rows);
+
+    // When
+    TaskPage page = taskService.searchTasks("  release notes ", "4", 2);
+
+    // Then
+    assertEquals(2, page.getTasks().size(), "Page should be trimmed to the requested size");
+    assertEquals("6", page.getNextCursor(), "Cursor should be the offset of the next page");
+  }
+
+  @Test
+  @DisplayName("searchTasks: should return no cursor on the last page")
+  void testSearchTasksLastPage() {
+    // Given
+    when(taskSearchIndex.search("release", 0, 11))
+        .thenReturn(new ArrayList<>(List.of(Task.builder().id("task-1").build())));
+
+    // When
+    TaskPage page = taskService.searchTasks("release", null, 10);
+
+    // Then
+    assertEquals(1, page.getTasks().size());
+    assertNull(page.getNextCursor(), "Last page should not carry a cursor");
+  }
+
+  @Test
+  @DisplayName("searchTasks: should reject blank text and malformed cursors")
+  void testSearchTasksInvalidInput() {
+    assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" ", null, 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> taskService.searchTasks("release", "abc", 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> taskService.searchTasks("release", "-1", 10));
+    verifyNoInteractions(taskSearchIndex);
+  }
+
+  @Test
+  @DisplayName("getTaskFacets: should return the DAO's counts")
+  void testGetTaskFacetsDelegates() {
+    // Given
+    TaskQuery query = TaskQuery.builder().completed(false).build();
+    TaskFacets facets = TaskFacets.builder().total(3).build();
+    when(taskDao.getTaskFacets(query)).thenReturn(facets);
+
+    // When
+    TaskFacets result = taskService.getTaskFacets(query);
+
+    // Then
+    assertEquals(facets, result);
+  }
+
+  @Test
+  @DisplayName("getListVersion: should return the stored list version")
+  void testGetListVersion() {
+    // Given
+    when(listVersionDao.getVersion()).thenReturn(7L);
+
+    // When
+    long version = taskService.getListVersion();
+
+    // Then
+    assertEquals(7L, version);
+  }
+
+  @Test
+  @DisplayName("getTaskTree: should clamp the depth and return the tree")
+  void testGetTaskTree() {
+    // Given
+    TaskNode tree = TaskNode.builder().task(Task.builder().id("root").build()).build();
+    when(taskDao.getTaskTree("root", TaskService.MAX_TREE_DEPTH)).thenReturn(Optional.of(tree));
+
+    // When
+    TaskNode result = taskService.getTaskTree("root", 1_000);
+
+    // Then
+    assertEquals(tree, result);
+  }
+
+  @Test
+  @DisplayName("getTaskTree: should throw when the task does not exist")
+  void testGetTaskTreeNotFound() {
+    // Given
+    when(taskDao.getTaskTree("missing", 0)).thenReturn(Optional.empty());
+
+    // When / Then
+    assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskTree("missing", -1));
+  }
+
+  @Test
+  @DisplayName("streamTasks: should delegate the consumer to the DAO")
+  void testStreamTasksDelegates() {
+    // Given
+    TaskQuery query = TaskQuery.builder().tag("backend").build();
+    Consumer<Task> consumer = t -> {};
+
+    // When
+    taskService.streamTasks(query, TaskField.ALL, consumer);
+
+    // Then
+    verify(taskDao).streamTasks(query, TaskField.ALL, consumer);
+  }
+
+  @Test
+  @DisplayName("getTaskBy: should load only the requested fields")
+  void testGetTaskByWithFields() {
+    // Given
+    Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.TITLE);
+    TaskDetail detail = TaskDetail.builder().id("task-1").title("Title").build();
+    when(taskDao.getTaskDetail("task-1", fields)).thenReturn(Optional.of(detail));
+
+    // When
+    TaskerResponse<TaskDetail> response = taskService.getTaskBy("task-1", fields);
+
+    // Then
+    assertEquals(detail, response.getData());
+    verify(taskDao).getTaskDetail("task-1", fields);
+  }
+
+  @Test
+  @DisplayName("getTaskBy: should read full details through the cache")
+  void testGetTaskByAllFields() {
+    // Given
+    when(taskDetailCache.get("task-1")).thenReturn(Optional.empty());
+
+    // When
+    TaskerResponse<TaskDetail> response = taskService.getTaskBy("task-1");
+
+    // Then
+    assertNull(response, "Missing task should yield no response");
+    verify(taskDetailCache).get("task-1");
+    verifyNoInteractions(taskDao);
+  }
+
+  @Test
+  @DisplayName("getTaskDetails: should read a batch of full details through the cache")
+  void testGetTaskDetailsCached() {
+    // Given
+    TaskDetail first = TaskDetail.builder().id("task-1").build();
+    TaskDetail second = TaskDetail.builder().id("task-2").build();
+    when(taskDetailCache.getAll(List.of("task-2", "task-1", "missing")))
+        .thenReturn(Map.of("task-1", first, "task-2", second));
+
+    // When
+    List<TaskDetail> details =
+        taskService.getTaskDetails(List.of("task-2", "task-1", "missing"), TaskField.ALL);
+
+    // Then
+    assertEquals(List.of(second, first), details, "Should keep request order");
+    verifyNoInteractions(taskDao);
+  }
+
+  @Test
+  @DisplayName("getTaskDetails: should load repeated ids once and keep request order")
+  void testGetTaskDetails() {
+    // Given
+    Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.TITLE);
+    TaskDetail first = TaskDetail.builder().id("task-1").build();
+    TaskDetail second = TaskDetail.builder().id("task-2").build();
+    when(taskDao.getTaskDetails(List.of("task-2", "task-1", "missing"), fields))
+        .thenReturn(Map.of("task-1", first, "task-2", second));
+
+    // When
+    List<TaskDetail> details =
+        taskService.getTaskDetails(List.of("task-2", "task-1", "task-2", "missing"), fields);
+
+    // Then
+    assertEquals(List.of(second, first), details, "Missing ids should be left out");
+    verify(taskDao, never()).getTaskDetail(anyString(), any());
+  }
+
+  @Test
+  @DisplayName("getTaskDetails: should reject empty and oversized batches")
+  void testGetTaskDetailsInvalid() {
+    // Given
+    List<String> tooMany =
+        IntStream.rangeClosed(0, TaskService.MAX_DETAIL_BATCH).mapToObj(i -> "task-" + i).toList();
+
+    // When / Then
+    assertThrows(
+        IllegalArgumentException.class, () -> taskService.getTaskDetails(List.of(), TaskField.ALL));
+    assertThrows(
+        IllegalArgumentException.class, () -> taskService.getTaskDetails(tooMany, TaskField.ALL));
+    verifyNoInteractions(taskDao);
+  }
+
+  @Test
+  @DisplayName("getTaskDetails: concurrent requests for the same task share one load")
+  void testGetTaskDetailsCollapsesConcurrentLoads() throws Exception {
+    // Given
+    Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.TITLE);
+    TaskDetail detail = TaskDetail.builder().id("task-1").build();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(taskDao.getTaskDetail("task-1", fields))
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              release.await();
+              return Optional.of(detail);
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<List<TaskDetail>> leader =
+          executor.submit(() -> taskService.getTaskDetails(List.of("task-1"), fields));
+      assertTrue(loading.await(5, TimeUnit.SECONDS), "First request should start loading");
+
+      // When
+      AtomicReference<Thread> followerThread = new AtomicReference<>();
+      Future<List<TaskDetail>> follower =
+          executor.submit(
+              () -> {
+                followerThread.set(Thread.currentThread());
+                return taskService.getTaskDetails(List.of("task-1"), fields);
+              });
+      // Only release the load once the second request is parked on it
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while ((followerThread.get() == null
+              || followerThread.get().getState() != Thread.State.WAITING)
+          && System.nanoTime() < deadline) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      // Then
+      assertEquals(List.of(detail), leader.get(5, TimeUnit.SECONDS));
+      assertEquals(List.of(detail), follower.get(5, TimeUnit.SECONDS));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+    verify(taskDao, times(1)).getTaskDetail("task-1", fields);
+  }
+
   @Test
   @DisplayName("addAttachments: should upload files successfully")
   void testAddAttachmentsSuccess() throws IOException {
@@ -158,6 +508,7 @@ class TaskServiceImplTest {
     taskService.addAttachments(taskId, files);
 
     // Then
+    verify(fileIoExecutor, times(2)).execute(any());
     verify(fileStorageService, times(2)).uploadFile(mockFile);
     verify(fileStorageService, times(2)).getFileMetadata(uniqueFileName);
     verify(taskAttachmentDao, times(2)).createAttachment(mockAttachment);
@@ -228,6 +579,45 @@ class TaskServiceImplTest {
     assertEquals(uploadException, thrown.getCause());
   }
 
+  @Test
+  @DisplayName("addAttachments: should skip pending uploads and delete stored files on a failure")
+  void testAddAttachmentsRollsBackStoredFiles() throws IOException {
+    // Given: the sync executor runs the uploads in order, so the third starts after the failure
+    String taskId = "task-123";
+    when(fileStorageService.uploadFile(file)).thenReturn("stored-1");
+    when(fileStorageService.getFileMetadata("stored-1"))
+        .thenReturn(Attachment.builder().fileName("stored-1").build());
+    when(fileStorageService.uploadFile(mockFile)).thenThrow(new IOException("Upload failed"));
+
+    // When
+    assertThrows(
+        RuntimeException.class,
+        () -> taskService.addAttachments(taskId, List.of(file, mockFile, file)));
+
+    // Then
+    verify(fileStorageService, times(1)).uploadFile(file);
+    verify(fileStorageService).deleteFile("stored-1");
+    verify(taskAttachmentDao, never()).createAttachment(any());
+  }
+
+  @Test
+  @DisplayName("addAttachments: should delete the stored files when recording them fails")
+  void testAddAttachmentsDeletesFilesWhenInsertFails() throws IOException {
+    // Given: no transaction is active, so nothing else would clean up the stored file
+    String taskId = "task-123";
+    Attachment attachment = Attachment.builder().id("att-1").fileName("stored-1").build();
+    when(fileStorageService.uploadFile(file)).thenReturn("stored-1");
+    when(fileStorageService.getFileMetadata("stored-1")).thenReturn(attachment);
+    when(taskAttachmentDao.createAttachment(attachment))
+        .thenThrow(new RuntimeException("Insert failed"));
+
+    // When
+    assertThrows(RuntimeException.class, () -> taskService.addAttachments(taskId, List.of(file)));
+
+    // Then
+    verify(fileStorageService).deleteFile("stored-1");
+  }
+
   @Test
   @DisplayName("addTask: should create task successfully")
   void testAddTaskSuccess() {
@@ -264,6 +654,10 @@ class TaskServiceImplTest {
     verify(taskTagDao).createTaskTags(any());
     // Since files is null, addAttachments should not interact with fileStorageService
     verifyNoInteractions(fileStorageService);
+
+    ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(TaskChangedEvent.Type.CREATED, event.getValue().getType());
   }
 
   @Test
@@ -369,22 +763,122 @@ class TaskServiceImplTest {
     assertEquals(insertStatus, response.getData());
   }
 
+  @Test
+  @DisplayName("addTasks: should batch valid tasks and report invalid ones by position")
+  @SuppressWarnings("unchecked")
+  void testAddTasksBatchesValidTasks() {
+    // Given
+    runTransactions();
+    List<TaskDetail> tasks =
+        List.of(
+            TaskDetail.builder().title("First").tags(List.of("api", "api")).build(),
+            TaskDetail.builder().description("No title").build(),
+            TaskDetail.builder().title("Third").build());
+
+    // When
+    TaskerResponse<List<BulkTaskResult>> response = taskService.addTasks(tasks.iterator());
+
+    // Then
+    ArgumentCaptor<List<Task>> inserted = ArgumentCaptor.forClass(List.class);
+    verify(taskDao).createTasks(inserted.capture());
+    assertEquals(2, inserted.getValue().size(), "Valid tasks should share one batch");
+    ArgumentCaptor<ArrayList<TaskTag>> tags = ArgumentCaptor.forClass(ArrayList.class);
+    verify(taskTagDao).createTaskTags(tags.capture());
+    assertEquals(1, tags.getValue().size(), "Repeated tags should be inserted once");
+
+    List<BulkTaskResult> results = response.getData();
+    assertEquals("PARTIAL_SUCCESS", response.getStatus());
+    assertEquals(3, results.size(), "Every task should get a result");
+    assertEquals(BulkTaskResult.Status.CREATED, results.get(0).getStatus());
+    assertEquals(inserted.getValue().get(0).getId(), results.get(0).getId());
+    assertEquals(BulkTaskResult.Status.FAILED, results.get(1).getStatus());
+    assertEquals("Title is required", results.get(1).getError());
+    assertEquals(BulkTaskResult.Status.CREATED, results.get(2).getStatus());
+
+    ArgumentCaptor<TasksImportedEvent> event = ArgumentCaptor.forClass(TasksImportedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(2, event.getValue().getTaskIds().size(), "One event per committed chunk");
+  }
+
+  @Test
+  @DisplayName("addTasks: should retry a rejected chunk task by task")
+  void testAddTasksRetriesRejectedChunk() {
+    // Given
+    runTransactions();
+    when(taskDao.createTasks(any()))
+        .thenAnswer(
+            invocation -> {
+              List<Task> batch = invocation.getArgument(0);
+              if (batch.stream().anyMatch(task -> "bad-parent".equals(task.getParentId()))) {
+                throw new DataIntegrityViolationException("Unknown parent");
+              }
+              return batch.size();
+            });
+    List<TaskDetail> tasks =
+        List.of(
+            TaskDetail.builder().title("Good").build(),
+            TaskDetail.builder().title("Orphan").parentId("bad-parent").build());
+
+    // When
+    List<BulkTaskResult> results = taskService.addTasks(tasks.iterator()).getData();
+
+    // Then
+    verify(taskDao, times(3)).createTasks(any());
+    assertEquals(BulkTaskResult.Status.CREATED, results.get(0).getStatus());
+    assertEquals(BulkTaskResult.Status.FAILED, results.get(1).getStatus());
+    assertNull(results.get(1).getId(), "A failed task should not report an id");
+  }
+
+  @Test
+  @DisplayName("addTasks: should write large imports in chunks")
+  void testAddTasksChunks() {
+    // Given
+    runTransactions();
+    List<TaskDetail> tasks =
+        IntStream.rangeClosed(0, TaskService.BULK_CHUNK_SIZE)
+            .mapToObj(i -> TaskDetail.builder().title("Task " + i).build())
+            .toList();
+
+    // When
+    TaskerResponse<List<BulkTaskResult>> response = taskService.addTasks(tasks.iterator());
+
+    // Then
+    verify(transactionTemplate, times(2)).execute(any());
+    verify(eventPublisher, times(2)).publishEvent(any(TasksImportedEvent.class));
+    assertEquals("CREATED", response.getStatus());
+    assertEquals(TaskService.BULK_CHUNK_SIZE + 1, response.getData().size());
+  }
+
+  private void runTransactions() {
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionCallback<?> callback = invocation.getArgument(0);
+              return callback.doInTransaction(null);
+            });
+  }
+
   @Test
   @DisplayName("deleteTask: should return DELETED status when task is deleted successfully")
   void testDeleteTaskSuccess() {
     // Given
     String taskId = "task-123";
-    when(taskDao.softDeleteTaskById(taskId)).thenReturn(true);
+    when(taskDao.softDeleteTaskById(taskId, null)).thenReturn(true);
 
     // When
-    TaskerResponse<String> response = taskService.deleteTask(taskId);
+    TaskerResponse<String> response = taskService.deleteTask(taskId, null);
 
     // Then
     assertNotNull(response);
     assertEquals("DELETED", response.getStatus());
     assertEquals("Task deleted", response.getMessage());
     assertNull(response.getData()); // Since delete does not return data
-    verify(taskDao).softDeleteTaskById(taskId);
+    verify(taskDao).softDeleteTaskById(taskId, null);
+
+    ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(taskId, event.getValue().getTaskId());
+    assertEquals(TaskChangedEvent.Type.DELETED, event.getValue().getType());
   }
 
   @Test
@@ -392,17 +886,18 @@ class TaskServiceImplTest {
   void testDeleteTaskNotFound() {
     // Given
     String taskId = "task-456";
-    when(taskDao.softDeleteTaskById(taskId)).thenReturn(false);
+    when(taskDao.softDeleteTaskById(taskId, null)).thenReturn(false);
 
     // When
-    TaskerResponse<String> response = taskService.deleteTask(taskId);
+    TaskerResponse<String> response = taskService.deleteTask(taskId, null);
 
     // Then
     assertNotNull(response);
     assertNull(response.getStatus());
     assertEquals("Task not found", response.getMessage());
     assertNull(response.getData());
-    verify(taskDao).softDeleteTaskById(taskId);
+    verify(taskDao).softDeleteTaskById(taskId, null);
+    verifyNoInteractions(eventPublisher);
   }
 
   @Test
@@ -411,14 +906,14 @@ class TaskServiceImplTest {
     // Given
     String taskId = "task-error";
     RuntimeException ex = new RuntimeException("Database failure");
-    when(taskDao.softDeleteTaskById(taskId)).thenThrow(ex);
+    when(taskDao.softDeleteTaskById(taskId, null)).thenThrow(ex);
 
     // When & Then
     RuntimeException thrown =
-        assertThrows(RuntimeException.class, () -> taskService.deleteTask(taskId));
+        assertThrows(RuntimeException.class, () -> taskService.deleteTask(taskId, null));
 
     assertEquals(ex, thrown);
-    verify(taskDao).softDeleteTaskById(taskId);
+    verify(taskDao).softDeleteTaskById(taskId, null);
   }
 
   @Test
@@ -451,23 +946,203 @@ class TaskServiceImplTest {
     assertEquals("Task task-123 updated", response.getMessage());
     verify(taskDao).updateTask(any(Task.class));
     verify(taskAttachmentDao).softDeleteAttachmentsBy(new ArrayList<>(List.of("old-2")));
-    verify(taskTagDao).deleteTaskTags(any(), eq("task-123"));
-    verify(taskTagDao).createTaskTags(any());
+    verify(taskTagDao).updateTaskTags("task-123", Set.of("tag2"), Set.of("tagOld"));
+
+    ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(TaskChangedEvent.Type.UPDATED, event.getValue().getType());
+  }
+
+  @Test
+  @DisplayName("updateTask: should issue no tag writes when the tags are unchanged")
+  void testUpdateTask_TagsUnchanged() {
+    // Given
+    when(taskDao.updateTask(any(Task.class))).thenReturn(true);
+    when(taskTagDao.getTaskTagsBy("task-123"))
+        .thenReturn(new ArrayList<>(List.of("tag2", "tag1")));
+
+    // When
+    taskService.updateTask(taskDetail, List.of());
+
+    // Then
+    verify(taskTagDao, never()).updateTaskTags(anyString(), any(), any());
+    verify(taskTagDao, never()).createTaskTags(any());
+    assertEquals(List.of("tag1", "tag2"), taskDetail.getTags(), "Request tags stay untouched");
   }
 
   @Test
-  @DisplayName("updateTask: should return failure message if task update fails")
+  @DisplayName("updateTask: should throw when the task does not exist")
   void testUpdateTask_TaskUpdateFails() {
     // Arrange
     when(taskDao.updateTask(any(Task.class))).thenReturn(false);
-    when(taskTagDao.getTaskTagsBy("task-123"))
-        .thenReturn(new ArrayList<>(List.of("tag1", "tagOld")));
+
+    // Act & Assert
+    assertThrows(
+        ResourceNotFoundException.class, () -> taskService.updateTask(taskDetail, List.of()));
+    verify(taskDao).updateTask(any(Task.class));
+    verifyNoInteractions(taskTagDao, taskAttachmentDao, eventPublisher);
+  }
+
+  @Test
+  @DisplayName("updateTask: should throw not found for a deleted task even with a version")
+  void testUpdateTask_DeletedAtVersion() {
+    // Arrange
+    taskDetail.setVersion(3L);
+    when(taskDao.updateTask(any(Task.class))).thenReturn(false);
+    when(taskDao.getTaskVersion("task-123")).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThrows(
+        ResourceNotFoundException.class, () -> taskService.updateTask(taskDetail, List.of()));
+    verifyNoInteractions(taskTagDao, taskAttachmentDao, eventPublisher);
+  }
+
+  @Test
+  @DisplayName("updateTask: should report a conflict before touching tags for a stale version")
+  void testUpdateTask_VersionConflict() {
+    // Arrange
+    taskDetail.setVersion(3L);
+    when(taskDao.updateTask(argThat(task -> Long.valueOf(3).equals(task.getVersion()))))
+        .thenReturn(false);
+    when(taskDao.getTaskVersion("task-123")).thenReturn(Optional.of(5L));
 
     // Act
-    TaskerResponse<String> response = taskService.updateTask(taskDetail, List.of());
+    VersionConflictException thrown =
+        assertThrows(
+            VersionConflictException.class, () -> taskService.updateTask(taskDetail, List.of()));
 
     // Assert
-    assertEquals("Task update failed.", response.getMessage());
-    verify(taskDao).updateTask(any(Task.class));
+    assertEquals(5L, thrown.getCurrentVersion(), "The conflict should carry the current version");
+    verifyNoInteractions(taskTagDao, taskAttachmentDao, eventPublisher);
+  }
+
+  @Test
+  @DisplayName("deleteTask: should raise VersionConflictException when the version does not match")
+  void testDeleteTask_VersionConflict() {
+    // Given
+    when(taskDao.softDeleteTaskById("task-123", 3L)).thenReturn(false);
+    when(taskDao.getTaskVersion("task-123")).thenReturn(Optional.of(5L));
+
+    // When
+    VersionConflictException thrown =
+        assertThrows(VersionConflictException.class, () -> taskService.deleteTask("task-123", 3L));
+
+    // Then
+    assertEquals(5L, thrown.getCurrentVersion(), "The conflict should carry the current version");
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("deleteTask: should tell a stale version apart from a missing task")
+  void testDeleteTask_ConditionalFailures() {
+    // Given
+    when(taskDao.softDeleteTaskById("task-123", 3L)).thenReturn(false);
+    when(taskDao.softDeleteTaskById("missing", 3L)).thenReturn(false);
+    when(taskDao.getTaskVersion("task-123")).thenReturn(Optional.of(4L));
+    when(taskDao.getTaskVersion("missing")).thenReturn(Optional.empty());
+
+    // When / Then
+    assertThrows(VersionConflictException.class, () -> taskService.deleteTask("task-123", 3L));
+    assertEquals(
+        "Task not found",
+        taskService.deleteTask("missing", 3L).getMessage(),
+        "A missing task is not a conflict");
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("patchTask: should toggle a flag with one UPDATE and without reading the task")
+  void testPatchTask_FlagOnly() {
+    // Given
+    TaskPatch patch = patch("{\"completed\":true}");
+    when(taskDao.patchTask("task-123", Map.of(TaskField.COMPLETED, true), null)).thenReturn(true);
+
+    // When
+    TaskerResponse<String> response = taskService.patchTask("task-123", patch, null);
+
+    // Then
+    assertEquals("Task task-123 updated", response.getMessage());
+    verify(taskDao, never()).getTask(anyString());
+    verifyNoInteractions(taskTagDao);
+    verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("patchTask: should throw when the task does not exist")
+  void testPatchTask_NotFound() {
+    // Given
+    TaskPatch patch = patch("{\"priority\":\"HIGH\",\"tags\":[\"api\"]}");
+    when(taskDao.patchTask(anyString(), any(), any())).thenReturn(false);
+
+    // When / Then
+    assertThrows(
+        ResourceNotFoundException.class, () -> taskService.patchTask("missing", patch, null));
+    verifyNoInteractions(taskTagDao, eventPublisher);
+  }
+
+  @Test
+  @DisplayName("patchTask: should move the version before replacing tags")
+  void testPatchTask_TagsOnly() {
+    // Given
+    TaskPatch patch = patch("{\"tags\":[\"tag1\",\"tag3\"]}");
+    when(taskDao.patchTask("task-123", Map.of(), 2L)).thenReturn(true);
+    when(taskTagDao.getTaskTagsBy("task-123"))
+        .thenReturn(new ArrayList<>(List.of("tag1", "tag2")));
+
+    // When
+    taskService.patchTask("task-123", patch, 2L);
+
+    // Then
+    verify(taskDao, never()).getTask(anyString());
+    verify(taskTagDao).updateTaskTags("task-123", Set.of("tag3"), Set.of("tag2"));
+  }
+
+  @Test
+  @DisplayName("patchTask: should take the current tags from a detail cached at the version")
+  void testPatchTask_TagsFromCachedDetail() {
+    // Given
+    TaskPatch patch = patch("{\"tags\":[\"tag1\",\"tag3\"]}");
+    when(taskDao.patchTask("task-123", Map.of(), 2L)).thenReturn(true);
+    when(taskDetailCache.getIfPresent("task-123"))
+        .thenReturn(
+            Optional.of(
+                TaskDetail.builder()
+                    .id("task-123")
+                    .version(2L)
+                    .tags(List.of("tag3", "tag1"))
+                    .build()));
+
+    // When
+    taskService.patchTask("task-123", patch, 2L);
+
+    // Then
+    verify(taskTagDao, never()).getTaskTagsBy(anyString());
+    verify(taskTagDao, never()).updateTaskTags(anyString(), any(), any());
+  }
+
+  @Test
+  @DisplayName("patchTask: should not rewrite tags that differ only in case")
+  void testPatchTask_TagCaseOnly() {
+    // Given
+    TaskPatch patch = patch("{\"tags\":[\"backend\",\"API\",\"Api\"]}");
+    when(taskDao.patchTask("task-123", Map.of(), null)).thenReturn(true);
+    when(taskTagDao.getTaskTagsBy("task-123"))
+        .thenReturn(new ArrayList<>(List.of("Backend", "api")));
+
+    // When
+    taskService.patchTask("task-123", patch, null);
+
+    // Then
+    verify(taskTagDao, never()).updateTaskTags(anyString(), any(), any());
+    verifyNoInteractions(taskDetailCache);
+  }
+
+  private static TaskPatch patch(String json) {
+    ObjectMapper objectMapper = new ObjectMapper();
+    try {
+      return TaskPatch.parse(objectMapper.readTree(json), objectMapper);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
   }
 }
@@ -16,7 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
 
-import com.event.tasker.DAO.impl.UiOptionDaoImpl;
+import com.event.tasker.cache.PriorityLabelRegistry;
 import com.event.tasker.model.UiOption;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +25,7 @@ public class UiOptionServiceImplTest {
 
   @InjectMocks UiOptionServiceImpl uiOptionService;
 
-  @Mock UiOptionDaoImpl uiOptionDao;
+  @Mock PriorityLabelRegistry priorityLabelRegistry;
 
   @Test
   @DisplayName("Unit Test: getPriorityLabels should get list of priority labels for dropdown")
@@ -35,7 +35,7 @@ public class UiOptionServiceImplTest {
     uiOptions.add(UiOption.builder().label("High").value("1").build());
     uiOptions.add(UiOption.builder().label("Low").value("2").build());
 
-    when(uiOptionDao.getPriorityLabels("1")).thenReturn(uiOptions);
+    when(priorityLabelRegistry.getPriorityLabels("1")).thenReturn(uiOptions);
 
     // Act
     ArrayList<UiOption> result = uiOptionService.getPriorityLabels("1");
@@ -45,7 +45,7 @@ public class UiOptionServiceImplTest {
     assertEquals(2, result.size());
     assertEquals("High", result.get(0).getLabel());
     assertEquals("1", result.get(0).getValue());
-    verify(uiOptionDao).getPriorityLabels("1");
+    verify(priorityLabelRegistry).getPriorityLabels("1");
   }
 
   @Test
@@ -53,27 +53,28 @@ public class UiOptionServiceImplTest {
   void testGetPriorityLabelsShouldThrowExceptionAndHandleGracefully() {
     // Arrange
     DataAccessException dataAccessException = new DataAccessException("DB error") {};
-    when(uiOptionDao.getPriorityLabels("1")).thenThrow(dataAccessException);
+    when(priorityLabelRegistry.getPriorityLabels("1")).thenThrow(dataAccessException);
 
     // Act & Assert
     DataAccessException thrown =
         assertThrows(DataAccessException.class, () -> uiOptionService.getPriorityLabels("1"));
 
     assertEquals("DB error", thrown.getMessage());
-    verify(uiOptionDao).getPriorityLabels("1");
+    verify(priorityLabelRegistry).getPriorityLabels("1");
   }
 
   @Test
   @DisplayName("Unit Test: getPriorityLabels should handle unexpected exceptions gracefully")
   void testGetPriorityLabelsShouldHandleUnexpectedExceptionGracefully() {
     // Arrange
-    when(uiOptionDao.getPriorityLabels("1")).thenThrow(new RuntimeException("Unexpected error"));
+    when(priorityLabelRegistry.getPriorityLabels("1"))
+        .thenThrow(new RuntimeException("Unexpected error"));
 
     // Act & Assert
     RuntimeException thrown =
         assertThrows(RuntimeException.class, () -> uiOptionService.getPriorityLabels("1"));
 
     assertEquals("Unexpected error", thrown.getMessage());
-    verify(uiOptionDao).getPriorityLabels("1");
+    verify(priorityLabelRegistry).getPriorityLabels("1");
   }
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -123,6 +124,37 @@ class CSVToArrayConverterTest {
     assertEquals(5, result.get(2));
   }
 
+  @Test
+  @DisplayName("Identity conversion yields the same trimmed values as String::trim")
+  void testConvertCommaSeparatedIdentity() {
+    for (String csvString :
+        List.of("a", " a ", "a,b", ",a,,b,", " , ", "a,\tb\n, c", "\u2003a\u2003,b", ",,,")) {
+      // When
+      List<String> identity =
+          CSVToArrayConverter.convertCommaSeparated(csvString, Function.identity());
+      List<String> trimmed = CSVToArrayConverter.convertCommaSeparated(csvString, String::trim);
+
+      // Then
+      assertEquals(trimmed, identity, "Mismatch for \"" + csvString + "\"");
+    }
+    assertEquals(
+        List.of("\u2003a\u2003", "b"),
+        CSVToArrayConverter.convertCommaSeparated("\u2003a\u2003,b", Function.identity()),
+        "Only characters up to a space are trimmed, as with String.trim()");
+  }
+
+  @Test
+  @DisplayName("Converted lists are mutable and presized for every value")
+  void testConvertCommaSeparatedMutable() {
+    // When
+    List<String> result =
+        CSVToArrayConverter.convertCommaSeparated("tag1,tag2", Function.identity());
+    result.add("tag3");
+
+    // Then
+    assertEquals(List.of("tag1", "tag2", "tag3"), result);
+  }
+
   @Test
   @DisplayName("Verifying exception logging when converting comma-separated string")
   void testConvertCommaSeparatedWithExceptionLogging() {